@@ -0,0 +1,93 @@
+package br.com.alura.adopet.api.benchmark;
+
+import br.com.alura.adopet.api.service.AdmissaoSolicitacoesAdocao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Disputa pelos locks da admissão de solicitações: a cada rodada, {@code requisitantes} threads
+ * (cada uma com um tutor próprio) pedem ao mesmo tempo a adoção de {@code pets} pets distintos e
+ * seguram os locks por {@code transacaoMicros}, paradas como se esperassem o banco. O resultado é
+ * o tempo até todas terminarem. Com um único pet, ou uma única listra, as solicitações são
+ * serializadas; com muitos pets e listras elas se sobrepõem. Não usa banco nem o contexto da
+ * aplicação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdmissaoSolicitacoesBenchmark {
+
+    @Param({"2000"})
+    public int requisitantes;
+
+    @Param({"1", "64", "100000"})
+    public int pets;
+
+    @Param({"1", "64", "1024"})
+    public int listras;
+
+    // Tempo da transação simulada, com os locks obtidos
+    @Param({"200"})
+    public long transacaoMicros;
+
+    private AdmissaoSolicitacoesAdocao admissao;
+    private ExecutorService threads;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        // Sem AdocaoService: o benchmark chama executar, que não o usa
+        admissao = new AdmissaoSolicitacoesAdocao(null, TransactionOperations.withoutTransaction(),
+                new SimpleMeterRegistry(), listras, TimeUnit.MINUTES.toMillis(1));
+        threads = Executors.newFixedThreadPool(requisitantes);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        threads.shutdownNow();
+    }
+
+    @Benchmark
+    public void rodada() throws InterruptedException {
+        CountDownLatch largada = new CountDownLatch(1);
+        CountDownLatch chegada = new CountDownLatch(requisitantes);
+        long espera = TimeUnit.MICROSECONDS.toNanos(transacaoMicros);
+        for (int i = 0; i < requisitantes; i++) {
+            long idPet = i % pets + 1;
+            long idTutor = i + 1;
+            threads.execute(() -> {
+                try {
+                    largada.await();
+                    admissao.executar(idPet, idTutor, () -> LockSupport.parkNanos(espera));
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    chegada.countDown();
+                }
+            });
+        }
+        largada.countDown();
+        chegada.await();
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.alura.adopet.api.benchmark;
+
+import br.com.alura.adopet.api.AdopetApiApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+
+/**
+ * Sobe a aplicação sem servidor web sobre um H2 em memória e popula o banco com a
+ * {@link MassaDeDados} uma vez por rodada. Os volumes podem ser trocados na linha de comando do
+ * JMH, por exemplo {@code -p quantidadePets=10000 -p quantidadeTutores=2000}.
+ */
+@State(Scope.Benchmark)
+public class AmbienteBenchmark {
+
+    @Param({"1000"})
+    public int quantidadePets;
+
+    @Param({"200"})
+    public int quantidadeTutores;
+
+    private ConfigurableApplicationContext contexto;
+    private MassaDeDados massa;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(AdopetApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(MassaDeDados.ARGUMENTOS_H2.toArray(String[]::new));
+        massa = MassaDeDados.popular(contexto, quantidadePets, quantidadeTutores);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    public <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    public <T> Collection<T> beans(Class<T> tipo) {
+        return contexto.getBeansOfType(tipo).values();
+    }
+
+    public TransactionTemplate transacaoSomenteLeitura() {
+        TransactionTemplate transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        transacao.setReadOnly(true);
+        return transacao;
+    }
+
+    public void adicionarAdocoesFinalizadas(int quantidade) {
+        massa.adicionarAdocoesFinalizadas(contexto, quantidade);
+    }
+
+    public MassaDeDados massa() {
+        return massa;
+    }
+
+    // Pet e tutor livres, usados nas solicitações que devem passar por todas as validações
+    public Long idPetLivre() {
+        return massa.idsPetsLivres().get(0);
+    }
+
+    public Long idTutorLivre() {
+        return massa.idsTutoresLivres().get(0);
+    }
+}
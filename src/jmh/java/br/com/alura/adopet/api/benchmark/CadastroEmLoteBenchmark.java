@@ -0,0 +1,91 @@
+package br.com.alura.adopet.api.benchmark;
+
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.CadastroTutorDto;
+import br.com.alura.adopet.api.model.Abrigo;
+import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.TipoPet;
+import br.com.alura.adopet.api.model.Tutor;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo para gravar {@code quantidade} tutores ou pets em uma transação, com e sem lotes JDBC.
+ * {@code tamanhoLoteJdbc=1} reproduz o comportamento sem {@code hibernate.jdbc.batch_size}: um
+ * comando por insert. Os ids vêm das sequences agrupadas em ambos os casos.
+ * <p>
+ * No H2 em memória não há ida e volta pela rede, então a diferença entre os dois tamanhos é
+ * pequena; o ganho dos lotes aparece contra o PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CadastroEmLoteBenchmark {
+
+    @Param({"500"})
+    public int quantidade;
+
+    @Param({"1", "50"})
+    public int tamanhoLoteJdbc;
+
+    private EntityManager entityManager;
+    private TransactionTemplate transacao;
+    private Long idAbrigo;
+
+    // Tutores precisam de telefone e e-mail distintos a cada invocação
+    private long sequencial;
+
+    @Setup
+    public void preparar(AmbienteBenchmark ambiente) {
+        entityManager = ambiente.bean(EntityManager.class);
+        transacao = new TransactionTemplate(ambiente.bean(PlatformTransactionManager.class));
+        idAbrigo = ambiente.massa().idsAbrigos().get(0);
+    }
+
+    @Benchmark
+    public void cadastrarTutores() {
+        transacao.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(tamanhoLoteJdbc);
+            for (int i = 0; i < quantidade; i++) {
+                long numero = sequencial++;
+                entityManager.persist(new Tutor(new CadastroTutorDto(
+                        "Tutor em lote " + numero,
+                        String.format("(21)9%04d-%04d", numero / 10000 % 10000, numero % 10000),
+                        "lote" + numero + "@email.com")));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    @Benchmark
+    public void cadastrarPets() {
+        transacao.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(tamanhoLoteJdbc);
+            Abrigo abrigo = entityManager.getReference(Abrigo.class, idAbrigo);
+            for (int i = 0; i < quantidade; i++) {
+                entityManager.persist(new Pet(new CadastroPetDto(TipoPet.GATO, "Pet em lote " + i, "SRD", 1, "Preto", 4.0f), abrigo));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+}
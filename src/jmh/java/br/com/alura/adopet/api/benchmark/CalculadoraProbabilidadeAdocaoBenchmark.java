@@ -0,0 +1,125 @@
+package br.com.alura.adopet.api.benchmark;
+
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+import br.com.alura.adopet.api.service.CalculadoraProbabilidadeAdocao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo da probabilidade de adoção: por pet, e sobre um catálogo de milhões de pets com
+ * características sorteadas (semente fixa), pela tabela da calculadora e pelas regras com
+ * condições que ela substituiu. Rode com {@code -prof gc} para confirmar que a tabela não aloca.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculadoraProbabilidadeAdocaoBenchmark {
+
+    // Potência de dois para trocar o módulo por uma máscara no índice
+    private static final int QUANTIDADE_PETS = 1024;
+
+    private final CalculadoraProbabilidadeAdocao calculadora = new CalculadoraProbabilidadeAdocao();
+
+    private Pet[] pets;
+    private int indice;
+
+    @Setup
+    public void preparar() {
+        pets = new Pet[QUANTIDADE_PETS];
+        for (int i = 0; i < QUANTIDADE_PETS; i++) {
+            TipoPet tipo = i % 2 == 0 ? TipoPet.CACHORRO : TipoPet.GATO;
+            pets[i] = new Pet(new CadastroPetDto(tipo, "Pet " + i, "SRD", i % 20, "Caramelo", (float) (i % 30)), null);
+        }
+    }
+
+    @Benchmark
+    public ProbabilidadeAdocao calcular() {
+        return calculadora.calcular(pets[indice++ & (QUANTIDADE_PETS - 1)]);
+    }
+
+    // Características em colunas, como viriam de uma projeção, para caber na memória com milhões de pets
+    @State(Scope.Benchmark)
+    public static class Catalogo {
+
+        @Param({"4000000"})
+        public int quantidade;
+
+        TipoPet[] tipos;
+        float[] pesos;
+        int[] idades;
+
+        @Setup
+        public void sortear() {
+            Random aleatorio = new Random(42);
+            tipos = new TipoPet[quantidade];
+            pesos = new float[quantidade];
+            idades = new int[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                tipos[i] = aleatorio.nextBoolean() ? TipoPet.CACHORRO : TipoPet.GATO;
+                pesos[i] = aleatorio.nextFloat() * 40;
+                idades[i] = aleatorio.nextInt(20);
+            }
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long calcularCatalogoPelaTabela(Catalogo catalogo) {
+        long soma = 0;
+        for (int i = 0; i < catalogo.quantidade; i++) {
+            soma += calculadora.calcularNota(catalogo.tipos[i], catalogo.pesos[i], catalogo.idades[i]);
+        }
+        return soma;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long calcularCatalogoComCondicoes(Catalogo catalogo) {
+        long soma = 0;
+        for (int i = 0; i < catalogo.quantidade; i++) {
+            soma += calcularNotaComCondicoes(catalogo.tipos[i], catalogo.pesos[i], catalogo.idades[i]);
+        }
+        return soma;
+    }
+
+    // Regras como eram escritas antes da tabela, com a mesma assinatura de tipos empacotados
+    private static int calcularNotaComCondicoes(TipoPet tipo, Float pesoPet, Integer idadePet) {
+        int peso = pesoPet.intValue();
+        int idade = idadePet;
+
+        int nota = 10;
+
+        if (tipo == TipoPet.CACHORRO && peso > 15) {
+            nota -= 2;
+        }
+        if (tipo == TipoPet.GATO && peso > 10) {
+            nota -= 2;
+        }
+
+        if (idade >= 15) {
+            nota -= 5;
+        } else if (idade >= 10) {
+            nota -= 4;
+        }
+
+        return nota;
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.alura.adopet.api.benchmark;
+
+import br.com.alura.adopet.api.model.StatusAdocao;
+import br.com.alura.adopet.api.repository.AdocaoRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas das validações de tutor com a tabela de adoções crescendo: além das adoções em
+ * andamento da {@link MassaDeDados}, cada rodada grava adoções finalizadas até completar
+ * {@code quantidadeAdocoes} linhas, distribuídas entre todos os tutores. Com o índice
+ * {@code (tutor_id, status)} a verificação de adoção em andamento não deve acompanhar o tamanho da
+ * tabela; a contagem de aprovadas cresce só com as aprovações do próprio tutor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsultasAdocoesTutorBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int quantidadeAdocoes;
+
+    private AdocaoRepository adocaoRepository;
+    private Long idTutor;
+    private Long idTutorComAprovadas;
+
+    @Setup
+    public void preparar(AmbienteBenchmark ambiente) {
+        ambiente.adicionarAdocoesFinalizadas(
+                Math.max(0, quantidadeAdocoes - ambiente.massa().idsAdocoesEmAndamento().size()));
+        adocaoRepository = ambiente.bean(AdocaoRepository.class);
+        idTutor = ambiente.idTutorLivre();
+        idTutorComAprovadas = ambiente.massa().idsTutoresComAdocao().get(0);
+    }
+
+    // ValidacaoTutorComAdocaoEmAndamento
+    @Benchmark
+    public boolean existeAdocaoEmAndamento() {
+        return adocaoRepository.existsByTutorIdAndStatus(idTutor, StatusAdocao.AGUARDANDO_AVALIACAO);
+    }
+
+    // ValidacaoTutorComLimiteDeAdocoes
+    @Benchmark
+    public long contarAdocoesAprovadas() {
+        return adocaoRepository.countByTutorIdAndStatus(idTutorComAprovadas, StatusAdocao.APROVADO);
+    }
+}
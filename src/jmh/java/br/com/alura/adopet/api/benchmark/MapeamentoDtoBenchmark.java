@@ -0,0 +1,95 @@
+package br.com.alura.adopet.api.benchmark;
+
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.dto.TutorDto;
+import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.Tutor;
+import br.com.alura.adopet.api.repository.PetRepository;
+import br.com.alura.adopet.api.repository.TutorRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o mapeamento entidade → DTO em memória com o caminho completo de leitura: carregar
+ * entidades e converter, ou projetar direto no DTO pela consulta. Rode com {@code -prof gc}
+ * para ver a alocação por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoDtoBenchmark {
+
+    private PetRepository petRepository;
+    private TutorRepository tutorRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transacao;
+
+    private List<Pet> pets;
+    private List<Tutor> tutores;
+    private int quantidadeTutores;
+
+    @Setup
+    public void preparar(AmbienteBenchmark ambiente) {
+        petRepository = ambiente.bean(PetRepository.class);
+        tutorRepository = ambiente.bean(TutorRepository.class);
+        entityManager = ambiente.bean(EntityManager.class);
+        transacao = ambiente.transacaoSomenteLeitura();
+
+        pets = carregarPetsDisponiveis();
+        tutores = tutorRepository.findAll();
+        quantidadeTutores = ambiente.quantidadeTutores;
+    }
+
+    @Benchmark
+    public List<PetDto> mapearPetDto() {
+        return pets.stream().map(PetDto::new).toList();
+    }
+
+    @Benchmark
+    public List<TutorDto> mapearTutorDto() {
+        return tutores.stream().map(TutorDto::new).toList();
+    }
+
+    @Benchmark
+    public List<PetDto> consultarPetsComoEntidades() {
+        return transacao.execute(status -> carregarPetsDisponiveis().stream().map(PetDto::new).toList());
+    }
+
+    @Benchmark
+    public List<PetDto> consultarPetsComoProjecao() {
+        return transacao.execute(status -> petRepository.buscarDisponiveis());
+    }
+
+    @Benchmark
+    public List<TutorDto> consultarTutoresComoEntidades() {
+        return transacao.execute(status -> tutorRepository.findAll().stream().map(TutorDto::new).toList());
+    }
+
+    @Benchmark
+    public List<TutorDto> consultarTutoresComoProjecao() {
+        return transacao.execute(status -> tutorRepository.buscarOrdenadosPorNome(PageRequest.of(0, quantidadeTutores)));
+    }
+
+    private List<Pet> carregarPetsDisponiveis() {
+        return entityManager
+                .createQuery("SELECT p FROM Pet p WHERE p.adotado = false", Pet.class)
+                .getResultList();
+    }
+}
@@ -0,0 +1,174 @@
+package br.com.alura.adopet.api.benchmark;
+
+import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.CadastroTutorDto;
+import br.com.alura.adopet.api.model.Abrigo;
+import br.com.alura.adopet.api.model.Adocao;
+import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.TipoPet;
+import br.com.alura.adopet.api.model.Tutor;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Popula o banco para benchmarks e testes de carga.
+ * <p>
+ * A primeira metade dos tutores fica livre para novas solicitações; a segunda metade recebe as
+ * adoções em andamento, criadas para um em cada dez pets. Os demais pets ficam disponíveis.
+ * Adoções já finalizadas podem ser acrescentadas depois, para aumentar só a tabela de adoções.
+ */
+public class MassaDeDados {
+
+    // Sobrescrevem o application.properties quando passados como argumentos de linha de comando
+    public static final List<String> ARGUMENTOS_H2 = List.of(
+            "--spring.datasource.url=jdbc:h2:mem:adopet-benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.format_sql=false",
+            // O relay da tabela de saída usa SKIP LOCKED, que o H2 não suporta
+            "--adopet.outbox.habilitado=false",
+            "--logging.level.root=WARN");
+
+    private static final int QUANTIDADE_ABRIGOS = 10;
+    private static final int TAMANHO_LOTE = 500;
+
+    private final List<Long> idsAbrigos = new ArrayList<>();
+    private final List<String> nomesAbrigos = new ArrayList<>();
+    private final List<Long> idsPetsLivres = new ArrayList<>();
+    private final List<Long> idsTutores = new ArrayList<>();
+    private final List<Long> idsTutoresComAdocao = new ArrayList<>();
+    private final List<Long> idsTutoresLivres = new ArrayList<>();
+    private final List<Long> idsAdocoesEmAndamento = new ArrayList<>();
+
+    private MassaDeDados() {
+    }
+
+    public static MassaDeDados popular(ApplicationContext contexto, int quantidadePets, int quantidadeTutores) {
+        if (quantidadeTutores < 2) {
+            throw new IllegalArgumentException("São necessários ao menos dois tutores");
+        }
+        MassaDeDados massa = new MassaDeDados();
+        TransactionTemplate transacao = contexto.getBean(TransactionTemplate.class);
+        EntityManager entityManager = contexto.getBean(EntityManager.class);
+        transacao.executeWithoutResult(status -> massa.inserir(entityManager, quantidadePets, quantidadeTutores));
+        return massa;
+    }
+
+    // Adoções reprovadas, distribuídas entre todos os tutores, e aprovadas, uma em cada quatro, só para os tutores
+    // com adoção em andamento; os tutores livres continuam passando pelas validações
+    public void adicionarAdocoesFinalizadas(ApplicationContext contexto, int quantidade) {
+        TransactionTemplate transacao = contexto.getBean(TransactionTemplate.class);
+        EntityManager entityManager = contexto.getBean(EntityManager.class);
+        transacao.executeWithoutResult(status -> inserirAdocoesFinalizadas(entityManager, quantidade));
+    }
+
+    public List<Long> idsAbrigos() {
+        return idsAbrigos;
+    }
+
+    public List<String> nomesAbrigos() {
+        return nomesAbrigos;
+    }
+
+    public List<Long> idsPetsLivres() {
+        return idsPetsLivres;
+    }
+
+    public List<Long> idsTutoresLivres() {
+        return idsTutoresLivres;
+    }
+
+    public List<Long> idsTutoresComAdocao() {
+        return idsTutoresComAdocao;
+    }
+
+    public List<Long> idsAdocoesEmAndamento() {
+        return idsAdocoesEmAndamento;
+    }
+
+    private void inserir(EntityManager entityManager, int quantidadePets, int quantidadeTutores) {
+        Abrigo[] abrigos = new Abrigo[QUANTIDADE_ABRIGOS];
+        for (int i = 0; i < QUANTIDADE_ABRIGOS; i++) {
+            abrigos[i] = new Abrigo(new CadastroAbrigoDto("Abrigo " + i, telefone(i), "abrigo" + i + "@email.com"));
+            entityManager.persist(abrigos[i]);
+            idsAbrigos.add(abrigos[i].getId());
+            nomesAbrigos.add(abrigos[i].getNome());
+        }
+
+        int tutoresLivres = quantidadeTutores / 2;
+        Tutor[] tutores = new Tutor[quantidadeTutores];
+        for (int i = 0; i < quantidadeTutores; i++) {
+            tutores[i] = new Tutor(new CadastroTutorDto("Tutor " + i, telefone(i), "tutor" + i + "@email.com"));
+            entityManager.persist(tutores[i]);
+            idsTutores.add(tutores[i].getId());
+            if (i < tutoresLivres) {
+                idsTutoresLivres.add(tutores[i].getId());
+            } else {
+                idsTutoresComAdocao.add(tutores[i].getId());
+            }
+        }
+
+        int proximoTutorComAdocao = tutoresLivres;
+        for (int i = 0; i < quantidadePets; i++) {
+            TipoPet tipo = i % 2 == 0 ? TipoPet.CACHORRO : TipoPet.GATO;
+            Pet pet = new Pet(new CadastroPetDto(tipo, "Pet " + i, "SRD", i % 18, "Caramelo", (float) (i % 30)), abrigos[i % QUANTIDADE_ABRIGOS]);
+            entityManager.persist(pet);
+
+            if (i % 10 == 5) {
+                Adocao adocao = new Adocao(tutores[proximoTutorComAdocao], pet, "Motivo qualquer");
+                entityManager.persist(adocao);
+                idsAdocoesEmAndamento.add(adocao.getId());
+                proximoTutorComAdocao = proximoTutorComAdocao + 1 < quantidadeTutores ? proximoTutorComAdocao + 1 : tutoresLivres;
+            } else {
+                idsPetsLivres.add(pet.getId());
+            }
+
+            if (i % TAMANHO_LOTE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                for (int j = 0; j < QUANTIDADE_ABRIGOS; j++) {
+                    abrigos[j] = entityManager.getReference(Abrigo.class, abrigos[j].getId());
+                }
+                for (int j = 0; j < quantidadeTutores; j++) {
+                    tutores[j] = entityManager.getReference(Tutor.class, tutores[j].getId());
+                }
+            }
+        }
+    }
+
+    private void inserirAdocoesFinalizadas(EntityManager entityManager, int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            boolean aprovada = i % 4 == 3;
+            Long idTutor = aprovada
+                    ? idsTutoresComAdocao.get(i / 4 % idsTutoresComAdocao.size())
+                    : idsTutores.get(i % idsTutores.size());
+            Tutor tutor = entityManager.getReference(Tutor.class, idTutor);
+            Pet pet = entityManager.getReference(Pet.class, idsPetsLivres.get(i % idsPetsLivres.size()));
+            Adocao adocao = new Adocao(tutor, pet, "Motivo qualquer");
+            if (aprovada) {
+                adocao.marcarComoAprovada();
+            } else {
+                adocao.marcarComoReprovada("Adoção antiga");
+            }
+            entityManager.persist(adocao);
+
+            if (i % TAMANHO_LOTE == TAMANHO_LOTE - 1) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+    }
+
+    private static String telefone(int indice) {
+        return String.format("(11)9%04d-%04d", indice / 10000, indice % 10000);
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.alura.adopet.api.benchmark;
+
+import br.com.alura.adopet.api.dto.FiltroPetsDto;
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.dto.ProbabilidadeAdocaoPetDto;
+import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+import br.com.alura.adopet.api.repository.PetRepository;
+import br.com.alura.adopet.api.repository.PetSpecifications;
+import br.com.alura.adopet.api.service.CalculadoraProbabilidadeAdocao;
+import br.com.alura.adopet.api.service.ProbabilidadeAdocaoService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura da probabilidade de adoção gravada no pet contra o recálculo a cada leitura: as
+ * consultas de {@code GET /pets/probabilidades} e {@code GET /pets?probabilidade=BAIXA} sobre as
+ * colunas e o índice, e o caminho anterior, que lia tipo, peso e idade de todos os pets
+ * disponíveis, calculava a nota em memória e ordenava ou filtrava. Use
+ * {@code -p quantidadePets=100000} para um catálogo maior.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProbabilidadeAdocaoLoteBenchmark {
+
+    private static final Comparator<ProbabilidadeAdocaoPetDto> MAIOR_NOTA_PRIMEIRO = Comparator
+            .comparingInt(ProbabilidadeAdocaoPetDto::nota).reversed()
+            .thenComparing(ProbabilidadeAdocaoPetDto::id);
+
+    private static final Specification<Pet> FILTRO_BAIXA = PetSpecifications.disponiveis(
+            new FiltroPetsDto(null, null, null, null, null, null, null, null, ProbabilidadeAdocao.BAIXA));
+
+    private PetRepository petRepository;
+    private ProbabilidadeAdocaoService probabilidadeAdocaoService;
+    private CalculadoraProbabilidadeAdocao calculadora;
+    private EntityManager entityManager;
+    private TransactionTemplate transacao;
+
+    @Setup
+    public void preparar(AmbienteBenchmark ambiente) {
+        petRepository = ambiente.bean(PetRepository.class);
+        probabilidadeAdocaoService = ambiente.bean(ProbabilidadeAdocaoService.class);
+        calculadora = ambiente.bean(CalculadoraProbabilidadeAdocao.class);
+        entityManager = ambiente.bean(EntityManager.class);
+        transacao = ambiente.transacaoSomenteLeitura();
+    }
+
+    @Benchmark
+    public List<ProbabilidadeAdocaoPetDto> lerNotasGravadas() {
+        return transacao.execute(status -> probabilidadeAdocaoService.buscarDisponiveis());
+    }
+
+    @Benchmark
+    public List<ProbabilidadeAdocaoPetDto> recalcularNotasNaLeitura() {
+        return transacao.execute(status -> calcularDisponiveis().stream()
+                .sorted(MAIOR_NOTA_PRIMEIRO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<PetDto> filtrarPelaColuna() {
+        return transacao.execute(status -> petRepository.buscarFiltrados(FILTRO_BAIXA, 0L, 0));
+    }
+
+    @Benchmark
+    public List<ProbabilidadeAdocaoPetDto> filtrarRecalculando() {
+        return transacao.execute(status -> calcularDisponiveis().stream()
+                .filter(pet -> pet.probabilidade() == ProbabilidadeAdocao.BAIXA)
+                .toList());
+    }
+
+    private List<ProbabilidadeAdocaoPetDto> calcularDisponiveis() {
+        return entityManager
+                .createQuery("SELECT p.id, p.nome, p.tipo, p.peso, p.idade FROM Pet p WHERE p.adotado = false", Object[].class)
+                .getResultStream()
+                .map(linha -> {
+                    int nota = calculadora.calcularNota((TipoPet) linha[2], (Float) linha[3], (Integer) linha[4]);
+                    return new ProbabilidadeAdocaoPetDto((Long) linha[0], (String) linha[1], nota, calculadora.classificar(nota));
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.alura.adopet.api.benchmark;
+
+import br.com.alura.adopet.api.dto.AbrigoDto;
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.dto.TutorDto;
+import br.com.alura.adopet.api.repository.AbrigoRepository;
+import br.com.alura.adopet.api.repository.PetRepository;
+import br.com.alura.adopet.api.repository.TutorRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializa as listas devolvidas pelos endpoints de listagem com o mesmo {@link ObjectMapper}
+ * configurado pela aplicação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private List<PetDto> pets;
+    private List<TutorDto> tutores;
+    private List<AbrigoDto> abrigos;
+
+    @Setup
+    public void preparar(AmbienteBenchmark ambiente) {
+        objectMapper = ambiente.bean(ObjectMapper.class);
+        pets = ambiente.bean(PetRepository.class).buscarDisponiveis();
+        tutores = ambiente.bean(TutorRepository.class).buscarOrdenadosPorNome(PageRequest.of(0, ambiente.quantidadeTutores));
+        abrigos = ambiente.bean(AbrigoRepository.class).buscarTodos();
+    }
+
+    @Benchmark
+    public byte[] serializarPets() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pets);
+    }
+
+    @Benchmark
+    public byte[] serializarTutores() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tutores);
+    }
+
+    @Benchmark
+    public byte[] serializarAbrigos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(abrigos);
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.alura.adopet.api.benchmark;
+
+import br.com.alura.adopet.api.service.TemplatesEmailAdocao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão da montagem dos e-mails de aprovação e reprovação pelos templates, comparada com a
+ * concatenação que o {@code AdocaoService} fazia, criando um formatador por mensagem. Rode com
+ * {@code -prof gc} para ver os bytes alocados por mensagem ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplatesEmailBenchmark {
+
+    private final TemplatesEmailAdocao templates = new TemplatesEmailAdocao();
+
+    private final String tutor = "Maria da Silva";
+    private final String pet = "Rex";
+    private final String abrigo = "Abrigo Amigo Fiel";
+    private final String justificativa = "O tutor não possui espaço adequado para um cachorro de grande porte";
+    private final LocalDateTime data = LocalDateTime.of(2024, 3, 10, 14, 30, 5);
+
+    @Benchmark
+    public String aprovacaoConcatenada() {
+        return "Parabéns " + tutor + "!\n\nSua adoção do pet " + pet + ", solicitada em " + data.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")) + ", foi aprovada.\nFavor entrar em contato com o abrigo " + abrigo + " para agendar a busca do seu pet.";
+    }
+
+    @Benchmark
+    public String aprovacaoPorTemplate() {
+        return templates.aprovacao(tutor, pet, data, abrigo);
+    }
+
+    @Benchmark
+    public String reprovacaoConcatenada() {
+        return "Olá " + tutor + "!\n\nInfelizmente sua adoção do pet " + pet + ", solicitada em " + data.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")) + ", foi reprovada pelo abrigo " + abrigo + " com a seguinte justificativa: " + justificativa;
+    }
+
+    @Benchmark
+    public String reprovacaoPorTemplate() {
+        return templates.reprovacao(tutor, pet, data, abrigo, justificativa);
+    }
+}
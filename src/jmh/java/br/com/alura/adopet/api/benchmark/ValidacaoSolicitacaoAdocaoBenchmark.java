@@ -0,0 +1,76 @@
+package br.com.alura.adopet.api.benchmark;
+
+import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
+import br.com.alura.adopet.api.repository.AdocaoRepository;
+import br.com.alura.adopet.api.validacoes.ContextoSolicitacaoAdocao;
+import br.com.alura.adopet.api.validacoes.ValidacaoSolicitacaoAdocao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede cada validação pelos dois caminhos: consultando o repositório por conta própria e
+ * usando o contexto carregado uma única vez pelo {@code AdocaoService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoSolicitacaoAdocaoBenchmark {
+
+    @Param({
+        "ValidacaoPetDisponivel",
+        "ValidacaoPetComAdocaoEmAndamento",
+        "ValidacaoTutorComAdocaoEmAndamento",
+        "ValidacaoTutorComLimiteDeAdocoes"
+    })
+    public String validacao;
+
+    private ValidacaoSolicitacaoAdocao validador;
+    private AdocaoRepository adocaoRepository;
+    private TransactionTemplate transacao;
+    private SolicitacaoAdocaoDto dto;
+    private ContextoSolicitacaoAdocao contexto;
+
+    @Setup
+    public void preparar(AmbienteBenchmark ambiente) {
+        validador = ambiente.beans(ValidacaoSolicitacaoAdocao.class)
+                .stream()
+                .filter(v -> v.getClass().getSimpleName().equals(validacao))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Validação desconhecida: " + validacao));
+        adocaoRepository = ambiente.bean(AdocaoRepository.class);
+        transacao = ambiente.transacaoSomenteLeitura();
+        dto = new SolicitacaoAdocaoDto(ambiente.idPetLivre(), ambiente.idTutorLivre(), "Motivo qualquer");
+        contexto = carregarContexto();
+    }
+
+    @Benchmark
+    public void validarConsultandoRepositorio() {
+        // Na API a validação roda com a sessão aberta pela requisição; sem ela a referência ao pet não inicializa
+        transacao.executeWithoutResult(status -> validador.validar(dto));
+    }
+
+    @Benchmark
+    public void validarComContexto() {
+        validador.validar(dto, contexto);
+    }
+
+    @Benchmark
+    public ContextoSolicitacaoAdocao carregarContexto() {
+        return adocaoRepository.carregarContextoSolicitacao(dto.idPet(), dto.idTutor()).orElseThrow();
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.alura.adopet.api.benchmark.carga;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga, lidos de argumentos no formato {@code chave=valor}. Quando a
+ * mesma chave aparece mais de uma vez, vale a última.
+ * <p>
+ * O mix é informado como {@code mix=listar_pets:35,solicitar_adocao:12,...}; operações
+ * omitidas ficam com peso zero.
+ */
+public record ConfiguracaoCarga(
+        String relatorio,
+        int usuarios,
+        int aquecimentoSegundos,
+        int duracaoSegundos,
+        int quantidadePets,
+        int quantidadeTutores,
+        boolean postgresql,
+        boolean threadsVirtuais,
+        Map<OperacaoCarga, Integer> mix) {
+
+    public static ConfiguracaoCarga ler(String... argumentos) {
+        Map<String, String> valores = new HashMap<>();
+        for (String argumento : argumentos) {
+            int separador = argumento.indexOf('=');
+            if (separador < 1) {
+                throw new IllegalArgumentException("Argumento fora do formato chave=valor: " + argumento);
+            }
+            valores.put(argumento.substring(0, separador), argumento.substring(separador + 1));
+        }
+
+        ConfiguracaoCarga configuracao = new ConfiguracaoCarga(
+                valores.getOrDefault("relatorio", "target/carga-resultado.json"),
+                Integer.parseInt(valores.getOrDefault("usuarios", "16")),
+                Integer.parseInt(valores.getOrDefault("aquecimento", "10")),
+                Integer.parseInt(valores.getOrDefault("duracao", "30")),
+                Integer.parseInt(valores.getOrDefault("pets", "10000")),
+                Integer.parseInt(valores.getOrDefault("tutores", "6000")),
+                Boolean.parseBoolean(valores.getOrDefault("postgresql", "false")),
+                Boolean.parseBoolean(valores.getOrDefault("threadsVirtuais", "false")),
+                lerMix(valores.get("mix")));
+
+        if (configuracao.usuarios() < 1 || configuracao.duracaoSegundos() < 1) {
+            throw new IllegalArgumentException("Usuários e duração devem ser maiores que zero");
+        }
+        if (configuracao.mix().values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("O mix deve ter ao menos uma operação com peso positivo");
+        }
+        return configuracao;
+    }
+
+    private static Map<OperacaoCarga, Integer> lerMix(String mix) {
+        Map<OperacaoCarga, Integer> pesos = new EnumMap<>(OperacaoCarga.class);
+        if (mix == null) {
+            for (OperacaoCarga operacao : OperacaoCarga.values()) {
+                pesos.put(operacao, operacao.getPesoPadrao());
+            }
+            return pesos;
+        }
+
+        for (OperacaoCarga operacao : OperacaoCarga.values()) {
+            pesos.put(operacao, 0);
+        }
+        for (String item : mix.split(",")) {
+            String[] partes = item.split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Item do mix fora do formato operacao:peso: " + item);
+            }
+            OperacaoCarga operacao = OperacaoCarga.valueOf(partes[0].trim().toUpperCase(Locale.ROOT));
+            int peso = Integer.parseInt(partes[1].trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("Peso negativo no mix: " + item);
+            }
+            pesos.put(operacao, peso);
+        }
+        return pesos;
+    }
+}
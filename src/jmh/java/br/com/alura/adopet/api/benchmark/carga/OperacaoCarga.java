@@ -0,0 +1,29 @@
+package br.com.alura.adopet.api.benchmark.carga;
+
+/**
+ * Operações exercitadas pelo teste de carga, com o peso de cada uma no mix padrão.
+ */
+public enum OperacaoCarga {
+
+    LISTAR_PETS("GET /pets", 35),
+    LISTAR_TUTORES("GET /tutores", 20),
+    LISTAR_PETS_DO_ABRIGO("GET /abrigos/{idOuNome}/pets", 25),
+    SOLICITAR_ADOCAO("POST /adocoes", 12),
+    APROVAR_ADOCAO("PUT /adocoes/aprovar", 8);
+
+    private final String descricao;
+    private final int pesoPadrao;
+
+    OperacaoCarga(String descricao, int pesoPadrao) {
+        this.descricao = descricao;
+        this.pesoPadrao = pesoPadrao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public int getPesoPadrao() {
+        return pesoPadrao;
+    }
+}
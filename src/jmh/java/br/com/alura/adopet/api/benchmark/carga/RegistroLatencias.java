@@ -0,0 +1,72 @@
+package br.com.alura.adopet.api.benchmark.carga;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Guarda todas as latências medidas de uma operação para calcular percentis exatos ao final.
+ * A disputa pelo lock é desprezível perto do tempo de uma requisição HTTP.
+ */
+class RegistroLatencias {
+
+    private long[] latenciasNanos = new long[1024];
+    private int quantidade;
+    private long erros;
+    private final Map<Integer, Long> respostasPorStatus = new TreeMap<>();
+
+    synchronized void registrar(long latenciaNanos, int status) {
+        adicionar(latenciaNanos);
+        respostasPorStatus.merge(status, 1L, Long::sum);
+        if (status < 200 || status >= 300) {
+            erros++;
+        }
+    }
+
+    synchronized void registrarFalha() {
+        erros++;
+        respostasPorStatus.merge(0, 1L, Long::sum);
+    }
+
+    synchronized ResultadoOperacao resumir(String operacao, double duracaoSegundos, boolean massaEsgotada) {
+        long[] ordenadas = Arrays.copyOf(latenciasNanos, quantidade);
+        Arrays.sort(ordenadas);
+        double media = quantidade == 0 ? 0 : Arrays.stream(ordenadas).average().orElse(0) / 1_000_000.0;
+        return new ResultadoOperacao(
+                operacao,
+                quantidade,
+                erros,
+                new TreeMap<>(respostasPorStatus),
+                quantidade / duracaoSegundos,
+                media,
+                percentil(ordenadas, 50),
+                percentil(ordenadas, 95),
+                percentil(ordenadas, 99),
+                quantidade == 0 ? 0 : ordenadas[quantidade - 1] / 1_000_000.0,
+                massaEsgotada);
+    }
+
+    synchronized void acumularEm(RegistroLatencias total) {
+        for (int i = 0; i < quantidade; i++) {
+            total.adicionar(latenciasNanos[i]);
+        }
+        total.erros += erros;
+        respostasPorStatus.forEach((status, contagem) -> total.respostasPorStatus.merge(status, contagem, Long::sum));
+    }
+
+    private void adicionar(long latenciaNanos) {
+        if (quantidade == latenciasNanos.length) {
+            latenciasNanos = Arrays.copyOf(latenciasNanos, quantidade * 2);
+        }
+        latenciasNanos[quantidade++] = latenciaNanos;
+    }
+
+    // Percentil pelo método do posto mais próximo, em milissegundos
+    private static double percentil(long[] ordenadas, int percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int posto = (int) Math.ceil(percentil / 100.0 * ordenadas.length);
+        return ordenadas[Math.max(posto, 1) - 1] / 1_000_000.0;
+    }
+}
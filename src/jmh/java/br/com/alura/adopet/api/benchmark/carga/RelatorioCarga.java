@@ -0,0 +1,14 @@
+package br.com.alura.adopet.api.benchmark.carga;
+
+import java.util.List;
+
+/**
+ * Relatório gravado em JSON ao final do teste de carga, pensado para ser comparado entre builds.
+ */
+public record RelatorioCarga(
+        ConfiguracaoCarga configuracao,
+        String geradoEm,
+        double duracaoMedidaSegundos,
+        List<ResultadoOperacao> operacoes,
+        ResultadoOperacao total) {
+}
@@ -0,0 +1,21 @@
+package br.com.alura.adopet.api.benchmark.carga;
+
+import java.util.Map;
+
+/**
+ * Linha do relatório do teste de carga. Latências em milissegundos; o status 0 conta
+ * requisições que não chegaram a ter resposta.
+ */
+public record ResultadoOperacao(
+        String operacao,
+        long requisicoes,
+        long erros,
+        Map<Integer, Long> respostasPorStatus,
+        double vazaoPorSegundo,
+        double latenciaMediaMs,
+        double p50Ms,
+        double p95Ms,
+        double p99Ms,
+        double latenciaMaximaMs,
+        boolean massaEsgotada) {
+}
@@ -0,0 +1,254 @@
+package br.com.alura.adopet.api.benchmark.carga;
+
+import br.com.alura.adopet.api.AdopetApiApplication;
+import br.com.alura.adopet.api.benchmark.MassaDeDados;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Teste de carga de ponta a ponta: sobe a API em uma porta aleatória, popula o banco com a
+ * {@link MassaDeDados} e dispara o mix de operações com um número fixo de usuários, cada um
+ * enviando a próxima requisição assim que recebe a resposta anterior.
+ * <p>
+ * As requisições do aquecimento não entram no relatório. Cada solicitação usa um par inédito
+ * de pet e tutor livres e cada aprovação uma adoção em andamento da massa; quando esses dados
+ * acabam, a operação sai do mix e é marcada como {@code massaEsgotada} no relatório.
+ * <p>
+ * Por padrão roda sobre H2 em memória. Com {@code postgresql=true} usa o banco configurado no
+ * application.properties, que deve estar vazio, já que a massa é inserida nele. Com
+ * {@code threadsVirtuais=true} a API atende as requisições em threads virtuais (Java 21); rodar
+ * com e sem, com milhares de usuários, compara a vazão dos dois modos.
+ */
+public class TesteCarga {
+
+    private static final String MOTIVO = "Solicitação do teste de carga";
+
+    private final ConfiguracaoCarga configuracao;
+    private final MassaDeDados massa;
+    private final String urlBase;
+    private final HttpClient cliente;
+
+    private final Map<OperacaoCarga, RegistroLatencias> registros = new EnumMap<>(OperacaoCarga.class);
+    private final Set<OperacaoCarga> esgotadas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger proximaSolicitacao = new AtomicInteger();
+    private final AtomicInteger proximaAprovacao = new AtomicInteger();
+
+    private volatile boolean medindo;
+
+    TesteCarga(ConfiguracaoCarga configuracao, MassaDeDados massa, int porta) {
+        this.configuracao = configuracao;
+        this.massa = massa;
+        this.urlBase = "http://localhost:" + porta;
+        this.cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        for (OperacaoCarga operacao : OperacaoCarga.values()) {
+            registros.put(operacao, new RegistroLatencias());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracaoCarga configuracao = ConfiguracaoCarga.ler(args);
+
+        // O restart do devtools subiria a aplicação de novo em outra thread, fora deste main
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        List<String> argumentosAplicacao = new ArrayList<>();
+        if (configuracao.postgresql()) {
+            argumentosAplicacao.add("--logging.level.root=WARN");
+        } else {
+            argumentosAplicacao.addAll(MassaDeDados.ARGUMENTOS_H2);
+        }
+        argumentosAplicacao.add("--server.port=0");
+        argumentosAplicacao.add("--adopet.threads-virtuais.habilitado=" + configuracao.threadsVirtuais());
+
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(AdopetApiApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(argumentosAplicacao.toArray(String[]::new))) {
+            System.out.printf("Populando %d pets e %d tutores...%n", configuracao.quantidadePets(), configuracao.quantidadeTutores());
+            MassaDeDados massa = MassaDeDados.popular(contexto, configuracao.quantidadePets(), configuracao.quantidadeTutores());
+            int porta = contexto.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+            RelatorioCarga relatorio = new TesteCarga(configuracao, massa, porta).executar();
+
+            Path arquivo = Path.of(configuracao.relatorio());
+            if (arquivo.getParent() != null) {
+                Files.createDirectories(arquivo.getParent());
+            }
+            contexto.getBean(ObjectMapper.class).writerWithDefaultPrettyPrinter().writeValue(arquivo.toFile(), relatorio);
+            imprimir(relatorio);
+            System.out.println("Relatório gravado em " + arquivo.toAbsolutePath());
+        }
+    }
+
+    RelatorioCarga executar() throws InterruptedException {
+        long aquecimentoNanos = TimeUnit.SECONDS.toNanos(configuracao.aquecimentoSegundos());
+        long fimNanos = System.nanoTime() + aquecimentoNanos + TimeUnit.SECONDS.toNanos(configuracao.duracaoSegundos());
+
+        ExecutorService usuarios = Executors.newFixedThreadPool(configuracao.usuarios());
+        for (int i = 0; i < configuracao.usuarios(); i++) {
+            usuarios.execute(() -> simularUsuario(fimNanos));
+        }
+
+        System.out.printf("Aquecendo por %ds com %d usuários...%n", configuracao.aquecimentoSegundos(), configuracao.usuarios());
+        TimeUnit.NANOSECONDS.sleep(aquecimentoNanos);
+        long inicioMedicao = System.nanoTime();
+        medindo = true;
+        System.out.printf("Medindo por %ds...%n", configuracao.duracaoSegundos());
+
+        usuarios.shutdown();
+        if (!usuarios.awaitTermination(configuracao.duracaoSegundos() + 60L, TimeUnit.SECONDS)) {
+            usuarios.shutdownNow();
+        }
+        double duracaoMedida = (System.nanoTime() - inicioMedicao) / 1_000_000_000.0;
+
+        List<ResultadoOperacao> operacoes = new ArrayList<>();
+        RegistroLatencias total = new RegistroLatencias();
+        for (OperacaoCarga operacao : OperacaoCarga.values()) {
+            RegistroLatencias registro = registros.get(operacao);
+            operacoes.add(registro.resumir(operacao.getDescricao(), duracaoMedida, esgotadas.contains(operacao)));
+            registro.acumularEm(total);
+        }
+        return new RelatorioCarga(
+                configuracao,
+                Instant.now().toString(),
+                duracaoMedida,
+                operacoes,
+                total.resumir("TOTAL", duracaoMedida, !esgotadas.isEmpty()));
+    }
+
+    private void simularUsuario(long fimNanos) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        while (System.nanoTime() < fimNanos) {
+            OperacaoCarga operacao = sortear(aleatorio);
+            if (operacao == null) {
+                return;
+            }
+            HttpRequest requisicao = montarRequisicao(operacao, aleatorio);
+            if (requisicao == null) {
+                esgotadas.add(operacao);
+                continue;
+            }
+
+            boolean registrar = medindo;
+            long inicio = System.nanoTime();
+            try {
+                HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                if (registrar) {
+                    registros.get(operacao).registrar(System.nanoTime() - inicio, resposta.statusCode());
+                }
+            } catch (IOException exception) {
+                if (registrar) {
+                    registros.get(operacao).registrarFalha();
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private OperacaoCarga sortear(ThreadLocalRandom aleatorio) {
+        int pesoTotal = 0;
+        for (Map.Entry<OperacaoCarga, Integer> item : configuracao.mix().entrySet()) {
+            if (!esgotadas.contains(item.getKey())) {
+                pesoTotal += item.getValue();
+            }
+        }
+        if (pesoTotal == 0) {
+            return null;
+        }
+
+        int sorteado = aleatorio.nextInt(pesoTotal);
+        for (Map.Entry<OperacaoCarga, Integer> item : configuracao.mix().entrySet()) {
+            if (esgotadas.contains(item.getKey())) {
+                continue;
+            }
+            sorteado -= item.getValue();
+            if (sorteado < 0) {
+                return item.getKey();
+            }
+        }
+        return null;
+    }
+
+    private HttpRequest montarRequisicao(OperacaoCarga operacao, ThreadLocalRandom aleatorio) {
+        return switch (operacao) {
+            case LISTAR_PETS -> get("/pets");
+            case LISTAR_TUTORES -> {
+                int paginas = Math.max(1, configuracao.quantidadeTutores() / 10);
+                yield get("/tutores?page=" + aleatorio.nextInt(paginas) + "&size=10");
+            }
+            case LISTAR_PETS_DO_ABRIGO -> {
+                int indice = aleatorio.nextInt(massa.idsAbrigos().size());
+                // Metade das consultas pelo id e metade pelo nome, como chegam do front-end
+                String idOuNome = aleatorio.nextBoolean()
+                        ? massa.idsAbrigos().get(indice).toString()
+                        : URLEncoder.encode(massa.nomesAbrigos().get(indice), StandardCharsets.UTF_8).replace("+", "%20");
+                yield get("/abrigos/" + idOuNome + "/pets");
+            }
+            case SOLICITAR_ADOCAO -> {
+                int indice = proximaSolicitacao.getAndIncrement();
+                if (indice >= Math.min(massa.idsPetsLivres().size(), massa.idsTutoresLivres().size())) {
+                    yield null;
+                }
+                yield enviar("POST", "/adocoes", String.format(
+                        "{\"idPet\":%d,\"idTutor\":%d,\"motivo\":\"%s\"}",
+                        massa.idsPetsLivres().get(indice), massa.idsTutoresLivres().get(indice), MOTIVO));
+            }
+            case APROVAR_ADOCAO -> {
+                int indice = proximaAprovacao.getAndIncrement();
+                if (indice >= massa.idsAdocoesEmAndamento().size()) {
+                    yield null;
+                }
+                yield enviar("PUT", "/adocoes/aprovar", "{\"idAdocao\":" + massa.idsAdocoesEmAndamento().get(indice) + "}");
+            }
+        };
+    }
+
+    private HttpRequest get(String caminho) {
+        return HttpRequest.newBuilder(URI.create(urlBase + caminho)).GET().build();
+    }
+
+    private HttpRequest enviar(String metodo, String caminho, String json) {
+        return HttpRequest.newBuilder(URI.create(urlBase + caminho))
+                .header("Content-Type", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static void imprimir(RelatorioCarga relatorio) {
+        System.out.printf("%n%-30s %10s %8s %10s %10s %10s %10s%n", "Operação", "Requisições", "Erros", "Req/s", "p50 (ms)", "p95 (ms)", "p99 (ms)");
+        List<ResultadoOperacao> linhas = new ArrayList<>(relatorio.operacoes());
+        linhas.add(relatorio.total());
+        for (ResultadoOperacao linha : linhas) {
+            System.out.printf("%-30s %10d %8d %10.1f %10.2f %10.2f %10.2f%s%n",
+                    linha.operacao(), linha.requisicoes(), linha.erros(), linha.vazaoPorSegundo(),
+                    linha.p50Ms(), linha.p95Ms(), linha.p99Ms(), linha.massaEsgotada() ? "  (massa esgotada)" : "");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.alura.adopet.api.config;
+
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.service.CacheLocal;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public CacheLocal<String, List<PetDto>> cachePetsDisponiveis(
+            @Value("${adopet.cache.pets-disponiveis.tempo-de-vida-ms:30000}") long tempoDeVidaMs,
+            @Value("${adopet.cache.pets-disponiveis.tamanho-maximo:200}") int tamanhoMaximo,
+            MeterRegistry meterRegistry) {
+        CacheLocal<String, List<PetDto>> cache = new CacheLocal<>(Duration.ofMillis(tempoDeVidaMs), tamanhoMaximo);
+        registrarMetricas(meterRegistry, "pets-disponiveis", cache);
+        return cache;
+    }
+
+    @Bean
+    public CacheLocal<String, Long> cacheIdsAbrigos(
+            @Value("${adopet.cache.abrigos.tempo-de-vida-ms:300000}") long tempoDeVidaMs,
+            @Value("${adopet.cache.abrigos.tamanho-maximo:1000}") int tamanhoMaximo,
+            MeterRegistry meterRegistry) {
+        CacheLocal<String, Long> cache = new CacheLocal<>(Duration.ofMillis(tempoDeVidaMs), tamanhoMaximo);
+        registrarMetricas(meterRegistry, "abrigos", cache);
+        return cache;
+    }
+
+    // Os contadores são lidos das estatísticas do cache a cada coleta, sem custo na leitura do cache
+    static void registrarMetricas(MeterRegistry meterRegistry, String nome, CacheLocal<?, ?> cache) {
+        contador(meterRegistry, "adopet.cache.acertos", "Buscas atendidas pelo cache", nome, cache,
+                c -> c.estatisticas().acertos());
+        contador(meterRegistry, "adopet.cache.falhas", "Buscas que precisaram carregar o valor", nome, cache,
+                c -> c.estatisticas().falhas());
+        contador(meterRegistry, "adopet.cache.remocoes", "Entradas removidas por tempo de vida ou tamanho máximo", nome, cache,
+                c -> c.estatisticas().remocoes());
+        contador(meterRegistry, "adopet.cache.invalidacoes", "Invalidações do cache inteiro", nome, cache,
+                c -> c.estatisticas().invalidacoes());
+        Gauge.builder("adopet.cache.tamanho", cache, c -> c.estatisticas().tamanho())
+                .description("Entradas guardadas no cache")
+                .tag("cache", nome)
+                .register(meterRegistry);
+    }
+
+    private static <C extends CacheLocal<?, ?>> void contador(MeterRegistry meterRegistry, String metrica, String descricao,
+                                                              String nome, C cache, ToDoubleFunction<C> valor) {
+        FunctionCounter.builder(metrica, cache, valor)
+                .description(descricao)
+                .tag("cache", nome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.alura.adopet.api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+import java.util.Locale;
+
+/**
+ * Ajustes no esquema de adoções que o {@code ddl-auto} do Hibernate não expressa, aplicados
+ * depois que ele cria ou atualiza as tabelas.
+ * <p>
+ * O índice único parcial garante no banco uma única adoção em andamento por pet, mesmo que duas
+ * solicitações simultâneas passem juntas pelas validações. O H2 dos benchmarks não tem índice
+ * parcial: lá o mesmo índice é criado sobre uma coluna calculada que só tem valor para adoções
+ * em andamento. A restrição {@code adocoes_pet_id_key} vem do antigo mapeamento
+ * {@code @OneToOne} de {@code Adocao.pet}, que impedia nova solicitação de um pet com adoção
+ * reprovada.
+ * <p>
+ * Se o índice não puder ser criado (por exemplo, com pets que já têm mais de uma adoção em
+ * andamento), a inicialização falha: sem ele a garantia e o {@code 409} de
+ * {@code AdocaoController} deixam de valer. Para subir mesmo assim, enquanto os dados são
+ * corrigidos, use {@code adopet.adocao.indice-em-andamento.ignorar=true}.
+ */
+@Configuration
+@DependsOn("entityManagerFactory")
+public class EsquemaAdocoesConfig {
+
+    public static final String INDICE_PET_COM_ADOCAO_EM_ANDAMENTO = "idx_adocoes_pet_em_andamento";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EsquemaAdocoesConfig.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${adopet.adocao.indice-em-andamento.ignorar:false}")
+    private boolean ignorarIndice;
+
+    @PostConstruct
+    public void ajustarEsquema() {
+        if (ignorarIndice) {
+            LOGGER.warn("Índice {} ignorado por configuração; o banco não impede duas adoções em andamento para o mesmo pet",
+                    INDICE_PET_COM_ADOCAO_EM_ANDAMENTO);
+            return;
+        }
+
+        String banco = jdbcTemplate.execute((ConnectionCallback<String>) conexao -> conexao.getMetaData().getDatabaseProductName());
+        try {
+            switch (banco) {
+                case "PostgreSQL" -> {
+                    jdbcTemplate.execute("ALTER TABLE adocoes DROP CONSTRAINT IF EXISTS adocoes_pet_id_key");
+                    jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + INDICE_PET_COM_ADOCAO_EM_ANDAMENTO
+                            + " ON adocoes (pet_id) WHERE status = 'AGUARDANDO_AVALIACAO'");
+                }
+                case "H2" -> {
+                    jdbcTemplate.execute("ALTER TABLE adocoes ADD COLUMN IF NOT EXISTS pet_em_andamento BIGINT"
+                            + " GENERATED ALWAYS AS (CASE WHEN status = 'AGUARDANDO_AVALIACAO' THEN pet_id END)");
+                    jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + INDICE_PET_COM_ADOCAO_EM_ANDAMENTO
+                            + " ON adocoes (pet_em_andamento)");
+                }
+                default -> throw new IllegalStateException("Banco " + banco + " não suportado; índice "
+                        + INDICE_PET_COM_ADOCAO_EM_ANDAMENTO + " não criado");
+            }
+        } catch (DataAccessException exception) {
+            // Pets com mais de uma adoção em andamento impedem a criação
+            throw new IllegalStateException("Não foi possível criar o índice " + INDICE_PET_COM_ADOCAO_EM_ANDAMENTO
+                    + ": " + exception.getMostSpecificCause().getMessage(), exception);
+        }
+    }
+
+    // O nome vem como o banco informa: com ou sem esquema, em maiúsculas ou minúsculas
+    public static boolean violouIndicePetComAdocaoEmAndamento(String nomeRestricao) {
+        return nomeRestricao != null && nomeRestricao.toLowerCase(Locale.ROOT).contains(INDICE_PET_COM_ADOCAO_EM_ANDAMENTO);
+    }
+}
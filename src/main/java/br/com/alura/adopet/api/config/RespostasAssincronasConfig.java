@@ -0,0 +1,60 @@
+package br.com.alura.adopet.api.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Respostas com {@code StreamingResponseBody} (exportação de adoções, transmissão de pets) são
+ * escritas neste pool, e não nas threads do Tomcat: uma exportação longa libera a thread da
+ * requisição assim que o controller retorna. O pool é limitado, então exportações simultâneas
+ * além de {@code adopet.respostas-assincronas.threads} aguardam na fila sem afetar as demais
+ * requisições.
+ * <p>
+ * Com {@code adopet.threads-virtuais.habilitado=true} cada resposta é escrita em uma thread
+ * virtual própria. O mesmo número de threads passa a limitar quantas respostas são escritas ao
+ * mesmo tempo; as excedentes aguardam na thread (também virtual) da requisição.
+ * <p>
+ * O executor não é exposto como bean para não substituir o {@code applicationTaskExecutor} do
+ * Spring Boot, que só é criado quando não há outro {@code Executor} no contexto.
+ */
+@Configuration
+public class RespostasAssincronasConfig implements WebMvcConfigurer, DisposableBean {
+
+    @Value("${adopet.respostas-assincronas.threads:4}")
+    private int threads;
+
+    @Value("${adopet.respostas-assincronas.tempo-limite-ms:1800000}")
+    private long tempoLimiteMs;
+
+    @Value("${adopet.threads-virtuais.habilitado:false}")
+    private boolean threadsVirtuais;
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        if (threadsVirtuais) {
+            SimpleAsyncTaskExecutor executorVirtual = new SimpleAsyncTaskExecutor();
+            executorVirtual.setThreadFactory(ThreadsVirtuais.fabrica("resposta-assincrona-"));
+            executorVirtual.setConcurrencyLimit(threads);
+            configurer.setTaskExecutor(executorVirtual);
+        } else {
+            executor.setCorePoolSize(threads);
+            executor.setMaxPoolSize(threads);
+            executor.setThreadNamePrefix("resposta-assincrona-");
+            executor.initialize();
+            configurer.setTaskExecutor(executor);
+        }
+        configurer.setDefaultTimeout(tempoLimiteMs);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.alura.adopet.api.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Acesso às threads virtuais do Java 21 sem exigir Java 21 para compilar.
+ * <p>
+ * O projeto ainda compila para Java 17, então {@code Thread.ofVirtual()} é chamado por
+ * reflexão. Rodando em uma JVM sem threads virtuais (17, ou 19 e 20 sem {@code --enable-preview})
+ * {@link #fabrica(String)} falha com {@link IllegalStateException}, o que impede a aplicação de
+ * subir com {@code adopet.threads-virtuais.habilitado=true} em vez de cair silenciosamente para
+ * threads de plataforma.
+ */
+public final class ThreadsVirtuais {
+
+    private ThreadsVirtuais() {
+    }
+
+    // Threads nomeadas prefixo0, prefixo1, ...
+    public static ThreadFactory fabrica(String prefixo) {
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Object virtual = Thread.class.getMethod("ofVirtual").invoke(null);
+            Object nomeado = builder.getMethod("name", String.class, long.class).invoke(virtual, prefixo, 0L);
+            return (ThreadFactory) builder.getMethod("factory").invoke(nomeado);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException exception) {
+            throw new IllegalStateException("Threads virtuais exigem Java 21; JVM atual: " + Runtime.version(), exception);
+        } catch (InvocationTargetException exception) {
+            throw new IllegalStateException("Threads virtuais indisponíveis nesta JVM (" + Runtime.version() + "): "
+                    + exception.getCause().getMessage(), exception.getCause());
+        }
+    }
+
+    // Uma thread nova por tarefa; threads virtuais são baratas demais para valer a pena reaproveitá-las
+    public static Executor executor(ThreadFactory fabrica) {
+        return tarefa -> fabrica.newThread(tarefa).start();
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.alura.adopet.api.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Com {@code adopet.threads-virtuais.habilitado=true}, cada requisição atendida pelo Tomcat roda
+ * em uma thread virtual própria, no lugar do pool de {@code server.tomcat.threads.max} threads.
+ * Como os controllers passam a maior parte do tempo esperando o banco e o SMTP, picos de
+ * requisições deixam de esgotar as threads antes da CPU.
+ * <p>
+ * A concorrência no banco continua limitada pelo pool de conexões
+ * ({@code spring.datasource.hikari.maximum-pool-size}): as threads virtuais que passarem desse
+ * limite aguardam uma conexão estacionadas, sem ocupar thread de plataforma. O driver do
+ * PostgreSQL usa {@code ReentrantLock} desde a versão 42.6, então a espera pelo socket não prende
+ * a thread virtual à thread que a carrega.
+ */
+@Configuration
+@ConditionalOnProperty(name = "adopet.threads-virtuais.habilitado", havingValue = "true")
+public class ThreadsVirtuaisConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThreadsVirtuaisConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> executorVirtualTomcat() {
+        ThreadFactory fabrica = ThreadsVirtuais.fabrica("tomcat-virtual-");
+        LOGGER.info("Requisições atendidas em threads virtuais");
+        return protocolHandler -> protocolHandler.setExecutor(ThreadsVirtuais.executor(fabrica));
+    }
+}
@@ -1,25 +1,34 @@
 package br.com.alura.adopet.api.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.com.alura.adopet.api.dto.AbrigoDto;
 import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
 import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.ImportacaoPetsDto;
 import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.dto.ProbabilidadeAdocaoPetDto;
 import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.Abrigo;
 import br.com.alura.adopet.api.service.AbrigoService;
+import br.com.alura.adopet.api.service.ImportacaoPetsService;
 import br.com.alura.adopet.api.service.PetService;
+import br.com.alura.adopet.api.service.ProbabilidadeAdocaoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -40,6 +49,12 @@ public class AbrigoController {
     @Autowired
     private PetService petService;
 
+    @Autowired
+    private ImportacaoPetsService importacaoPetsService;
+
+    @Autowired
+    private ProbabilidadeAdocaoService probabilidadeAdocaoService;
+
     @GetMapping
     @Operation(summary = "Listar todos os abrigos", description = "Retorna uma lista com todos os abrigos cadastrados")
     @ApiResponse(responseCode = "200", description = "Lista de abrigos retornada com sucesso")
@@ -82,6 +97,23 @@ public class AbrigoController {
         }
     }
 
+    @GetMapping("/{idOuNome}/pets/probabilidades")
+    @Operation(summary = "Listar probabilidade de adoção dos pets de um abrigo", description = "Retorna a nota e a probabilidade de adoção de cada pet disponível do abrigo, da maior para a menor nota")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Probabilidades retornadas com sucesso"),
+        @ApiResponse(responseCode = "404", description = "Abrigo não encontrado")
+    })
+    public ResponseEntity<List<ProbabilidadeAdocaoPetDto>> listarProbabilidadesDosPets(
+            @Parameter(description = "ID ou nome do abrigo", example = "1 ou 'Abrigo dos Bichinhos'")
+            @PathVariable String idOuNome) {
+        try {
+            Abrigo abrigo = abrigoService.carregarAbrigo(idOuNome);
+            return ResponseEntity.ok(probabilidadeAdocaoService.buscarDoAbrigo(abrigo.getId()));
+        } catch (ValidacaoException exception) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @PostMapping("/{idOuNome}/pets")
     @Transactional
     @Operation(summary = "Cadastrar pet em um abrigo", description = "Cadastra um novo pet em um abrigo específico")
@@ -101,4 +133,34 @@ public class AbrigoController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    // Sem @Transactional: a importação grava em várias transações, uma por lote
+    @PostMapping(value = "/{idOuNome}/pets/lote", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Cadastrar pets em lote", description = "Cadastra vários pets em um abrigo a partir de um array JSON ou de NDJSON (um pet por linha), informando o resultado de cada linha")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Importação processada; veja o resultado de cada linha"),
+        @ApiResponse(responseCode = "400", description = "Corpo fora do formato esperado"),
+        @ApiResponse(responseCode = "404", description = "Abrigo não encontrado")
+    })
+    public ResponseEntity<?> importarPets(
+            @Parameter(description = "ID ou nome do abrigo", example = "1 ou 'Abrigo dos Bichinhos'")
+            @PathVariable String idOuNome,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType tipoConteudo,
+            InputStream corpo) throws IOException {
+        Abrigo abrigo;
+        try {
+            abrigo = abrigoService.carregarAbrigo(idOuNome);
+        } catch (ValidacaoException exception) {
+            return ResponseEntity.notFound().build();
+        }
+
+        try {
+            ImportacaoPetsDto importacao = MediaType.APPLICATION_NDJSON.isCompatibleWith(tipoConteudo)
+                    ? importacaoPetsService.importarNdjson(abrigo, corpo)
+                    : importacaoPetsService.importarJson(abrigo, corpo);
+            return ResponseEntity.ok(importacao);
+        } catch (ValidacaoException exception) {
+            return ResponseEntity.badRequest().body(exception.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -1,19 +1,35 @@
 package br.com.alura.adopet.api.controller;
 
+import br.com.alura.adopet.api.config.EsquemaAdocoesConfig;
 import br.com.alura.adopet.api.dto.AprovacaoAdocaoDto;
 import br.com.alura.adopet.api.dto.ReprovacaoAdocaoDto;
 import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
+import br.com.alura.adopet.api.service.AdmissaoSolicitacoesAdocao;
 import br.com.alura.adopet.api.service.AdocaoService;
+import br.com.alura.adopet.api.service.ExportacaoAdocoesService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.ValidationException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/adocoes")
@@ -23,18 +39,25 @@ public class AdocaoController {
     @Autowired
     private AdocaoService adocaoService;
 
+    @Autowired
+    private AdmissaoSolicitacoesAdocao admissaoSolicitacoes;
+
+    @Autowired
+    private ExportacaoAdocoesService exportacaoAdocoesService;
+
+    // Sem @Transactional: a admissão abre a transação depois de obter os locks do pet e do tutor
     @PostMapping
-    @Transactional
     @Operation(summary = "Solicitar adoção", description = "Solicita a adoção de um pet por um tutor")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Adoção solicitada com sucesso"),
-        @ApiResponse(responseCode = "400", description = "Dados inválidos ou validação falhou")
+        @ApiResponse(responseCode = "400", description = "Dados inválidos ou validação falhou"),
+        @ApiResponse(responseCode = "409", description = "Outra solicitação para o mesmo pet ou tutor foi registrada ao mesmo tempo")
     })
     public ResponseEntity<String> solicitar(@RequestBody @Valid SolicitacaoAdocaoDto dto) {
         try {
-            this.adocaoService.solicitar(dto);
+            this.admissaoSolicitacoes.solicitar(dto);
             return ResponseEntity.ok("Adoção solicitada com sucesso!");
-        } catch (ValidationException e) {
+        } catch (ValidationException | ValidacaoException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
@@ -42,7 +65,10 @@ public class AdocaoController {
     @PutMapping("/aprovar")
     @Transactional
     @Operation(summary = "Aprovar adoção", description = "Aprova uma solicitação de adoção")
-    @ApiResponse(responseCode = "200", description = "Adoção aprovada com sucesso")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Adoção aprovada com sucesso"),
+        @ApiResponse(responseCode = "409", description = "A adoção foi avaliada por outra requisição ao mesmo tempo")
+    })
     public ResponseEntity<String> aprovar(@RequestBody @Valid AprovacaoAdocaoDto dto) {
         this.adocaoService.aprovar(dto);
         return ResponseEntity.ok().build();
@@ -51,9 +77,64 @@ public class AdocaoController {
     @PutMapping("/reprovar")
     @Transactional
     @Operation(summary = "Reprovar adoção", description = "Reprova uma solicitação de adoção")
-    @ApiResponse(responseCode = "200", description = "Adoção reprovada com sucesso")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Adoção reprovada com sucesso"),
+        @ApiResponse(responseCode = "409", description = "A adoção foi avaliada por outra requisição ao mesmo tempo")
+    })
     public ResponseEntity<String> reprovar(@RequestBody @Valid ReprovacaoAdocaoDto dto) {
         this.adocaoService.reprovar(dto);
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    @GetMapping("/exportacao")
+    @Operation(summary = "Exportar adoções", description = "Transmite todas as adoções, com os nomes de tutor, pet e abrigo, em CSV ou NDJSON")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Adoções transmitidas com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Formato inválido")
+    })
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @Parameter(description = "csv ou ndjson")
+            @RequestParam(defaultValue = "csv") String formato) {
+        ExportacaoAdocoesService.Formato formatoExportacao;
+        try {
+            formatoExportacao = ExportacaoAdocoesService.Formato.de(formato);
+        } catch (ValidacaoException exception) {
+            // O retorno precisa ser sempre StreamingResponseBody para o Spring tratá-lo como transmissão
+            byte[] mensagem = exception.getMessage().getBytes(StandardCharsets.UTF_8);
+            return ResponseEntity.badRequest()
+                    .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                    .body(saida -> saida.write(mensagem));
+        }
+
+        // Escrito fora da thread da requisição; a transação e o cursor ficam abertos só durante a escrita
+        StreamingResponseBody corpo = saida -> exportacaoAdocoesService.exportar(formatoExportacao, saida);
+        return ResponseEntity.ok()
+                .contentType(formatoExportacao.getTipoConteudo())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("adocoes." + formatoExportacao.getExtensao())
+                        .build()
+                        .toString())
+                .body(corpo);
+    }
+
+    // Os conflitos só aparecem no commit, depois que o método do controller já retornou
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> tratarConflitoDeVersao(ObjectOptimisticLockingFailureException exception) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Registro alterado por outra requisição, tente novamente!");
+    }
+
+    @ExceptionHandler(CannotAcquireLockException.class)
+    public ResponseEntity<String> tratarEsperaEsgotada(CannotAcquireLockException exception) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Outra solicitação para o mesmo pet ou tutor está em andamento, tente novamente!");
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> tratarViolacaoDeIntegridade(DataIntegrityViolationException exception) {
+        if (exception.getCause() instanceof ConstraintViolationException violacao
+                && EsquemaAdocoesConfig.violouIndicePetComAdocaoEmAndamento(violacao.getConstraintName())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Pet já possui uma adoção em andamento!");
+        }
+        throw exception;
+    }
+}
@@ -3,15 +3,27 @@ package br.com.alura.adopet.api.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import br.com.alura.adopet.api.dto.FiltroPetsDto;
+import br.com.alura.adopet.api.dto.PaginaCursorDto;
 import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.dto.ProbabilidadeAdocaoPetDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.service.PetService;
+import br.com.alura.adopet.api.service.ProbabilidadeAdocaoService;
+import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 @RestController
@@ -22,11 +34,81 @@ public class PetController {
     @Autowired
     private PetService service;
 
+    @Autowired
+    private ProbabilidadeAdocaoService probabilidadeAdocaoService;
+
     @GetMapping
-    @Operation(summary = "Listar pets disponíveis", description = "Retorna todos os pets disponíveis para adoção")
-    @ApiResponse(responseCode = "200", description = "Lista de pets disponíveis retornada com sucesso")
-    public ResponseEntity<List<PetDto>> listarTodosDisponiveis() {
-        List<PetDto> pets = service.buscarPetsDisponiveis();
+    @Operation(summary = "Listar pets disponíveis", description = "Retorna os pets disponíveis para adoção, em ordem de id; os parâmetros informados filtram a listagem e os omitidos não restringem")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Lista de pets disponíveis retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Filtro inválido")
+    })
+    @Parameter(name = "tipo", description = "Tipo do pet", example = "GATO")
+    @Parameter(name = "idadeMinima", description = "Idade mínima em anos, inclusive")
+    @Parameter(name = "idadeMaxima", description = "Idade máxima em anos, inclusive")
+    @Parameter(name = "pesoMinimo", description = "Peso mínimo em kg, inclusive")
+    @Parameter(name = "pesoMaximo", description = "Peso máximo em kg, inclusive")
+    @Parameter(name = "raca", description = "Raça, comparada exatamente")
+    @Parameter(name = "cor", description = "Cor, comparada exatamente")
+    @Parameter(name = "abrigoId", description = "Id do abrigo")
+    @Parameter(name = "probabilidade", description = "Probabilidade de adoção", example = "ALTA")
+    public ResponseEntity<List<PetDto>> listarTodosDisponiveis(@Parameter(hidden = true) FiltroPetsDto filtro) {
+        List<PetDto> pets = service.buscarPetsDisponiveis(filtro);
         return ResponseEntity.ok(pets);
     }
-}
\ No newline at end of file
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Listar pets disponíveis por cursor", description = "Retorna uma página de pets disponíveis a partir do cursor informado; envie cursor vazio para a primeira página. Aceita os mesmos filtros da listagem, que devem se repetir em todas as páginas")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Página de pets retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor, tamanho de página ou filtro inválido")
+    })
+    public ResponseEntity<?> listarDisponiveisPorCursor(
+            @Parameter(hidden = true) FiltroPetsDto filtro,
+            @Parameter(description = "Cursor retornado em proximoCursor pela página anterior")
+            @RequestParam String cursor,
+            @Parameter(description = "Quantidade de pets por página (máximo: 100)")
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            PaginaCursorDto<PetDto> pagina = service.buscarPetsDisponiveisPorCursor(filtro, cursor, size);
+            return ResponseEntity.ok(pagina);
+        } catch (ValidacaoException exception) {
+            return ResponseEntity.badRequest().body(exception.getMessage());
+        }
+    }
+
+    @GetMapping(params = "stream=true")
+    @Operation(summary = "Transmitir pets disponíveis", description = "Retorna os pets disponíveis em um array JSON escrito à medida que os registros são lidos do banco. Aceita os mesmos filtros da listagem")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Pets disponíveis transmitidos com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Filtro inválido")
+    })
+    public ResponseEntity<StreamingResponseBody> transmitirTodosDisponiveis(@Parameter(hidden = true) FiltroPetsDto filtro) {
+        // Valida antes de devolver o corpo: depois que a transmissão começa, o status já foi enviado
+        service.validarFiltro(filtro);
+        StreamingResponseBody corpo = saida -> service.escreverPetsDisponiveis(filtro, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(corpo);
+    }
+
+    // Mais específico que os mapeamentos de cursor e de stream, que sozinhos deixariam um dos parâmetros sem efeito
+    @Hidden
+    @GetMapping(params = {"cursor", "stream"})
+    public ResponseEntity<String> rejeitarCursorComStream() {
+        return ResponseEntity.badRequest().body("Use cursor ou stream, não os dois!");
+    }
+
+    @GetMapping("/probabilidades")
+    @Operation(summary = "Listar probabilidade de adoção dos pets disponíveis", description = "Retorna a nota e a probabilidade de adoção de cada pet disponível, da maior para a menor nota")
+    @ApiResponse(responseCode = "200", description = "Probabilidades retornadas com sucesso")
+    public ResponseEntity<List<ProbabilidadeAdocaoPetDto>> listarProbabilidades() {
+        return ResponseEntity.ok(probabilidadeAdocaoService.buscarDisponiveis());
+    }
+
+    // Faixas de idade ou peso invertidas no filtro da listagem
+    @ExceptionHandler(ValidacaoException.class)
+    public ResponseEntity<String> tratarFiltroInvalido(ValidacaoException exception) {
+        return ResponseEntity.badRequest().body(exception.getMessage());
+    }
+}
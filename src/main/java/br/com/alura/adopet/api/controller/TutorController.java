@@ -2,6 +2,7 @@ package br.com.alura.adopet.api.controller;
 
 import br.com.alura.adopet.api.dto.AtualizacaoTutorDto;
 import br.com.alura.adopet.api.dto.CadastroTutorDto;
+import br.com.alura.adopet.api.dto.PaginaCursorDto;
 import br.com.alura.adopet.api.dto.TutorDto;
 import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.service.TutorService;
@@ -37,6 +38,27 @@ public class TutorController {
         return ResponseEntity.ok(tutores);
     }
 
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Listar tutores por cursor", description = "Retorna tutores ordenados por nome a partir do cursor informado; envie cursor vazio para a primeira página")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Página de tutores retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido")
+    })
+    public ResponseEntity<?> listarPorCursor(
+            @Parameter(description = "Cursor retornado em proximoCursor pela página anterior")
+            @RequestParam String cursor,
+            @Parameter(description = "Quantidade de tutores por página (máximo: 100)")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Inclui a contagem total de tutores na resposta")
+            @RequestParam(defaultValue = "false") boolean total) {
+        try {
+            PaginaCursorDto<TutorDto> pagina = service.listarPorCursor(cursor, size, total);
+            return ResponseEntity.ok(pagina);
+        } catch (ValidacaoException exception) {
+            return ResponseEntity.badRequest().body(exception.getMessage());
+        }
+    }
+
     @PostMapping
     @Transactional
     @Operation(summary = "Cadastrar tutor", description = "Cadastra um novo tutor no sistema")
@@ -0,0 +1,24 @@
+package br.com.alura.adopet.api.dto;
+
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+
+// Filtros opcionais da listagem de pets disponíveis; faixas com limites inclusivos
+public record FiltroPetsDto(
+    TipoPet tipo,
+    Integer idadeMinima,
+    Integer idadeMaxima,
+    Float pesoMinimo,
+    Float pesoMaximo,
+    String raca,
+    String cor,
+    Long abrigoId,
+    ProbabilidadeAdocao probabilidade
+) {
+
+    public static final FiltroPetsDto VAZIO = new FiltroPetsDto(null, null, null, null, null, null, null, null, null);
+
+    public boolean vazio() {
+        return VAZIO.equals(this);
+    }
+}
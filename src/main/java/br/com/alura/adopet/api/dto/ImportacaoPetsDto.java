@@ -0,0 +1,10 @@
+package br.com.alura.adopet.api.dto;
+
+import java.util.List;
+
+public record ImportacaoPetsDto(
+    int importados,
+    int rejeitados,
+    List<ResultadoImportacaoPetDto> resultados
+) {
+}
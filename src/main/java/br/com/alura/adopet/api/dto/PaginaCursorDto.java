@@ -0,0 +1,10 @@
+package br.com.alura.adopet.api.dto;
+
+import java.util.List;
+
+public record PaginaCursorDto<T>(
+    List<T> conteudo,
+    String proximoCursor,
+    Long total
+) {
+}
@@ -0,0 +1,6 @@
+package br.com.alura.adopet.api.dto;
+
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+
+public record ProbabilidadeAdocaoPetDto(Long id, String nome, int nota, ProbabilidadeAdocao probabilidade) {
+}
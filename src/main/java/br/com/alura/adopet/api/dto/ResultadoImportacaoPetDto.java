@@ -0,0 +1,8 @@
+package br.com.alura.adopet.api.dto;
+
+public record ResultadoImportacaoPetDto(
+    int linha,
+    Long id,
+    String erro
+) {
+}
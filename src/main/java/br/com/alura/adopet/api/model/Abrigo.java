@@ -2,6 +2,9 @@ package br.com.alura.adopet.api.model;
 
 import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.util.Objects;
 
@@ -10,7 +13,9 @@ import java.util.Objects;
 public class Abrigo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "abrigos_seq")
+    @GenericGenerator(name = "abrigos_seq", type = SequenciaAgrupadaGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "abrigos_seq"))
     private Long id;
 
     private String nome;
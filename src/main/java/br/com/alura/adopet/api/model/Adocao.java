@@ -1,16 +1,24 @@
 package br.com.alura.adopet.api.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "adocoes")
+@Table(name = "adocoes", indexes = {
+        @Index(name = "idx_adocoes_tutor_status", columnList = "tutor_id, status")
+})
 public class Adocao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "adocoes_seq")
+    @GenericGenerator(name = "adocoes_seq", type = SequenciaAgrupadaGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "adocoes_seq"))
     private Long id;
 
     private LocalDateTime data;
@@ -19,7 +27,8 @@ public class Adocao {
     @JoinColumn(name = "tutor_id")
     private Tutor tutor;
 
-    @OneToOne(fetch = FetchType.LAZY)
+    // Um pet pode ter várias adoções (reprovadas e uma nova); só uma em andamento, garantida por índice parcial
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "pet_id")
     private Pet pet;
 
@@ -30,6 +39,10 @@ public class Adocao {
 
     private String justificativaStatus;
 
+    @Version
+    @ColumnDefault("0")
+    private Long versao;
+
     public Adocao(Tutor tutor, Pet pet, String motivo) {
         this.tutor = tutor;
         this.pet = pet;
@@ -85,6 +98,10 @@ public class Adocao {
         return justificativaStatus;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
     public void marcarComoAprovada() {
         this.status = StatusAdocao.APROVADO;
     }
@@ -0,0 +1,103 @@
+package br.com.alura.adopet.api.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "emails_pendentes", indexes = {
+        @Index(name = "idx_emails_pendentes_tentativas", columnList = "tentativas, id")
+})
+public class EmailPendente {
+
+    static final int TAMANHO_MAXIMO_ERRO = 1000;
+
+    @Id
+    @GeneratedValue(generator = "emails_pendentes_seq")
+    @GenericGenerator(name = "emails_pendentes_seq", type = SequenciaAgrupadaGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "emails_pendentes_seq"))
+    private Long id;
+
+    private String destinatario;
+
+    private String assunto;
+
+    @Column(length = 4000)
+    private String mensagem;
+
+    private LocalDateTime criadoEm;
+
+    private Integer tentativas;
+
+    @Column(length = TAMANHO_MAXIMO_ERRO)
+    private String ultimoErro;
+
+    public EmailPendente() {
+    }
+
+    public EmailPendente(String destinatario, String assunto, String mensagem) {
+        this.destinatario = destinatario;
+        this.assunto = assunto;
+        this.mensagem = mensagem;
+        this.criadoEm = LocalDateTime.now();
+        this.tentativas = 0;
+    }
+
+    // Mensagens maiores que a coluna fariam o flush falhar e desfazer o lote inteiro, inclusive os já enviados
+    public void registrarFalha(String erro) {
+        this.tentativas++;
+        if (erro == null) {
+            this.ultimoErro = "Erro sem mensagem";
+        } else if (erro.length() > TAMANHO_MAXIMO_ERRO) {
+            this.ultimoErro = erro.substring(0, TAMANHO_MAXIMO_ERRO);
+        } else {
+            this.ultimoErro = erro;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EmailPendente that = (EmailPendente) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getDestinatario() {
+        return destinatario;
+    }
+
+    public String getAssunto() {
+        return assunto;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public Integer getTentativas() {
+        return tentativas;
+    }
+
+    public String getUltimoErro() {
+        return ultimoErro;
+    }
+
+}
@@ -1,16 +1,34 @@
 package br.com.alura.adopet.api.model;
 
 import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.service.ProbabilidadeAdocaoPetListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 
 @Entity
-@Table(name = "pets")
+@EntityListeners(ProbabilidadeAdocaoPetListener.class)
+@Table(name = "pets", indexes = {
+        @Index(name = "idx_pets_adotado_id", columnList = "adotado, id"),
+        @Index(name = "idx_pets_adotado_probabilidade_id", columnList = "adotado, probabilidade_adocao, id"),
+        @Index(name = "idx_pets_adotado_idade_registrada_em", columnList = "adotado, idade_registrada_em"),
+        @Index(name = "idx_pets_adotado_tipo_idade", columnList = "adotado, tipo, idade"),
+        @Index(name = "idx_pets_adotado_tipo_peso", columnList = "adotado, tipo, peso"),
+        @Index(name = "idx_pets_adotado_raca", columnList = "adotado, raca"),
+        @Index(name = "idx_pets_abrigo_adotado_id", columnList = "abrigo_id, adotado, id")
+})
 public class Pet {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "pets_seq")
+    @GenericGenerator(name = "pets_seq", type = SequenciaAgrupadaGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "pets_seq"))
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -23,6 +41,21 @@ public class Pet {
     private Float peso;
     private Boolean adotado;
 
+    // Calculadas a partir de tipo, peso e idade sempre que um deles muda (ProbabilidadeAdocaoPetListener)
+    @Column(name = "nota_adocao")
+    private Integer notaAdocao;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "probabilidade_adocao")
+    private ProbabilidadeAdocao probabilidadeAdocao;
+
+    // Data a partir da qual a idade é contada; a cada ano completo o pet envelhece (EnvelhecimentoPetsService)
+    @Column(name = "idade_registrada_em")
+    private LocalDate idadeRegistradaEm;
+
+    @Transient
+    private boolean probabilidadeAdocaoDesatualizada;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "abrigo_id")
     private Abrigo abrigo;
@@ -31,8 +64,10 @@ public class Pet {
     @JoinColumn(name = "tutor_id")
     private Tutor tutor;
 
-    @OneToOne(mappedBy = "pet", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
-    private Adocao adocao;
+    // Incrementada a cada solicitação de adoção, para que duas solicitações simultâneas do mesmo pet não passem juntas
+    @Version
+    @ColumnDefault("0")
+    private Long versao;
 
     public Pet(){}
 
@@ -45,6 +80,45 @@ public class Pet {
         this.peso = dto.peso();
         this.abrigo = abrigo;
         this.adotado = false;
+        this.idadeRegistradaEm = LocalDate.now();
+        this.probabilidadeAdocaoDesatualizada = true;
+    }
+
+    // Soma à idade os anos completos desde que ela foi registrada; pets anteriores à coluna passam a contar de hoje
+    public boolean envelhecer(LocalDate hoje) {
+        if (idadeRegistradaEm == null) {
+            idadeRegistradaEm = hoje;
+            probabilidadeAdocaoDesatualizada = true;
+            return true;
+        }
+
+        long anos = ChronoUnit.YEARS.between(idadeRegistradaEm, hoje);
+        if (anos <= 0 || idade == null) {
+            return false;
+        }
+
+        idade += (int) anos;
+        idadeRegistradaEm = idadeRegistradaEm.plusYears(anos);
+        probabilidadeAdocaoDesatualizada = true;
+        return true;
+    }
+
+    // Pets gravados antes das colunas de probabilidade também são recalculados na primeira alteração
+    public boolean isProbabilidadeAdocaoDesatualizada() {
+        return probabilidadeAdocaoDesatualizada || probabilidadeAdocao == null;
+    }
+
+    public void atualizarProbabilidadeAdocao(int nota, ProbabilidadeAdocao probabilidade) {
+        this.notaAdocao = nota;
+        this.probabilidadeAdocao = probabilidade;
+        this.probabilidadeAdocaoDesatualizada = false;
+    }
+
+    // Pets gravados sem tipo, peso ou idade não têm nota e ficam fora da listagem de probabilidades
+    public void limparProbabilidadeAdocao() {
+        this.notaAdocao = null;
+        this.probabilidadeAdocao = null;
+        this.probabilidadeAdocaoDesatualizada = false;
     }
 
     @Override
@@ -108,25 +182,29 @@ public class Pet {
         this.tutor = tutor;
     }
 
-    public Adocao getAdocao() {
-        return adocao;
+    public Long getVersao() {
+        return versao;
     }
 
-    public void setAdocao(Adocao adocao) {
-        this.adocao = adocao;
+    public Integer getNotaAdocao() {
+        return notaAdocao;
     }
 
-    public void setAdotado(Boolean adotado) {
-        this.adotado = adotado;
+    public ProbabilidadeAdocao getProbabilidadeAdocao() {
+        return probabilidadeAdocao;
+    }
+
+    public LocalDate getIdadeRegistradaEm() {
+        return idadeRegistradaEm;
     }
 
-    // Método para verificar se o pet está disponível para adoção
-    public boolean disponivelParaAdocao() {
-        return !this.adotado && this.adocao == null;
+    public void setAdotado(Boolean adotado) {
+        this.adotado = adotado;
     }
 
 	public void setTipo(TipoPet tipo) {
 		this.tipo = tipo;
+		this.probabilidadeAdocaoDesatualizada = true;
 	}
 
 	public void setNome(String nome) {
@@ -139,6 +217,8 @@ public class Pet {
 
 	public void setIdade(Integer idade) {
 		this.idade = idade;
+		this.idadeRegistradaEm = LocalDate.now();
+		this.probabilidadeAdocaoDesatualizada = true;
 	}
 
 	public void setCor(String cor) {
@@ -147,6 +227,7 @@ public class Pet {
 
 	public void setPeso(Float peso) {
 		this.peso = peso;
+		this.probabilidadeAdocaoDesatualizada = true;
 	}
 
 	public void setAbrigo(Abrigo abrigo) {
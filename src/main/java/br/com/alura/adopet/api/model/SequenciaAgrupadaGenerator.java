@@ -0,0 +1,37 @@
+package br.com.alura.adopet.api.model;
+
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Gerador de ids por sequence com otimizador pooled: cada chamada à sequence reserva um bloco
+ * de ids, e os inserts de um mesmo bloco não precisam ir ao banco para obter o id, o que
+ * permite agrupá-los em lotes JDBC.
+ * <p>
+ * O tamanho do bloco vem de {@code spring.jpa.properties.adopet.ids.tamanho-alocacao} e precisa
+ * ser igual ao incremento das sequences já criadas no banco; ao mudá-lo, ajuste também as
+ * sequences com {@code ALTER SEQUENCE ... INCREMENT BY}.
+ */
+public class SequenciaAgrupadaGenerator extends SequenceStyleGenerator {
+
+    public static final String TAMANHO_ALOCACAO = "adopet.ids.tamanho-alocacao";
+
+    private static final int TAMANHO_ALOCACAO_PADRAO = 50;
+
+    @Override
+    public void configure(Type type, Properties parametros, ServiceRegistry serviceRegistry) throws MappingException {
+        int tamanhoAlocacao = serviceRegistry.getService(ConfigurationService.class)
+                .getSetting(TAMANHO_ALOCACAO, StandardConverters.INTEGER, TAMANHO_ALOCACAO_PADRAO);
+        if (tamanhoAlocacao < 1) {
+            throw new MappingException("Tamanho de alocação de ids deve ser maior que zero: " + tamanhoAlocacao);
+        }
+        parametros.setProperty(INCREMENT_PARAM, String.valueOf(tamanhoAlocacao));
+        super.configure(type, parametros, serviceRegistry);
+    }
+}
@@ -3,16 +3,23 @@ package br.com.alura.adopet.api.model;
 import br.com.alura.adopet.api.dto.AtualizacaoTutorDto;
 import br.com.alura.adopet.api.dto.CadastroTutorDto;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "tutores")
+@Table(name = "tutores", indexes = {
+        @Index(name = "idx_tutores_nome_id", columnList = "nome, id")
+})
 public class Tutor {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "tutores_seq")
+    @GenericGenerator(name = "tutores_seq", type = SequenciaAgrupadaGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "tutores_seq"))
     private Long id;
 
     private String nome;
@@ -1,10 +1,12 @@
 package br.com.alura.adopet.api.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import br.com.alura.adopet.api.dto.AbrigoDto;
 import br.com.alura.adopet.api.model.Abrigo;
 
 public interface AbrigoRepository extends JpaRepository<Abrigo, Long> {
@@ -12,6 +14,12 @@ public interface AbrigoRepository extends JpaRepository<Abrigo, Long> {
     @Query("SELECT a FROM Abrigo a WHERE a.nome = ?1")
     Optional<Abrigo> findByNome(String nome);
     
+    @Query("SELECT a.id FROM Abrigo a WHERE a.nome = ?1")
+    Optional<Long> findIdByNome(String nome);
+    
+    @Query("SELECT new br.com.alura.adopet.api.dto.AbrigoDto(a.id, a.nome, a.telefone, a.email) FROM Abrigo a")
+    List<AbrigoDto> buscarTodos();
+    
     @Query("SELECT COUNT(a) > 0 FROM Abrigo a WHERE a.nome = ?1 OR a.telefone = ?2 OR a.email = ?3")
     boolean existsByNomeOrTelefoneOrEmail(String nome, String telefone, String email);
 }
\ No newline at end of file
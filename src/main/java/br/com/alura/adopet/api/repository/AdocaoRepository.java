@@ -1,12 +1,19 @@
 package br.com.alura.adopet.api.repository;
 
+import br.com.alura.adopet.api.dto.AdocaoExportacaoDto;
 import br.com.alura.adopet.api.model.Adocao;
 import br.com.alura.adopet.api.model.StatusAdocao;
+import br.com.alura.adopet.api.validacoes.ContextoSolicitacaoAdocao;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface AdocaoRepository extends JpaRepository<Adocao, Long> {
     
@@ -17,10 +24,48 @@ public interface AdocaoRepository extends JpaRepository<Adocao, Long> {
     // Ou se preferir uma versão mais específica para adoções em andamento:
     @Query("SELECT COUNT(a) > 0 FROM Adocao a WHERE a.pet.id = :petId AND a.status = br.com.alura.adopet.api.model.StatusAdocao.AGUARDANDO_AVALIACAO")
     boolean existsByPetWithAdocaoEmAndamento(@Param("petId") Long petId);
+
+    // Consulta apoiada pelo índice (tutor_id, status), evitando carregar todas as adoções
+    @Query("SELECT COUNT(a) > 0 FROM Adocao a WHERE a.tutor.id = :tutorId AND a.status = :status")
+    boolean existsByTutorIdAndStatus(@Param("tutorId") Long tutorId, @Param("status") StatusAdocao status);
+
+    // Contagem agregada no banco, também coberta pelo índice (tutor_id, status)
+    @Query("SELECT COUNT(a) FROM Adocao a WHERE a.tutor.id = :tutorId AND a.status = :status")
+    long countByTutorIdAndStatus(@Param("tutorId") Long tutorId, @Param("status") StatusAdocao status);
     
+    // Carrega em uma única ida ao banco tudo o que as validações de solicitação precisam
+    @Query("""
+            SELECT new br.com.alura.adopet.api.validacoes.ContextoSolicitacaoAdocao(
+                p.adotado,
+                (SELECT COUNT(a) FROM Adocao a WHERE a.pet.id = p.id
+                    AND a.status = br.com.alura.adopet.api.model.StatusAdocao.AGUARDANDO_AVALIACAO),
+                (SELECT COUNT(a) FROM Adocao a WHERE a.tutor.id = :tutorId
+                    AND a.status = br.com.alura.adopet.api.model.StatusAdocao.AGUARDANDO_AVALIACAO),
+                (SELECT COUNT(a) FROM Adocao a WHERE a.tutor.id = :tutorId
+                    AND a.status = br.com.alura.adopet.api.model.StatusAdocao.APROVADO))
+            FROM Pet p
+            WHERE p.id = :petId
+            """)
+    Optional<ContextoSolicitacaoAdocao> carregarContextoSolicitacao(@Param("petId") Long petId, @Param("tutorId") Long tutorId);
+
+    // Aprovação e reprovação: a adoção vem junto com tutor, pet e abrigo, usados no e-mail, em um único SELECT
+    @Query("SELECT a FROM Adocao a JOIN FETCH a.tutor JOIN FETCH a.pet p JOIN FETCH p.abrigo WHERE a.id = :id")
+    Optional<Adocao> buscarParaAvaliacao(@Param("id") Long id);
+
+    // Cursor JDBC com fetch size fixo para a exportação; deve ser consumido dentro de uma transação
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new br.com.alura.adopet.api.dto.AdocaoExportacaoDto(
+                a.id, a.data, a.status, t.nome, p.nome, ab.nome, a.motivo, a.justificativaStatus)
+            FROM Adocao a
+            LEFT JOIN a.tutor t
+            LEFT JOIN a.pet p
+            LEFT JOIN p.abrigo ab
+            ORDER BY a.id
+            """)
+    Stream<AdocaoExportacaoDto> transmitirParaExportacao();
+
     // Métodos adicionais úteis
-    Optional<Adocao> findByPetId(Long petId);
-    
     @Query("SELECT a FROM Adocao a WHERE a.pet.id = :petId AND a.status = :status")
     Optional<Adocao> findByPetIdAndStatus(@Param("petId") Long petId, @Param("status") StatusAdocao status);
 }
\ No newline at end of file
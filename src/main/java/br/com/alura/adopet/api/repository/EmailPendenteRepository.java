@@ -0,0 +1,22 @@
+package br.com.alura.adopet.api.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.alura.adopet.api.model.EmailPendente;
+
+public interface EmailPendenteRepository extends JpaRepository<EmailPendente, Long> {
+
+    // SKIP LOCKED permite que várias instâncias da aplicação processem lotes diferentes em paralelo
+    @Query(value = """
+            SELECT * FROM emails_pendentes
+            WHERE tentativas < :maximoTentativas
+            ORDER BY id
+            LIMIT :limite
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EmailPendente> travarLoteParaEnvio(@Param("maximoTentativas") int maximoTentativas, @Param("limite") int limite);
+}
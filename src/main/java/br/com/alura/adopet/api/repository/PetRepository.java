@@ -1,14 +1,58 @@
 package br.com.alura.adopet.api.repository;
 
-import br.com.alura.adopet.api.model.Abrigo;
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.dto.ProbabilidadeAdocaoPetDto;
 import br.com.alura.adopet.api.model.Pet;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface PetRepository extends JpaRepository<Pet, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
-    List<Pet> findAllByAdotadoFalse();
+// Listagens filtradas por PetSpecifications ficam em PetRepositoryCustom
+public interface PetRepository extends JpaRepository<Pet, Long>, PetRepositoryCustom {
 
-    List<Pet> findByAbrigo(Abrigo abrigo);
+    // As consultas de listagem projetam direto no DTO: só as colunas usadas são lidas e nada entra no contexto de persistência.
+    // Em ordem de id, como as listagens filtradas, sobre o índice (adotado, id)
+    @Query("SELECT new br.com.alura.adopet.api.dto.PetDto(p.id, p.tipo, p.nome, p.raca, p.idade) FROM Pet p WHERE p.adotado = false ORDER BY p.id")
+    List<PetDto> buscarDisponiveis();
+
+    // Paginação por cursor (keyset) sobre o índice (adotado, id); o Pageable só limita, sem contagem
+    @Query("SELECT new br.com.alura.adopet.api.dto.PetDto(p.id, p.tipo, p.nome, p.raca, p.idade) FROM Pet p WHERE p.adotado = false AND p.id > :id ORDER BY p.id")
+    List<PetDto> buscarDisponiveisApos(@Param("id") Long id, Pageable limite);
+
+    // Cursor JDBC com fetch size fixo; deve ser consumido dentro de uma transação
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new br.com.alura.adopet.api.dto.PetDto(p.id, p.tipo, p.nome, p.raca, p.idade) FROM Pet p WHERE p.adotado = false ORDER BY p.id")
+    Stream<PetDto> transmitirDisponiveis();
+
+    @Query("SELECT new br.com.alura.adopet.api.dto.PetDto(p.id, p.tipo, p.nome, p.raca, p.idade) FROM Pet p WHERE p.abrigo.id = :abrigoId")
+    List<PetDto> buscarPorAbrigo(@Param("abrigoId") Long abrigoId);
+
+    // Notas gravadas no pet, sem ordenação (feita no ProbabilidadeAdocaoService); pets ainda sem nota aguardam o EnvelhecimentoPetsService
+    @Query("SELECT new br.com.alura.adopet.api.dto.ProbabilidadeAdocaoPetDto(p.id, p.nome, p.notaAdocao, p.probabilidadeAdocao) FROM Pet p WHERE p.adotado = false AND p.notaAdocao IS NOT NULL")
+    List<ProbabilidadeAdocaoPetDto> buscarProbabilidadesDisponiveis();
+
+    @Query("SELECT new br.com.alura.adopet.api.dto.ProbabilidadeAdocaoPetDto(p.id, p.nome, p.notaAdocao, p.probabilidadeAdocao) FROM Pet p WHERE p.adotado = false AND p.notaAdocao IS NOT NULL AND p.abrigo.id = :abrigoId")
+    List<ProbabilidadeAdocaoPetDto> buscarProbabilidadesDisponiveisPorAbrigo(@Param("abrigoId") Long abrigoId);
+
+    // Pets disponíveis que completaram um ano desde o registro da idade, ou gravados antes dessa coluna; keyset pelo id
+    @Query("SELECT p FROM Pet p WHERE p.adotado = false AND p.id > :id AND (p.idadeRegistradaEm IS NULL OR p.idadeRegistradaEm <= :limite) ORDER BY p.id")
+    List<Pet> buscarParaEnvelhecer(@Param("id") Long id, @Param("limite") LocalDate limite, Pageable lote);
+
+    // Solicitação de adoção: a versão do pet é incrementada no commit, e de duas solicitações simultâneas só uma é gravada.
+    // Sem JOIN FETCH: o modo de lock valeria também para o abrigo, que não tem versão
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT p FROM Pet p WHERE p.id = :id")
+    Optional<Pet> buscarParaSolicitacao(@Param("id") Long id);
 }
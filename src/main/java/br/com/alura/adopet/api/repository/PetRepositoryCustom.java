@@ -0,0 +1,17 @@
+package br.com.alura.adopet.api.repository;
+
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.model.Pet;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface PetRepositoryCustom {
+
+    // Pets que atendem ao filtro com id maior que aposId, em ordem de id, projetados no DTO; limite 0 traz todos
+    List<PetDto> buscarFiltrados(Specification<Pet> filtro, Long aposId, int limite);
+
+    // Cursor JDBC com fetch size fixo sobre os pets que atendem ao filtro, em ordem de id; deve ser consumido dentro de uma transação
+    Stream<PetDto> transmitirFiltrados(Specification<Pet> filtro);
+}
@@ -0,0 +1,56 @@
+package br.com.alura.adopet.api.repository;
+
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.model.Pet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Monta a consulta pela Criteria para projetar no DTO, como as consultas de listagem do PetRepository
+class PetRepositoryCustomImpl implements PetRepositoryCustom {
+
+    private static final int TAMANHO_FETCH_TRANSMISSAO = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PetDto> buscarFiltrados(Specification<Pet> filtro, Long aposId, int limite) {
+        TypedQuery<PetDto> query = montarConsulta(filtro, aposId);
+        if (limite > 0) {
+            query.setMaxResults(limite);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public Stream<PetDto> transmitirFiltrados(Specification<Pet> filtro) {
+        return montarConsulta(filtro, 0L)
+                .setHint(HINT_FETCH_SIZE, TAMANHO_FETCH_TRANSMISSAO)
+                .getResultStream();
+    }
+
+    private TypedQuery<PetDto> montarConsulta(Specification<Pet> filtro, Long aposId) {
+        CriteriaBuilder criteria = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PetDto> consulta = criteria.createQuery(PetDto.class);
+        Root<Pet> pet = consulta.from(Pet.class);
+
+        consulta.select(criteria.construct(PetDto.class,
+                        pet.get("id"), pet.get("tipo"), pet.get("nome"), pet.get("raca"), pet.get("idade")))
+                .where(criteria.and(
+                        filtro.toPredicate(pet, consulta, criteria),
+                        criteria.greaterThan(pet.get("id"), aposId)))
+                .orderBy(criteria.asc(pet.get("id")));
+
+        return entityManager.createQuery(consulta);
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.alura.adopet.api.repository;
+
+import br.com.alura.adopet.api.dto.FiltroPetsDto;
+import br.com.alura.adopet.api.model.Pet;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtros da listagem de pets disponíveis. Cada filtro informado vira um predicado; os ausentes
+ * são ignorados. Os índices de {@link Pet} começam por {@code adotado} e seguem as combinações
+ * mais comuns: tipo com faixa de idade, tipo com faixa de peso, raça, abrigo e probabilidade de
+ * adoção. Raça e cor são comparadas por igualdade exata, para usar o índice.
+ */
+public final class PetSpecifications {
+
+    private PetSpecifications() {
+    }
+
+    public static Specification<Pet> disponiveis(FiltroPetsDto filtro) {
+        return Specification.where(naoAdotado())
+                .and(igual("tipo", filtro.tipo()))
+                .and(entre("idade", filtro.idadeMinima(), filtro.idadeMaxima()))
+                .and(entre("peso", filtro.pesoMinimo(), filtro.pesoMaximo()))
+                .and(igual("raca", filtro.raca()))
+                .and(igual("cor", filtro.cor()))
+                .and(doAbrigo(filtro.abrigoId()))
+                .and(igual("probabilidadeAdocao", filtro.probabilidade()));
+    }
+
+    private static Specification<Pet> naoAdotado() {
+        return (pet, consulta, criteria) -> criteria.equal(pet.get("adotado"), false);
+    }
+
+    // Specification nula é ignorada no and
+    private static Specification<Pet> igual(String atributo, Object valor) {
+        if (valor == null) {
+            return null;
+        }
+        return (pet, consulta, criteria) -> criteria.equal(pet.get(atributo), valor);
+    }
+
+    private static <T extends Comparable<? super T>> Specification<Pet> entre(String atributo, T minimo, T maximo) {
+        if (minimo == null && maximo == null) {
+            return null;
+        }
+        return (pet, consulta, criteria) -> {
+            if (maximo == null) {
+                return criteria.greaterThanOrEqualTo(pet.get(atributo), minimo);
+            }
+            if (minimo == null) {
+                return criteria.lessThanOrEqualTo(pet.get(atributo), maximo);
+            }
+            return criteria.between(pet.get(atributo), minimo, maximo);
+        };
+    }
+
+    // Compara a chave estrangeira, sem join com abrigos
+    private static Specification<Pet> doAbrigo(Long abrigoId) {
+        if (abrigoId == null) {
+            return null;
+        }
+        return (pet, consulta, criteria) -> criteria.equal(pet.get("abrigo").get("id"), abrigoId);
+    }
+}
@@ -3,10 +3,12 @@ package br.com.alura.adopet.api.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import br.com.alura.adopet.api.dto.TutorDto;
 import br.com.alura.adopet.api.model.Tutor;
 
 public interface TutorRepository extends JpaRepository<Tutor, Long> {
@@ -17,11 +19,15 @@ public interface TutorRepository extends JpaRepository<Tutor, Long> {
     Optional<Tutor> findByTelefone(String telefone);
     Optional<Tutor> findByEmail(String email);
     
-    // Método customizado para paginação nativa no PostgreSQL
-    @Query(value = "SELECT * FROM tutores ORDER BY nome LIMIT :limit OFFSET :offset", 
-           nativeQuery = true)
-    List<Tutor> findAllWithPagination(@Param("offset") int offset, @Param("limit") int limit);
-    
+    // Listagem ordenada projetada direto no DTO; o Pageable define offset e limite, sem contagem
+    @Query("SELECT new br.com.alura.adopet.api.dto.TutorDto(t.id, t.nome, t.telefone, t.email) FROM Tutor t ORDER BY t.nome, t.id")
+    List<TutorDto> buscarOrdenadosPorNome(Pageable paginacao);
+
+    // Paginação por cursor (keyset) ordenada por (nome, id), apoiada pelo índice idx_tutores_nome_id
+    @Query("SELECT new br.com.alura.adopet.api.dto.TutorDto(t.id, t.nome, t.telefone, t.email) FROM Tutor t "
+            + "WHERE (t.nome, t.id) > (:nome, :id) ORDER BY t.nome, t.id")
+    List<TutorDto> buscarOrdenadosPorNomeApos(@Param("nome") String nome, @Param("id") Long id, Pageable limite);
+
     // Contagem total para paginação
     @Query(value = "SELECT COUNT(*) FROM tutores", nativeQuery = true)
     long countTotal();
@@ -23,12 +23,11 @@ public class AbrigoService {
     @Autowired
     private PetRepository petRepository;
 
+    @Autowired
+    private CacheLocal<String, Long> cacheIdsAbrigos;
+
     public List<AbrigoDto> listar() {
-        return abrigoRepository
-                .findAll()
-                .stream()
-                .map(AbrigoDto::new)
-                .toList();
+        return abrigoRepository.buscarTodos();
     }
 
     public AbrigoDto cadatrar(CadastroAbrigoDto dto) {
@@ -39,29 +38,41 @@ public class AbrigoService {
         }
 
         Abrigo abrigoSalvo = abrigoRepository.save(new Abrigo(dto));
+        cacheIdsAbrigos.invalidarAposCommit();
         return new AbrigoDto(abrigoSalvo);
     }
 
     public List<PetDto> listarPetsDoAbrigo(String idOuNome) {
-        Abrigo abrigo = carregarAbrigo(idOuNome);
-
-        return petRepository
-                .findByAbrigo(abrigo)
-                .stream()
-                .map(PetDto::new)
-                .toList();
+        return petRepository.buscarPorAbrigo(resolverId(idOuNome));
     }
 
+    // Devolve uma referência: os dados do abrigo só são lidos do banco se algum campo além do id for acessado
     public Abrigo carregarAbrigo(String idOuNome) {
-        Optional<Abrigo> optional;
-        try {
-            Long id = Long.parseLong(idOuNome);
-            optional = abrigoRepository.findById(id);
-        } catch (NumberFormatException exception) {
-            optional = abrigoRepository.findByNome(idOuNome);
-        }
+        return abrigoRepository.getReferenceById(resolverId(idOuNome));
+    }
 
-        return optional.orElseThrow(() -> new ValidacaoException("Abrigo não encontrado"));
+    private Long resolverId(String idOuNome) {
+        return cacheIdsAbrigos.buscar(idOuNome, () -> {
+            Long id = converterParaId(idOuNome);
+            Optional<Long> encontrado = id != null
+                    ? Optional.of(id).filter(abrigoRepository::existsById)
+                    : abrigoRepository.findIdByNome(idOuNome);
+            return encontrado.orElseThrow(() -> new ValidacaoException("Abrigo não encontrado"));
+        });
+    }
+
+    // Equivalente a Long.parseLong para ids positivos, mas sem lançar exceção quando o valor é um nome
+    private static Long converterParaId(String valor) {
+        if (valor.isEmpty() || valor.length() > 18) {
+            return null;
+        }
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+        }
+        return Long.parseLong(valor);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,123 @@
+package br.com.alura.adopet.api.service;
+
+import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Porta de entrada das solicitações de adoção: serializa, dentro desta instância da aplicação,
+ * as solicitações para o mesmo pet ou para o mesmo tutor, enquanto pets e tutores diferentes
+ * seguem em paralelo.
+ * <p>
+ * Os locks são distribuídos em listras pelo id: cada pet (e cada tutor) cai sempre na mesma
+ * listra, e ids diferentes só disputam o mesmo lock quando caem na mesma listra. O lock do pet é
+ * sempre obtido antes do lock do tutor, o que impede deadlock entre solicitações. A transação do
+ * {@link AdocaoService#solicitar} abre depois dos locks e termina antes de liberá-los, então as
+ * validações enxergam tudo o que a solicitação anterior gravou e a espera não segura conexão com
+ * o banco. Entre instâncias diferentes quem garante a regra continua sendo o banco (versão do pet
+ * e índice {@code idx_adocoes_pet_em_andamento}).
+ */
+@Service
+public class AdmissaoSolicitacoesAdocao {
+
+    private final AdocaoService adocaoService;
+    private final TransactionOperations transacao;
+    private final ReentrantLock[] locksPets;
+    private final ReentrantLock[] locksTutores;
+    private final int mascara;
+    private final long esperaMaximaNanos;
+
+    private final Timer esperaPetObtida;
+    private final Timer esperaPetExpirada;
+    private final Timer esperaTutorObtida;
+    private final Timer esperaTutorExpirada;
+
+    public AdmissaoSolicitacoesAdocao(
+            AdocaoService adocaoService,
+            TransactionOperations transacao,
+            MeterRegistry meterRegistry,
+            @Value("${adopet.adocao.admissao.listras:1024}") int listras,
+            @Value("${adopet.adocao.admissao.espera-maxima-ms:5000}") long esperaMaximaMs) {
+        if (listras < 1 || Integer.bitCount(listras) != 1) {
+            throw new IllegalArgumentException("Número de listras deve ser uma potência de 2: " + listras);
+        }
+        this.adocaoService = adocaoService;
+        this.transacao = transacao;
+        this.locksPets = criarLocks(listras);
+        this.locksTutores = criarLocks(listras);
+        this.mascara = listras - 1;
+        this.esperaMaximaNanos = TimeUnit.MILLISECONDS.toNanos(esperaMaximaMs);
+
+        this.esperaPetObtida = timerEspera(meterRegistry, "pet", "obtida");
+        this.esperaPetExpirada = timerEspera(meterRegistry, "pet", "expirada");
+        this.esperaTutorObtida = timerEspera(meterRegistry, "tutor", "obtida");
+        this.esperaTutorExpirada = timerEspera(meterRegistry, "tutor", "expirada");
+    }
+
+    public void solicitar(SolicitacaoAdocaoDto dto) {
+        executar(dto.idPet(), dto.idTutor(), () -> transacao.executeWithoutResult(status -> adocaoService.solicitar(dto)));
+    }
+
+    // Roda a ação com os locks do pet e do tutor; separado de solicitar para o benchmark de disputa
+    public void executar(Long idPet, Long idTutor, Runnable acao) {
+        ReentrantLock lockPet = locksPets[listra(idPet)];
+        adquirir(lockPet, esperaPetObtida, esperaPetExpirada, "o pet " + idPet);
+        try {
+            ReentrantLock lockTutor = locksTutores[listra(idTutor)];
+            adquirir(lockTutor, esperaTutorObtida, esperaTutorExpirada, "o tutor " + idTutor);
+            try {
+                acao.run();
+            } finally {
+                lockTutor.unlock();
+            }
+        } finally {
+            lockPet.unlock();
+        }
+    }
+
+    // Os ids vêm de sequences: ids próximos, que costumam ser disputados juntos, caem em listras diferentes
+    int listra(Long id) {
+        return Long.hashCode(id) & mascara;
+    }
+
+    private void adquirir(ReentrantLock lock, Timer obtida, Timer expirada, String alvo) {
+        long inicio = System.nanoTime();
+        boolean adquirido;
+        try {
+            adquirido = lock.tryLock(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            expirada.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw new CannotAcquireLockException("Solicitação interrompida aguardando outra solicitação para " + alvo, exception);
+        }
+        long espera = System.nanoTime() - inicio;
+        if (!adquirido) {
+            expirada.record(espera, TimeUnit.NANOSECONDS);
+            throw new CannotAcquireLockException("Tempo esgotado aguardando outra solicitação para " + alvo);
+        }
+        obtida.record(espera, TimeUnit.NANOSECONDS);
+    }
+
+    private static ReentrantLock[] criarLocks(int listras) {
+        ReentrantLock[] locks = new ReentrantLock[listras];
+        for (int i = 0; i < listras; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    private static Timer timerEspera(MeterRegistry meterRegistry, String trava, String resultado) {
+        return Timer.builder("adopet.adocao.admissao.espera")
+                .description("Tempo de espera pelo lock do pet ou do tutor antes de processar a solicitação de adoção")
+                .tag("trava", trava)
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
@@ -3,18 +3,25 @@ package br.com.alura.adopet.api.service;
 import br.com.alura.adopet.api.dto.AprovacaoAdocaoDto;
 import br.com.alura.adopet.api.dto.ReprovacaoAdocaoDto;
 import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.Adocao;
+import br.com.alura.adopet.api.model.EmailPendente;
 import br.com.alura.adopet.api.model.Pet;
 import br.com.alura.adopet.api.model.Tutor;
 import br.com.alura.adopet.api.repository.AdocaoRepository;
+import br.com.alura.adopet.api.repository.EmailPendenteRepository;
 import br.com.alura.adopet.api.repository.PetRepository;
 import br.com.alura.adopet.api.repository.TutorRepository;
+import br.com.alura.adopet.api.validacoes.ContextoSolicitacaoAdocao;
 import br.com.alura.adopet.api.validacoes.ValidacaoSolicitacaoAdocao;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
 
-import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class AdocaoService {
@@ -29,44 +36,90 @@ public class AdocaoService {
     private TutorRepository tutorRepository;
 
     @Autowired
-    private EmailService emailService;
+    private EmailPendenteRepository emailPendenteRepository;
 
     @Autowired
     private List<ValidacaoSolicitacaoAdocao> validacoes;
 
+    @Autowired
+    private PetService petService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TemplatesEmailAdocao templatesEmail;
+
     public void solicitar(SolicitacaoAdocaoDto dto) {
-        Pet pet = petRepository.getReferenceById(dto.idPet());
+        Pet pet = petRepository.buscarParaSolicitacao(dto.idPet())
+                .orElseThrow(() -> new ValidacaoException("Pet não encontrado!"));
         Tutor tutor = tutorRepository.getReferenceById(dto.idTutor());
 
-        validacoes.forEach(v -> v.validar(dto));
+        ContextoSolicitacaoAdocao contexto = repository
+                .carregarContextoSolicitacao(dto.idPet(), dto.idTutor())
+                .orElseThrow(() -> new ValidacaoException("Pet não encontrado!"));
+        validacoes.forEach(v -> validar(v, dto, contexto));
 
         Adocao adocao = new Adocao(tutor, pet, dto.motivo());
         repository.save(adocao);
 
-        emailService.enviarEmail(
+        registrarEmail(
                 adocao.getPet().getAbrigo().getEmail(),
                 "Solicitação de adoção",
-                "Olá " +adocao.getPet().getAbrigo().getNome() +"!\n\nUma solicitação de adoção foi registrada hoje para o pet: " +adocao.getPet().getNome() +". \nFavor avaliar para aprovação ou reprovação.");
+                templatesEmail.solicitacao(adocao.getPet().getAbrigo().getNome(), adocao.getPet().getNome()));
     }
 
     public void aprovar(AprovacaoAdocaoDto dto) {
-        Adocao adocao = repository.getReferenceById(dto.idAdocao());
+        Adocao adocao = buscarParaAvaliacao(dto.idAdocao());
         adocao.marcarComoAprovada();
+        petService.invalidarPetsDisponiveis();
 
-        emailService.enviarEmail(
+        registrarEmail(
                 adocao.getPet().getAbrigo().getEmail(),
                 "Adoção aprovada",
-                "Parabéns " +adocao.getTutor().getNome() +"!\n\nSua adoção do pet " +adocao.getPet().getNome() +", solicitada em " +adocao.getData().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")) +", foi aprovada.\nFavor entrar em contato com o abrigo " +adocao.getPet().getAbrigo().getNome() +" para agendar a busca do seu pet.");
+                templatesEmail.aprovacao(adocao.getTutor().getNome(), adocao.getPet().getNome(), adocao.getData(), adocao.getPet().getAbrigo().getNome()));
     }
 
     public void reprovar(ReprovacaoAdocaoDto dto) {
-        Adocao adocao = repository.getReferenceById(dto.idAdocao());
+        Adocao adocao = buscarParaAvaliacao(dto.idAdocao());
         adocao.marcarComoReprovada(dto.justificativa());
 
-        emailService.enviarEmail(
+        registrarEmail(
                 adocao.getPet().getAbrigo().getEmail(),
                 "Solicitação de adoção",
-                "Olá " +adocao.getTutor().getNome() +"!\n\nInfelizmente sua adoção do pet " +adocao.getPet().getNome() +", solicitada em " +adocao.getData().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")) +", foi reprovada pelo abrigo " +adocao.getPet().getAbrigo().getNome() +" com a seguinte justificativa: " +adocao.getJustificativaStatus());
+                templatesEmail.reprovacao(adocao.getTutor().getNome(), adocao.getPet().getNome(), adocao.getData(), adocao.getPet().getAbrigo().getNome(), adocao.getJustificativaStatus()));
+    }
+
+    private Adocao buscarParaAvaliacao(Long idAdocao) {
+        return repository.buscarParaAvaliacao(idAdocao)
+                .orElseThrow(() -> new ValidacaoException("Adoção não encontrada!"));
+    }
+
+    // Tempo de cada validação e motivo das rejeições, para saber qual delas pesa na solicitação
+    private void validar(ValidacaoSolicitacaoAdocao validacao, SolicitacaoAdocaoDto dto, ContextoSolicitacaoAdocao contexto) {
+        String nome = ClassUtils.getUserClass(validacao).getSimpleName();
+        String resultado = "erro";
+        long inicio = System.nanoTime();
+        try {
+            validacao.validar(dto, contexto);
+            resultado = "aprovada";
+        } catch (ValidacaoException exception) {
+            resultado = "rejeitada";
+            meterRegistry.counter("adopet.adocao.validacao.rejeicoes", "validacao", nome, "motivo", exception.getMessage()).increment();
+            throw exception;
+        } finally {
+            Timer.builder("adopet.adocao.validacao")
+                    .description("Tempo de cada validação da solicitação de adoção")
+                    .tag("validacao", nome)
+                    .tag("resultado", resultado)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Gravado na mesma transação da adoção; o envio fica a cargo do EnvioEmailsPendentesService
+    private void registrarEmail(String destinatario, String assunto, String mensagem) {
+        emailPendenteRepository.save(new EmailPendente(destinatario, assunto, mensagem));
     }
 
 }
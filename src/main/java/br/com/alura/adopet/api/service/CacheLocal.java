@@ -0,0 +1,115 @@
+package br.com.alura.adopet.api.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória com tempo de vida e tamanho máximo.
+ * <p>
+ * Ao atingir o tamanho máximo, a entrada usada há mais tempo é removida. O carregamento de um
+ * valor ausente roda fora do lock; se o cache for invalidado enquanto isso, o valor carregado é
+ * devolvido a quem pediu mas não é guardado, para não reinserir dados anteriores à escrita.
+ */
+public class CacheLocal<K, V> {
+
+    private final long tempoDeVidaNanos;
+    private final int tamanhoMaximo;
+    private final LongSupplier relogio;
+    private final Map<K, Entrada<V>> entradas = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong remocoes = new AtomicLong();
+    private final AtomicLong invalidacoes = new AtomicLong();
+
+    private long geracao;
+
+    public CacheLocal(Duration tempoDeVida, int tamanhoMaximo) {
+        this(tempoDeVida, tamanhoMaximo, System::nanoTime);
+    }
+
+    CacheLocal(Duration tempoDeVida, int tamanhoMaximo, LongSupplier relogio) {
+        if (tamanhoMaximo < 1) {
+            throw new IllegalArgumentException("Tamanho máximo do cache deve ser maior que zero");
+        }
+        this.tempoDeVidaNanos = tempoDeVida.toNanos();
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.relogio = relogio;
+    }
+
+    public V buscar(K chave, Supplier<V> carregador) {
+        long geracaoDaLeitura;
+        synchronized (this) {
+            Entrada<V> entrada = entradas.get(chave);
+            if (entrada != null) {
+                if (relogio.getAsLong() < entrada.expiraEm()) {
+                    acertos.incrementAndGet();
+                    return entrada.valor();
+                }
+                entradas.remove(chave);
+                remocoes.incrementAndGet();
+            }
+            geracaoDaLeitura = geracao;
+        }
+
+        falhas.incrementAndGet();
+        V valor = carregador.get();
+
+        synchronized (this) {
+            if (geracaoDaLeitura == geracao) {
+                entradas.put(chave, new Entrada<>(valor, relogio.getAsLong() + tempoDeVidaNanos));
+                removerExcedentes();
+            }
+        }
+        return valor;
+    }
+
+    public synchronized void invalidar() {
+        geracao++;
+        entradas.clear();
+        invalidacoes.incrementAndGet();
+    }
+
+    /**
+     * Invalida agora e, se houver transação ativa, de novo após o commit, descartando o que
+     * outras requisições tenham carregado antes da escrita ficar visível.
+     */
+    public void invalidarAposCommit() {
+        invalidar();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidar();
+                }
+            });
+        }
+    }
+
+    public synchronized EstatisticasCache estatisticas() {
+        return new EstatisticasCache(acertos.get(), falhas.get(), remocoes.get(), invalidacoes.get(), entradas.size());
+    }
+
+    private void removerExcedentes() {
+        Iterator<Entrada<V>> iterador = entradas.values().iterator();
+        while (entradas.size() > tamanhoMaximo && iterador.hasNext()) {
+            iterador.next();
+            iterador.remove();
+            remocoes.incrementAndGet();
+        }
+    }
+
+    private record Entrada<V>(V valor, long expiraEm) {
+    }
+
+    public record EstatisticasCache(long acertos, long falhas, long remocoes, long invalidacoes, int tamanho) {
+    }
+}
@@ -3,12 +3,66 @@ package br.com.alura.adopet.api.service;
 import br.com.alura.adopet.api.model.Pet;
 import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
 import br.com.alura.adopet.api.model.TipoPet;
+import org.springframework.stereotype.Component;
 
+import java.util.List;
+
+/**
+ * Nota de 0 a 10 e probabilidade de adoção de um pet a partir do tipo, do peso e da idade.
+ * <p>
+ * As regras ficam em {@link #PENALIDADES_PESO} e {@link #PENALIDADES_IDADE} e são compiladas no
+ * construtor em uma tabela indexada por tipo, peso em kg inteiros e idade em anos inteiros. Peso e
+ * idade são limitados ao primeiro valor após o maior limite das regras, a partir do qual a nota
+ * não muda mais, então a tabela tem poucas centenas de posições. Cada cálculo é um acesso a array,
+ * sem desvios por regra nem alocação.
+ */
+@Component
 public class CalculadoraProbabilidadeAdocao {
 
+    private static final int NOTA_MAXIMA = 10;
+
+    // Penalidade quando o peso, truncado para kg inteiros, passa do limite do tipo
+    private static final List<PenalidadePeso> PENALIDADES_PESO = List.of(
+            new PenalidadePeso(TipoPet.CACHORRO, 15, 2),
+            new PenalidadePeso(TipoPet.GATO, 10, 2));
+
+    // Vale só a penalidade do maior limite de idade alcançado
+    private static final List<PenalidadeIdade> PENALIDADES_IDADE = List.of(
+            new PenalidadeIdade(10, 4),
+            new PenalidadeIdade(15, 5));
+
+    // Pets sem tipo ocupam a última linha da tabela
+    private static final int LINHA_SEM_TIPO = TipoPet.values().length;
+
+    private final int pesos;
+    private final int idades;
+    private final byte[] notas;
+    private final ProbabilidadeAdocao[] probabilidades;
+
+    public CalculadoraProbabilidadeAdocao() {
+        pesos = PENALIDADES_PESO.stream().mapToInt(PenalidadePeso::acimaDe).max().orElse(0) + 2;
+        idades = PENALIDADES_IDADE.stream().mapToInt(PenalidadeIdade::aPartirDe).max().orElse(0) + 1;
+        notas = new byte[(LINHA_SEM_TIPO + 1) * pesos * idades];
+        probabilidades = new ProbabilidadeAdocao[notas.length];
+
+        for (int linha = 0; linha <= LINHA_SEM_TIPO; linha++) {
+            TipoPet tipo = linha == LINHA_SEM_TIPO ? null : TipoPet.values()[linha];
+            for (int peso = 0; peso < pesos; peso++) {
+                for (int idade = 0; idade < idades; idade++) {
+                    int indice = (linha * pesos + peso) * idades + idade;
+                    int nota = aplicarRegras(tipo, peso, idade);
+                    notas[indice] = (byte) nota;
+                    probabilidades[indice] = classificar(nota);
+                }
+            }
+        }
+    }
+
     public ProbabilidadeAdocao calcular(Pet pet) {
-        int nota = calcularNota(pet);
+        return probabilidades[indice(pet.getTipo(), pet.getPeso(), pet.getIdade())];
+    }
 
+    public ProbabilidadeAdocao classificar(int nota) {
         if (nota >= 8) {
             return ProbabilidadeAdocao.ALTA;
         }
@@ -20,29 +74,44 @@ public class CalculadoraProbabilidadeAdocao {
         return ProbabilidadeAdocao.BAIXA;
     }
 
-    private int calcularNota(Pet pet) {
-        int peso = pet.getPeso().intValue();
-        int idade = pet.getIdade();
-        TipoPet tipo = pet.getTipo();
+    // Recebe as características soltas para servir também às projeções, sem carregar a entidade
+    public int calcularNota(TipoPet tipo, float peso, int idade) {
+        return notas[indice(tipo, peso, idade)];
+    }
 
-        int nota = 10;
+    private int indice(TipoPet tipo, float peso, int idade) {
+        int linha = tipo == null ? LINHA_SEM_TIPO : tipo.ordinal();
+        int pesoLimitado = Math.min(Math.max((int) peso, 0), pesos - 1);
+        int idadeLimitada = Math.min(Math.max(idade, 0), idades - 1);
+        return (linha * pesos + pesoLimitado) * idades + idadeLimitada;
+    }
 
-        // penalizando pelo peso muito alto
-        if (tipo == TipoPet.CACHORRO && peso > 15) {
-            nota -= 2;
-        }
-        if (tipo == TipoPet.GATO && peso > 10) {
-            nota -= 2;
+    // Usado só para montar a tabela
+    private static int aplicarRegras(TipoPet tipo, int peso, int idade) {
+        int nota = NOTA_MAXIMA;
+
+        for (PenalidadePeso regra : PENALIDADES_PESO) {
+            if (regra.tipo() == tipo && peso > regra.acimaDe()) {
+                nota -= regra.penalidade();
+            }
         }
 
-        // penalizando pela idade avançada
-        if (idade >= 15) {
-            nota -= 5;
-        }else if (idade >= 10) {
-            nota -= 4;
+        PenalidadeIdade maiorAlcancada = null;
+        for (PenalidadeIdade regra : PENALIDADES_IDADE) {
+            if (idade >= regra.aPartirDe() && (maiorAlcancada == null || regra.aPartirDe() > maiorAlcancada.aPartirDe())) {
+                maiorAlcancada = regra;
+            }
+        }
+        if (maiorAlcancada != null) {
+            nota -= maiorAlcancada.penalidade();
         }
 
         return nota;
     }
 
+    private record PenalidadePeso(TipoPet tipo, int acimaDe, int penalidade) {
+    }
+
+    private record PenalidadeIdade(int aPartirDe, int penalidade) {
+    }
 }
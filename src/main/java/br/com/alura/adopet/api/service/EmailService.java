@@ -1,7 +1,13 @@
 package br.com.alura.adopet.api.service;
 
+import org.springframework.mail.SimpleMailMessage;
+
 public interface EmailService {
 
     void enviarEmail(String to, String subject, String message);
 
+    // Envia as mensagens em uma única conexão com o servidor de e-mail. Se alguma for recusada, lança
+    // MailSendException; getFailedMessages() traz as recusadas quando o servidor informa quais foram
+    void enviarEmails(SimpleMailMessage... emails);
+
 }
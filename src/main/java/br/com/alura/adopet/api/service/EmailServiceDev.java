@@ -1,6 +1,7 @@
 package br.com.alura.adopet.api.service;
 
 import org.springframework.context.annotation.Profile;
+import org.springframework.mail.SimpleMailMessage;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -14,4 +15,10 @@ public class EmailServiceDev implements EmailService {
         System.out.println("Mensagem: " +message);
     }
 
+    public void enviarEmails(SimpleMailMessage... emails) {
+        for (SimpleMailMessage email : emails) {
+            enviarEmail(email.getTo()[0], email.getSubject(), email.getText());
+        }
+    }
+
 }
@@ -10,16 +10,25 @@ import org.springframework.stereotype.Service;
 @Profile("producao")
 public class EmailServiceProducao implements EmailService {
 
+    private static final String REMETENTE = "adopet@email.com.br";
+
     @Autowired
     private JavaMailSender emailSender;
 
     public void enviarEmail(String to, String subject, String message) {
         SimpleMailMessage email = new SimpleMailMessage();
-        email.setFrom("adopet@email.com.br");
+        email.setFrom(REMETENTE);
         email.setTo(to);
         email.setSubject(subject);
         email.setText(message);
         emailSender.send(email);
     }
 
+    public void enviarEmails(SimpleMailMessage... emails) {
+        for (SimpleMailMessage email : emails) {
+            email.setFrom(REMETENTE);
+        }
+        emailSender.send(emails);
+    }
+
 }
@@ -0,0 +1,88 @@
+package br.com.alura.adopet.api.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.repository.PetRepository;
+
+/**
+ * Envelhece os pets disponíveis: a cada ano completo desde o registro da idade, soma um ano à
+ * idade, e o {@link ProbabilidadeAdocaoPetListener} recalcula a nota e a probabilidade de adoção
+ * no flush. Pets gravados antes da coluna {@code idade_registrada_em} passam a contar a partir da
+ * primeira execução e têm a probabilidade calculada nela.
+ * <p>
+ * Cada lote roda em uma transação própria. Se um pet do lote tiver sido alterado por outra
+ * transação no meio do caminho, o lote é desfeito pela versão do pet e a execução para; a
+ * próxima execução o encontra de novo.
+ */
+@Service
+public class EnvelhecimentoPetsService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EnvelhecimentoPetsService.class);
+
+    @Autowired
+    private PetRepository repository;
+
+    @Autowired
+    private PetService petService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${adopet.probabilidade-adocao.envelhecimento.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Scheduled(fixedDelayString = "${adopet.probabilidade-adocao.envelhecimento.intervalo-ms:3600000}")
+    public void envelhecerPets() {
+        envelhecerPets(LocalDate.now());
+    }
+
+    public int envelhecerPets(LocalDate hoje) {
+        LocalDate limite = hoje.minusYears(1);
+        int envelhecidos = 0;
+        Long ultimoId = 0L;
+        try {
+            while (ultimoId != null) {
+                Long apos = ultimoId;
+                Lote lote = transactionTemplate.execute(status -> envelhecerLote(apos, limite, hoje));
+                envelhecidos += lote.envelhecidos();
+                ultimoId = lote.ultimoId();
+            }
+        } catch (OptimisticLockingFailureException exception) {
+            LOGGER.warn("Envelhecimento de pets interrompido após o pet {}: {}", ultimoId, exception.getMessage());
+        }
+
+        if (envelhecidos > 0) {
+            petService.invalidarPetsDisponiveis();
+            LOGGER.info("{} pets envelhecidos", envelhecidos);
+        }
+        return envelhecidos;
+    }
+
+    // Devolve o último id lido, ou null quando não há mais pets a envelhecer
+    private Lote envelhecerLote(Long apos, LocalDate limite, LocalDate hoje) {
+        List<Pet> pets = repository.buscarParaEnvelhecer(apos, limite, PageRequest.of(0, tamanhoLote));
+        int envelhecidos = 0;
+        for (Pet pet : pets) {
+            if (pet.envelhecer(hoje)) {
+                envelhecidos++;
+            }
+        }
+        Long ultimoId = pets.size() < tamanhoLote ? null : pets.get(pets.size() - 1).getId();
+        return new Lote(envelhecidos, ultimoId);
+    }
+
+    private record Lote(int envelhecidos, Long ultimoId) {
+    }
+}
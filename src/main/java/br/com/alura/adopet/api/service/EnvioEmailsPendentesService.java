@@ -0,0 +1,122 @@
+package br.com.alura.adopet.api.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ClassUtils;
+
+import br.com.alura.adopet.api.model.EmailPendente;
+import br.com.alura.adopet.api.repository.EmailPendenteRepository;
+
+/**
+ * Repassa ao {@link EmailService} os e-mails gravados na tabela de saída junto com a mudança
+ * de estado da adoção. Cada execução trava um lote com {@code SKIP LOCKED} e o entrega em uma
+ * única chamada, que usa uma só conexão com o servidor de e-mail enquanto as linhas estão travadas.
+ * <p>
+ * Só são removidas as linhas cujas mensagens o servidor aceitou. As recusadas, informadas por
+ * {@link MailSendException#getFailedMessages()}, contabilizam a falha para uma nova tentativa; se
+ * o servidor não informar quais foram recusadas, a falha vale para o lote inteiro.
+ */
+@Service
+@ConditionalOnProperty(name = "adopet.outbox.habilitado", havingValue = "true", matchIfMissing = true)
+public class EnvioEmailsPendentesService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EnvioEmailsPendentesService.class);
+
+    @Autowired
+    private EmailPendenteRepository repository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${adopet.outbox.tamanho-lote:100}")
+    private int tamanhoLote;
+
+    @Value("${adopet.outbox.maximo-tentativas:5}")
+    private int maximoTentativas;
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${adopet.outbox.intervalo-ms:5000}")
+    public int enviarPendentes() {
+        List<EmailPendente> lote = repository.travarLoteParaEnvio(maximoTentativas, tamanhoLote);
+
+        if (lote.isEmpty()) {
+            return 0;
+        }
+
+        List<SimpleMailMessage> mensagens = new ArrayList<>(lote.size());
+        for (EmailPendente email : lote) {
+            SimpleMailMessage mensagem = new SimpleMailMessage();
+            mensagem.setTo(email.getDestinatario());
+            mensagem.setSubject(email.getAssunto());
+            mensagem.setText(email.getMensagem());
+            mensagens.add(mensagem);
+        }
+
+        // As recusadas são comparadas por identidade: mensagens iguais de linhas diferentes não se confundem
+        Set<Object> recusadas = Collections.newSetFromMap(new IdentityHashMap<>());
+        Map<Object, Exception> falhas = Map.of();
+        RuntimeException falhaDoLote = null;
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        try {
+            emailService.enviarEmails(mensagens.toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException exception) {
+            falhas = exception.getFailedMessages();
+            recusadas.addAll(falhas.keySet());
+            if (recusadas.isEmpty()) {
+                falhaDoLote = exception;
+            }
+        } catch (RuntimeException exception) {
+            falhaDoLote = exception;
+        }
+        if (falhaDoLote != null) {
+            recusadas.addAll(mensagens);
+        }
+        amostra.stop(timerEnvio(recusadas.isEmpty() ? "sucesso" : recusadas.size() < lote.size() ? "parcial" : "falha"));
+
+        int enviados = 0;
+        for (int i = 0; i < lote.size(); i++) {
+            EmailPendente email = lote.get(i);
+            SimpleMailMessage mensagem = mensagens.get(i);
+            if (!recusadas.contains(mensagem)) {
+                repository.delete(email);
+                enviados++;
+                continue;
+            }
+            Exception falha = falhaDoLote != null ? falhaDoLote : falhas.get(mensagem);
+            email.registrarFalha(falha.getMessage());
+            LOGGER.warn("Falha ao enviar e-mail pendente {} (tentativa {}): {}",
+                    email.getId(), email.getTentativas(), falha.getMessage());
+        }
+
+        return enviados;
+    }
+
+    private Timer timerEnvio(String resultado) {
+        return Timer.builder("adopet.email.envio")
+                .description("Tempo de cada envio de lote ao EmailService")
+                .tag("implementacao", ClassUtils.getUserClass(emailService).getSimpleName())
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+}
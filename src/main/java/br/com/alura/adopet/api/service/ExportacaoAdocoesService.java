@@ -0,0 +1,144 @@
+package br.com.alura.adopet.api.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.alura.adopet.api.dto.AdocaoExportacaoDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
+import br.com.alura.adopet.api.repository.AdocaoRepository;
+
+/**
+ * Exportação de todas as adoções, com os nomes de tutor, pet e abrigo, em CSV ou NDJSON.
+ * <p>
+ * As linhas são lidas por um cursor do banco e escritas à medida que chegam, com a saída
+ * descarregada a cada {@value #LINHAS_POR_DESCARGA} linhas; nada é materializado em memória.
+ */
+@Service
+public class ExportacaoAdocoesService {
+
+    private static final int LINHAS_POR_DESCARGA = 1000;
+
+    private static final String CABECALHO_CSV = "id,data,status,tutor,pet,abrigo,motivo,justificativa";
+
+    @Autowired
+    private AdocaoRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public enum Formato {
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON(MediaType.APPLICATION_NDJSON);
+
+        private final MediaType tipoConteudo;
+
+        Formato(MediaType tipoConteudo) {
+            this.tipoConteudo = tipoConteudo;
+        }
+
+        public MediaType getTipoConteudo() {
+            return tipoConteudo;
+        }
+
+        public String getExtensao() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Formato de(String formato) {
+            for (Formato valor : values()) {
+                if (valor.name().equalsIgnoreCase(formato)) {
+                    return valor;
+                }
+            }
+            throw new ValidacaoException("Formato de exportação inválido: " + formato + "! Use csv ou ndjson.");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportar(Formato formato, OutputStream saida) throws IOException {
+        try (Stream<AdocaoExportacaoDto> adocoes = repository.transmitirParaExportacao()) {
+            if (formato == Formato.CSV) {
+                escreverCsv(adocoes.iterator(), saida);
+            } else {
+                escreverNdjson(adocoes.iterator(), saida);
+            }
+        }
+    }
+
+    private void escreverCsv(Iterator<AdocaoExportacaoDto> adocoes, OutputStream saida) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        escritor.write(CABECALHO_CSV);
+        escritor.write("\r\n");
+        int linhas = 0;
+        while (adocoes.hasNext()) {
+            AdocaoExportacaoDto adocao = adocoes.next();
+            escritor.write(String.valueOf(adocao.id()));
+            escritor.write(',');
+            escritor.write(adocao.data() == null ? "" : adocao.data().toString());
+            escritor.write(',');
+            escritor.write(adocao.status() == null ? "" : adocao.status().name());
+            escritor.write(',');
+            escreverCampoCsv(escritor, adocao.tutor());
+            escritor.write(',');
+            escreverCampoCsv(escritor, adocao.pet());
+            escritor.write(',');
+            escreverCampoCsv(escritor, adocao.abrigo());
+            escritor.write(',');
+            escreverCampoCsv(escritor, adocao.motivo());
+            escritor.write(',');
+            escreverCampoCsv(escritor, adocao.justificativaStatus());
+            escritor.write("\r\n");
+            if (++linhas % LINHAS_POR_DESCARGA == 0) {
+                escritor.flush();
+            }
+        }
+        escritor.flush();
+    }
+
+    // Aspas apenas quando necessário (RFC 4180), duplicando as aspas internas
+    private static void escreverCampoCsv(Writer escritor, String valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            escritor.write(valor);
+            return;
+        }
+        escritor.write('"');
+        escritor.write(valor.replace("\"", "\"\""));
+        escritor.write('"');
+    }
+
+    private void escreverNdjson(Iterator<AdocaoExportacaoDto> adocoes, OutputStream saida) throws IOException {
+        // O gerador não fecha a saída: quem a fecha é o container, ao fim da resposta.
+        // Sem separador entre valores raiz, cada adoção fica sozinha na sua linha
+        JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida);
+        gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gerador.setRootValueSeparator(null);
+        try (gerador) {
+            int linhas = 0;
+            while (adocoes.hasNext()) {
+                gerador.writeObject(adocoes.next());
+                gerador.writeRaw('\n');
+                if (++linhas % LINHAS_POR_DESCARGA == 0) {
+                    gerador.flush();
+                }
+            }
+        }
+    }
+}
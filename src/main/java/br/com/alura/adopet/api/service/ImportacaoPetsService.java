@@ -0,0 +1,212 @@
+package br.com.alura.adopet.api.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.ImportacaoPetsDto;
+import br.com.alura.adopet.api.dto.ResultadoImportacaoPetDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
+import br.com.alura.adopet.api.model.Abrigo;
+import br.com.alura.adopet.api.model.Pet;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Cadastro de pets em lote para um abrigo, a partir de um array JSON ou de NDJSON (um pet por
+ * linha). O corpo é lido de forma incremental e as linhas válidas são gravadas em transações
+ * de {@code adopet.importacao-pets.tamanho-lote} pets, com os inserts agrupados em lotes JDBC.
+ * <p>
+ * Linhas inválidas não interrompem a importação: cada linha recebe no resultado o id gerado ou
+ * o motivo da rejeição. Se um lote falhar ao gravar, apenas os pets daquele lote são rejeitados.
+ */
+@Service
+public class ImportacaoPetsService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportacaoPetsService.class);
+
+    @Autowired
+    private PetService petService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${adopet.importacao-pets.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    public ImportacaoPetsDto importarJson(Abrigo abrigo, InputStream corpo) throws IOException {
+        Importacao importacao = new Importacao(abrigo.getId());
+        try (JsonParser parser = objectMapper.createParser(corpo)) {
+            if (!iniciaComArray(parser)) {
+                throw new ValidacaoException("O corpo deve ser um array JSON de pets!");
+            }
+
+            int linha = 0;
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    linha++;
+                    if (token == null) {
+                        importacao.rejeitar(linha, "Array JSON não foi fechado");
+                        break;
+                    }
+                    importacao.adicionar(linha, objectMapper.readTree(parser));
+                }
+            } catch (JsonProcessingException exception) {
+                // Depois de um erro de sintaxe não há como achar o início do próximo elemento
+                importacao.rejeitar(linha, "JSON malformado: " + exception.getOriginalMessage());
+            }
+        }
+        return importacao.concluir();
+    }
+
+    public ImportacaoPetsDto importarNdjson(Abrigo abrigo, InputStream corpo) throws IOException {
+        Importacao importacao = new Importacao(abrigo.getId());
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8))) {
+            int linha = 0;
+            String conteudo;
+            while ((conteudo = leitor.readLine()) != null) {
+                linha++;
+                if (conteudo.isBlank()) {
+                    continue;
+                }
+                try {
+                    importacao.adicionar(linha, objectMapper.readTree(conteudo));
+                } catch (JsonProcessingException exception) {
+                    importacao.rejeitar(linha, "JSON malformado: " + exception.getOriginalMessage());
+                }
+            }
+        }
+        return importacao.concluir();
+    }
+
+    private static boolean iniciaComArray(JsonParser parser) throws IOException {
+        try {
+            return parser.nextToken() == JsonToken.START_ARRAY;
+        } catch (JsonProcessingException exception) {
+            return false;
+        }
+    }
+
+    private record LinhaValida(int linha, CadastroPetDto dto) {
+    }
+
+    private class Importacao {
+
+        private final Long idAbrigo;
+        private final List<LinhaValida> pendentes = new ArrayList<>();
+        private final List<ResultadoImportacaoPetDto> resultados = new ArrayList<>();
+        private int importados;
+
+        Importacao(Long idAbrigo) {
+            this.idAbrigo = idAbrigo;
+        }
+
+        void adicionar(int linha, JsonNode conteudo) {
+            CadastroPetDto dto;
+            try {
+                dto = objectMapper.treeToValue(conteudo, CadastroPetDto.class);
+            } catch (JsonProcessingException exception) {
+                rejeitar(linha, "Conteúdo inválido: " + exception.getOriginalMessage());
+                return;
+            }
+
+            if (dto == null) {
+                rejeitar(linha, "Pet não informado");
+                return;
+            }
+
+            Set<ConstraintViolation<CadastroPetDto>> violacoes = validator.validate(dto);
+            if (!violacoes.isEmpty()) {
+                rejeitar(linha, violacoes.stream()
+                        .map(violacao -> violacao.getPropertyPath() + ": " + violacao.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+
+            pendentes.add(new LinhaValida(linha, dto));
+            if (pendentes.size() >= tamanhoLote) {
+                gravarPendentes();
+            }
+        }
+
+        void rejeitar(int linha, String erro) {
+            resultados.add(new ResultadoImportacaoPetDto(linha, null, erro));
+        }
+
+        ImportacaoPetsDto concluir() {
+            gravarPendentes();
+            if (importados > 0) {
+                petService.invalidarPetsDisponiveis();
+            }
+            resultados.sort(Comparator.comparingInt(ResultadoImportacaoPetDto::linha));
+            return new ImportacaoPetsDto(importados, resultados.size() - importados, resultados);
+        }
+
+        private void gravarPendentes() {
+            if (pendentes.isEmpty()) {
+                return;
+            }
+
+            List<Pet> pets = new ArrayList<>(pendentes.size());
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    entityManager.unwrap(Session.class).setJdbcBatchSize(tamanhoLote);
+                    Abrigo abrigo = entityManager.getReference(Abrigo.class, idAbrigo);
+                    for (LinhaValida pendente : pendentes) {
+                        Pet pet = new Pet(pendente.dto(), abrigo);
+                        entityManager.persist(pet);
+                        pets.add(pet);
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                for (int i = 0; i < pendentes.size(); i++) {
+                    resultados.add(new ResultadoImportacaoPetDto(pendentes.get(i).linha(), pets.get(i).getId(), null));
+                }
+                importados += pendentes.size();
+            } catch (RuntimeException exception) {
+                LOGGER.warn("Falha ao gravar lote de {} pets do abrigo {}: {}", pendentes.size(), idAbrigo, exception.getMessage());
+                entityManager.clear();
+                for (LinhaValida pendente : pendentes) {
+                    rejeitar(pendente.linha(), "Falha ao gravar o lote: " + exception.getMessage());
+                }
+            } finally {
+                pendentes.clear();
+            }
+        }
+    }
+}
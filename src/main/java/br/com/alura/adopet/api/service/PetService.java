@@ -1,30 +1,133 @@
 package br.com.alura.adopet.api.service;
 
 import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.FiltroPetsDto;
+import br.com.alura.adopet.api.dto.PaginaCursorDto;
 import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.Abrigo;
 import br.com.alura.adopet.api.model.Pet;
 import br.com.alura.adopet.api.repository.PetRepository;
+import br.com.alura.adopet.api.repository.PetSpecifications;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class PetService {
 
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
+    private static final String CHAVE_TODOS_DISPONIVEIS = "disponiveis";
+
     @Autowired
     private PetRepository repository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheLocal<String, List<PetDto>> cachePetsDisponiveis;
+
     public List<PetDto> buscarPetsDisponiveis() {
-        return repository
-                .findAllByAdotadoFalse()
-                .stream()
-                .map(PetDto::new)
-                .toList();
+        return cachePetsDisponiveis.buscar(CHAVE_TODOS_DISPONIVEIS,
+                () -> List.copyOf(repository.buscarDisponiveis()));
+    }
+
+    // Os resultados filtrados não entram no cache: as combinações de filtro são muitas e o cache é limitado
+    // por número de entradas, não de pets, então uma listagem filtrada poderia tirar dele a completa
+    public List<PetDto> buscarPetsDisponiveis(FiltroPetsDto filtro) {
+        if (filtro.vazio()) {
+            return buscarPetsDisponiveis();
+        }
+        validarFiltro(filtro);
+        return repository.buscarFiltrados(PetSpecifications.disponiveis(filtro), 0L, 0);
+    }
+
+    public PaginaCursorDto<PetDto> buscarPetsDisponiveisPorCursor(String cursor, int tamanho) {
+        return buscarPetsDisponiveisPorCursor(FiltroPetsDto.VAZIO, cursor, tamanho);
+    }
+
+    public PaginaCursorDto<PetDto> buscarPetsDisponiveisPorCursor(FiltroPetsDto filtro, String cursor, int tamanho) {
+        if (tamanho < 1) {
+            throw new ValidacaoException("Tamanho da página deve ser maior que zero!");
+        }
+        validarFiltro(filtro);
+        int limite = Math.min(tamanho, TAMANHO_MAXIMO_PAGINA);
+        Long ultimoId = (cursor == null || cursor.isBlank()) ? 0L : decodificarCursor(cursor);
+
+        // Busca um registro a mais para saber se existe próxima página
+        List<PetDto> pets = filtro.vazio()
+                ? cachePetsDisponiveis.buscar("apos:" + ultimoId + ":" + limite,
+                        () -> List.copyOf(repository.buscarDisponiveisApos(ultimoId, PageRequest.of(0, limite + 1))))
+                : repository.buscarFiltrados(PetSpecifications.disponiveis(filtro), ultimoId, limite + 1);
+
+        String proximoCursor = null;
+        if (pets.size() > limite) {
+            pets = pets.subList(0, limite);
+            proximoCursor = codificarCursor(pets.get(limite - 1).id());
+        }
+
+        return new PaginaCursorDto<>(pets, proximoCursor, null);
+    }
+
+    // Escreve o array JSON à medida que as linhas chegam do banco, sem materializar a lista inteira
+    @Transactional(readOnly = true)
+    public void escreverPetsDisponiveis(FiltroPetsDto filtro, OutputStream saida) throws IOException {
+        validarFiltro(filtro);
+        try (Stream<PetDto> pets = filtro.vazio()
+                    ? repository.transmitirDisponiveis()
+                    : repository.transmitirFiltrados(PetSpecifications.disponiveis(filtro));
+             JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+            gerador.writeStartArray();
+            Iterator<PetDto> iterador = pets.iterator();
+            while (iterador.hasNext()) {
+                gerador.writeObject(iterador.next());
+            }
+            gerador.writeEndArray();
+        }
     }
 
     public void cadastrarPet(Abrigo abrigo, CadastroPetDto dto) {
         repository.save(new Pet(dto, abrigo));
+        cachePetsDisponiveis.invalidarAposCommit();
+    }
+
+    // Chamado quando uma alteração de adoção pode tirar um pet da listagem, ou quando os pets envelhecem
+    public void invalidarPetsDisponiveis() {
+        cachePetsDisponiveis.invalidarAposCommit();
+    }
+
+    // Público para quem precisa rejeitar o filtro antes de começar a escrever a resposta
+    public void validarFiltro(FiltroPetsDto filtro) {
+        if (filtro.idadeMinima() != null && filtro.idadeMaxima() != null && filtro.idadeMinima() > filtro.idadeMaxima()) {
+            throw new ValidacaoException("Idade mínima não pode ser maior que a idade máxima!");
+        }
+        if (filtro.pesoMinimo() != null && filtro.pesoMaximo() != null && filtro.pesoMinimo() > filtro.pesoMaximo()) {
+            throw new ValidacaoException("Peso mínimo não pode ser maior que o peso máximo!");
+        }
+    }
+
+    private String codificarCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decodificarCursor(String cursor) {
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException exception) {
+            throw new ValidacaoException("Cursor inválido!");
+        }
     }
 }
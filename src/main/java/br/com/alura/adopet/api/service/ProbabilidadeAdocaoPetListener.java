@@ -0,0 +1,38 @@
+package br.com.alura.adopet.api.service;
+
+import br.com.alura.adopet.api.model.Pet;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Grava no pet a nota e a probabilidade de adoção calculadas pela
+ * {@link CalculadoraProbabilidadeAdocao}, para que listagens e filtros leiam as colunas em vez de
+ * recalcular a cada consulta.
+ * <p>
+ * Instanciado pelo Hibernate através do contêiner de beans do Spring. O {@code @PreUpdate} só é
+ * chamado para os pets que o flush encontrou alterados; entre eles, só os que tiveram tipo, peso
+ * ou idade alterados, ou que ainda não têm probabilidade, são recalculados. Pets antigos sem tipo,
+ * peso ou idade ficam com nota e probabilidade nulas.
+ */
+public class ProbabilidadeAdocaoPetListener {
+
+    @Autowired
+    private CalculadoraProbabilidadeAdocao calculadora;
+
+    @PrePersist
+    @PreUpdate
+    public void atualizarProbabilidadeAdocao(Pet pet) {
+        if (!pet.isProbabilidadeAdocaoDesatualizada()) {
+            return;
+        }
+
+        if (pet.getTipo() == null || pet.getPeso() == null || pet.getIdade() == null) {
+            pet.limparProbabilidadeAdocao();
+            return;
+        }
+
+        int nota = calculadora.calcularNota(pet.getTipo(), pet.getPeso(), pet.getIdade());
+        pet.atualizarProbabilidadeAdocao(nota, calculadora.classificar(nota));
+    }
+}
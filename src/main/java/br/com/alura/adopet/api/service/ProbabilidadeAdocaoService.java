@@ -0,0 +1,44 @@
+package br.com.alura.adopet.api.service;
+
+import br.com.alura.adopet.api.dto.ProbabilidadeAdocaoPetDto;
+import br.com.alura.adopet.api.repository.PetRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Probabilidade de adoção de todos os pets disponíveis, ou dos pets disponíveis de um abrigo,
+ * ordenada da maior para a menor nota (empates pelo id).
+ * <p>
+ * A nota e a probabilidade são gravadas no pet quando tipo, peso ou idade mudam
+ * ({@link ProbabilidadeAdocaoPetListener}) e quando o pet envelhece
+ * ({@link EnvelhecimentoPetsService}); aqui só são lidas. A ordenação é feita na aplicação, que
+ * escala com mais instâncias, em vez de no banco.
+ */
+@Service
+public class ProbabilidadeAdocaoService {
+
+    static final Comparator<ProbabilidadeAdocaoPetDto> MAIOR_NOTA_PRIMEIRO = Comparator
+            .comparingInt(ProbabilidadeAdocaoPetDto::nota).reversed()
+            .thenComparing(ProbabilidadeAdocaoPetDto::id);
+
+    @Autowired
+    private PetRepository petRepository;
+
+    public List<ProbabilidadeAdocaoPetDto> buscarDisponiveis() {
+        return ordenar(petRepository.buscarProbabilidadesDisponiveis());
+    }
+
+    public List<ProbabilidadeAdocaoPetDto> buscarDoAbrigo(Long idAbrigo) {
+        return ordenar(petRepository.buscarProbabilidadesDisponiveisPorAbrigo(idAbrigo));
+    }
+
+    private List<ProbabilidadeAdocaoPetDto> ordenar(List<ProbabilidadeAdocaoPetDto> probabilidades) {
+        List<ProbabilidadeAdocaoPetDto> ordenadas = new ArrayList<>(probabilidades);
+        ordenadas.sort(MAIOR_NOTA_PRIMEIRO);
+        return ordenadas;
+    }
+}
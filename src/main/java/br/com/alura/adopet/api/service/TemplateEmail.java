@@ -0,0 +1,79 @@
+package br.com.alura.adopet.api.service;
+
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Texto de e-mail com variáveis no formato {@code {nome}}, analisado uma única vez.
+ * <p>
+ * A análise transforma o texto em trechos fixos intercalados com o índice de cada variável na
+ * lista informada; renderizar só percorre esses trechos, escrevendo no {@link StringBuilder}
+ * recebido. Datas são escritas direto no destino pelo formatador compartilhado, sem criar uma
+ * String intermediária. Variáveis desconhecidas ou chaves sem fechamento falham na análise.
+ */
+public final class TemplateEmail {
+
+    public static final DateTimeFormatter FORMATO_DATA_HORA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+    private final String nome;
+    private final int quantidadeVariaveis;
+
+    // trechos[i] é escrito antes da variável indicesVariaveis[i]; o último trecho fecha o texto
+    private final String[] trechos;
+    private final int[] indicesVariaveis;
+
+    private TemplateEmail(String nome, int quantidadeVariaveis, String[] trechos, int[] indicesVariaveis) {
+        this.nome = nome;
+        this.quantidadeVariaveis = quantidadeVariaveis;
+        this.trechos = trechos;
+        this.indicesVariaveis = indicesVariaveis;
+    }
+
+    public static TemplateEmail compilar(String nome, String texto, List<String> variaveis) {
+        List<String> trechos = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+
+        int inicio = 0;
+        int abertura;
+        while ((abertura = texto.indexOf('{', inicio)) >= 0) {
+            int fechamento = texto.indexOf('}', abertura);
+            if (fechamento < 0) {
+                throw new IllegalArgumentException("Template " + nome + ": chave aberta sem fechamento na posição " + abertura);
+            }
+            String variavel = texto.substring(abertura + 1, fechamento);
+            int indice = variaveis.indexOf(variavel);
+            if (indice < 0) {
+                throw new IllegalArgumentException("Template " + nome + ": variável desconhecida {" + variavel + "}, esperadas " + variaveis);
+            }
+            trechos.add(texto.substring(inicio, abertura));
+            indices.add(indice);
+            inicio = fechamento + 1;
+        }
+        trechos.add(texto.substring(inicio));
+
+        return new TemplateEmail(nome, variaveis.size(), trechos.toArray(String[]::new),
+                indices.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // Valores na mesma ordem das variáveis informadas em compilar
+    public void renderizar(StringBuilder destino, Object... valores) {
+        if (valores.length != quantidadeVariaveis) {
+            throw new IllegalArgumentException("Template " + nome + ": esperados " + quantidadeVariaveis + " valores, recebidos " + valores.length);
+        }
+        for (int i = 0; i < indicesVariaveis.length; i++) {
+            destino.append(trechos[i]);
+            escrever(destino, valores[indicesVariaveis[i]]);
+        }
+        destino.append(trechos[trechos.length - 1]);
+    }
+
+    private static void escrever(StringBuilder destino, Object valor) {
+        if (valor instanceof TemporalAccessor data) {
+            FORMATO_DATA_HORA.formatTo(data, destino);
+        } else {
+            destino.append(valor);
+        }
+    }
+}
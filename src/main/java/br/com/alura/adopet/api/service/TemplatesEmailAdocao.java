@@ -0,0 +1,79 @@
+package br.com.alura.adopet.api.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Textos dos e-mails de solicitação, aprovação e reprovação de adoção, lidos de
+ * {@code src/main/resources/emails} e analisados na inicialização.
+ * <p>
+ * Cada thread reaproveita o mesmo {@link StringBuilder} para montar as mensagens; só a String
+ * final é alocada por e-mail. Builders que cresceram além de {@value #CAPACIDADE_MAXIMA_REUSO}
+ * caracteres (justificativas muito longas) são descartados para não ficarem presos à thread.
+ */
+@Component
+public class TemplatesEmailAdocao {
+
+    private static final int CAPACIDADE_INICIAL = 512;
+    private static final int CAPACIDADE_MAXIMA_REUSO = 8192;
+
+    private final TemplateEmail solicitacao;
+    private final TemplateEmail aprovacao;
+    private final TemplateEmail reprovacao;
+
+    private final ThreadLocal<StringBuilder> builders = ThreadLocal.withInitial(() -> new StringBuilder(CAPACIDADE_INICIAL));
+
+    public TemplatesEmailAdocao() {
+        this.solicitacao = carregar("adocao-solicitada.txt", List.of("abrigo", "pet"));
+        this.aprovacao = carregar("adocao-aprovada.txt", List.of("tutor", "pet", "data", "abrigo"));
+        this.reprovacao = carregar("adocao-reprovada.txt", List.of("tutor", "pet", "data", "abrigo", "justificativa"));
+    }
+
+    public String solicitacao(String abrigo, String pet) {
+        StringBuilder mensagem = builder();
+        solicitacao.renderizar(mensagem, abrigo, pet);
+        return mensagem.toString();
+    }
+
+    public String aprovacao(String tutor, String pet, LocalDateTime dataSolicitacao, String abrigo) {
+        StringBuilder mensagem = builder();
+        aprovacao.renderizar(mensagem, tutor, pet, dataSolicitacao, abrigo);
+        return mensagem.toString();
+    }
+
+    public String reprovacao(String tutor, String pet, LocalDateTime dataSolicitacao, String abrigo, String justificativa) {
+        StringBuilder mensagem = builder();
+        reprovacao.renderizar(mensagem, tutor, pet, dataSolicitacao, abrigo, justificativa);
+        return mensagem.toString();
+    }
+
+    private StringBuilder builder() {
+        StringBuilder builder = builders.get();
+        if (builder.capacity() > CAPACIDADE_MAXIMA_REUSO) {
+            builder = new StringBuilder(CAPACIDADE_INICIAL);
+            builders.set(builder);
+        }
+        builder.setLength(0);
+        return builder;
+    }
+
+    // A quebra de linha que os editores colocam no fim do arquivo não faz parte da mensagem
+    private static TemplateEmail carregar(String arquivo, List<String> variaveis) {
+        try (InputStream entrada = new ClassPathResource("emails/" + arquivo).getInputStream()) {
+            String texto = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+            if (texto.endsWith("\n")) {
+                texto = texto.substring(0, texto.length() - 1);
+            }
+            return TemplateEmail.compilar(arquivo, texto, variaveis);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Não foi possível ler o template de e-mail " + arquivo, exception);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package br.com.alura.adopet.api.service;
 
 import br.com.alura.adopet.api.dto.AtualizacaoTutorDto;
 import br.com.alura.adopet.api.dto.CadastroTutorDto;
+import br.com.alura.adopet.api.dto.PaginaCursorDto;
 import br.com.alura.adopet.api.dto.TutorDto;
 import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.Tutor;
@@ -10,33 +11,55 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
 @Service
 public class TutorService {
 
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
     @Autowired
     private TutorRepository tutorRepository;
 
     public Page<TutorDto> listar(Pageable paginacao) {
-        // Calcular offset baseado na página e tamanho
-        int pageNumber = paginacao.getPageNumber();
-        int pageSize = paginacao.getPageSize();
-        int offset = pageNumber * pageSize;
-        
-        // Buscar tutores com paginação manual usando método nativo
-        List<Tutor> tutores = tutorRepository.findAllWithPagination(offset, pageSize);
+        // Buscar tutores já projetados no DTO; a ordenação é fixa (nome, id) e a do cliente é ignorada
+        List<TutorDto> tutores = tutorRepository.buscarOrdenadosPorNome(
+                PageRequest.of(paginacao.getPageNumber(), paginacao.getPageSize()));
         
         // Obter total de elementos
         long total = tutorRepository.count();
         
-        // Converter para DTO
-        List<TutorDto> tutoresDto = tutores.stream()
-                .map(TutorDto::new)
-                .toList();
-        
         // Retornar Page com os dados paginados
-        return new PageImpl<>(tutoresDto, paginacao, total);
+        return new PageImpl<>(tutores, paginacao, total);
+    }
+
+    public PaginaCursorDto<TutorDto> listarPorCursor(String cursor, int tamanho, boolean incluirTotal) {
+        if (tamanho < 1) {
+            throw new ValidacaoException("Tamanho da página deve ser maior que zero!");
+        }
+        int limite = Math.min(tamanho, TAMANHO_MAXIMO_PAGINA);
+
+        // Busca um registro a mais para saber se existe próxima página
+        PageRequest limiteConsulta = PageRequest.of(0, limite + 1);
+        List<TutorDto> tutores;
+        if (cursor == null || cursor.isBlank()) {
+            tutores = tutorRepository.buscarOrdenadosPorNome(limiteConsulta);
+        } else {
+            PosicaoCursor posicao = decodificarCursor(cursor);
+            tutores = tutorRepository.buscarOrdenadosPorNomeApos(posicao.nome(), posicao.id(), limiteConsulta);
+        }
+
+        String proximoCursor = null;
+        if (tutores.size() > limite) {
+            tutores = tutores.subList(0, limite);
+            proximoCursor = codificarCursor(tutores.get(limite - 1));
+        }
+
+        Long total = incluirTotal ? tutorRepository.count() : null;
+
+        return new PaginaCursorDto<>(tutores, proximoCursor, total);
     }
 
     public void cadastrar(CadastroTutorDto dto) {
@@ -67,4 +90,25 @@ public class TutorService {
 
         tutorRepository.delete(tutor);
     }
-}
\ No newline at end of file
+
+    private String codificarCursor(TutorDto tutor) {
+        String posicao = tutor.id() + ":" + tutor.nome();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PosicaoCursor decodificarCursor(String cursor) {
+        try {
+            String posicao = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = posicao.indexOf(':');
+            if (separador < 0) {
+                throw new ValidacaoException("Cursor inválido!");
+            }
+            return new PosicaoCursor(Long.valueOf(posicao.substring(0, separador)), posicao.substring(separador + 1));
+        } catch (IllegalArgumentException exception) {
+            throw new ValidacaoException("Cursor inválido!");
+        }
+    }
+
+    private record PosicaoCursor(Long id, String nome) {
+    }
+}
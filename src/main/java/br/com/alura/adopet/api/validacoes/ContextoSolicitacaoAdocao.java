@@ -0,0 +1,20 @@
+package br.com.alura.adopet.api.validacoes;
+
+/**
+ * Fotografia dos dados consultados pelas validações de uma solicitação de adoção,
+ * carregada em uma única consulta por {@code AdocaoRepository.carregarContextoSolicitacao}.
+ */
+public record ContextoSolicitacaoAdocao(
+        Boolean petAdotado,
+        Long adocoesEmAndamentoDoPet,
+        Long adocoesEmAndamentoDoTutor,
+        Long adocoesAprovadasDoTutor) {
+
+    public boolean petComAdocaoEmAndamento() {
+        return adocoesEmAndamentoDoPet > 0;
+    }
+
+    public boolean tutorComAdocaoEmAndamento() {
+        return adocoesEmAndamentoDoTutor > 0;
+    }
+}
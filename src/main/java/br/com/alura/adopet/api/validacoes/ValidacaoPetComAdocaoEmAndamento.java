@@ -25,4 +25,11 @@ public class ValidacaoPetComAdocaoEmAndamento implements ValidacaoSolicitacaoAdo
             throw new ValidacaoException("Pet já possui uma adoção em andamento!");
         }
     }
+
+    @Override
+    public void validar(SolicitacaoAdocaoDto dto, ContextoSolicitacaoAdocao contexto) {
+        if (contexto.petComAdocaoEmAndamento()) {
+            throw new ValidacaoException("Pet já possui uma adoção em andamento!");
+        }
+    }
 }
\ No newline at end of file
@@ -20,4 +20,11 @@ public class ValidacaoPetDisponivel implements ValidacaoSolicitacaoAdocao {
         }
     }
 
+    @Override
+    public void validar(SolicitacaoAdocaoDto dto, ContextoSolicitacaoAdocao contexto) {
+        if (contexto.petAdotado()) {
+            throw new ValidacaoException("Pet já foi adotado!");
+        }
+    }
+
 }
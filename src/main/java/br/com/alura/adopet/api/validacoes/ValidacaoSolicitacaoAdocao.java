@@ -6,4 +6,9 @@ public interface ValidacaoSolicitacaoAdocao {
 
     void validar(SolicitacaoAdocaoDto dto);
 
+    // Validações que não usam o contexto pré-carregado continuam consultando o banco por conta própria
+    default void validar(SolicitacaoAdocaoDto dto, ContextoSolicitacaoAdocao contexto) {
+        validar(dto);
+    }
+
 }
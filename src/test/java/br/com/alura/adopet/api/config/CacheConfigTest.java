@@ -0,0 +1,61 @@
+package br.com.alura.adopet.api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.service.CacheLocal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CacheConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CacheConfig config = new CacheConfig();
+
+    @Test
+    @DisplayName("Deveria expor acertos, falhas, invalidações e tamanho do cache de pets disponíveis")
+    void deveriaExporEstatisticasDoCacheDePetsDisponiveis() {
+        // ARRANGE
+        CacheLocal<String, List<PetDto>> cache = config.cachePetsDisponiveis(30000, 200, meterRegistry);
+
+        // ACT
+        cache.buscar("todos", List::of);
+        cache.buscar("todos", List::of);
+        cache.buscar("apos:0:20", List::of);
+
+        // ASSERT
+        assertEquals(1, contador("adopet.cache.acertos", "pets-disponiveis"));
+        assertEquals(2, contador("adopet.cache.falhas", "pets-disponiveis"));
+        assertEquals(0, contador("adopet.cache.invalidacoes", "pets-disponiveis"));
+        assertEquals(2, meterRegistry.get("adopet.cache.tamanho").tag("cache", "pets-disponiveis").gauge().value());
+
+        cache.invalidar();
+        assertEquals(1, contador("adopet.cache.invalidacoes", "pets-disponiveis"));
+        assertEquals(0, meterRegistry.get("adopet.cache.tamanho").tag("cache", "pets-disponiveis").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deveria expor as remoções do cache de abrigos com a tag do próprio cache")
+    void deveriaExporRemocoesDoCacheDeAbrigos() {
+        // ARRANGE
+        CacheLocal<String, Long> abrigos = config.cacheIdsAbrigos(300000, 1, meterRegistry);
+        config.cachePetsDisponiveis(30000, 200, meterRegistry);
+
+        // ACT
+        abrigos.buscar("Abrigo A", () -> 1L);
+        abrigos.buscar("Abrigo B", () -> 2L);
+
+        // ASSERT
+        assertEquals(1, contador("adopet.cache.remocoes", "abrigos"));
+        assertEquals(0, contador("adopet.cache.remocoes", "pets-disponiveis"));
+    }
+
+    private double contador(String metrica, String cache) {
+        return meterRegistry.get(metrica).tag("cache", cache).functionCounter().count();
+    }
+}
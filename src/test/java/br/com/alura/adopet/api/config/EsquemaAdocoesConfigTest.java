@@ -0,0 +1,80 @@
+package br.com.alura.adopet.api.config;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class EsquemaAdocoesConfigTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private EsquemaAdocoesConfig config;
+
+    @Test
+    @DisplayName("Deveria criar o índice parcial de adoção em andamento no PostgreSQL")
+    void deveriaCriarIndiceNoPostgreSQL() {
+        // ARRANGE
+        given(jdbcTemplate.execute(any(ConnectionCallback.class))).willReturn("PostgreSQL");
+
+        // ACT
+        config.ajustarEsquema();
+
+        // ASSERT
+        then(jdbcTemplate).should().execute("ALTER TABLE adocoes DROP CONSTRAINT IF EXISTS adocoes_pet_id_key");
+        then(jdbcTemplate).should().execute(startsWith("CREATE UNIQUE INDEX IF NOT EXISTS idx_adocoes_pet_em_andamento"));
+    }
+
+    @Test
+    @DisplayName("Deveria impedir a inicialização quando o esquema não puder ser ajustado")
+    void deveriaImpedirInicializacaoQuandoEsquemaNaoPuderSerAjustado() {
+        // ARRANGE
+        given(jdbcTemplate.execute(any(ConnectionCallback.class))).willReturn("PostgreSQL");
+        willThrow(new DataIntegrityViolationException("permission denied for table adocoes"))
+            .given(jdbcTemplate).execute(anyString());
+
+        // ACT + ASSERT
+        assertThrows(IllegalStateException.class, () -> config.ajustarEsquema());
+    }
+
+    @Test
+    @DisplayName("Deveria impedir a inicialização em banco sem suporte ao índice")
+    void deveriaImpedirInicializacaoEmBancoNaoSuportado() {
+        // ARRANGE
+        given(jdbcTemplate.execute(any(ConnectionCallback.class))).willReturn("MySQL");
+
+        // ACT + ASSERT
+        assertThrows(IllegalStateException.class, () -> config.ajustarEsquema());
+    }
+
+    @Test
+    @DisplayName("Deveria pular o índice apenas quando configurado explicitamente")
+    void deveriaPularIndiceQuandoConfigurado() {
+        // ARRANGE
+        ReflectionTestUtils.setField(config, "ignorarIndice", true);
+
+        // ACT
+        config.ajustarEsquema();
+
+        // ASSERT
+        then(jdbcTemplate).should(never()).execute(anyString());
+    }
+}
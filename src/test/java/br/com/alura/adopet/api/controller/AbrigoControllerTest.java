@@ -27,12 +27,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import br.com.alura.adopet.api.dto.AbrigoDto;
 import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
 import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.ImportacaoPetsDto;
 import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.dto.ProbabilidadeAdocaoPetDto;
+import br.com.alura.adopet.api.dto.ResultadoImportacaoPetDto;
 import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.Abrigo;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
 import br.com.alura.adopet.api.model.TipoPet;
 import br.com.alura.adopet.api.service.AbrigoService;
+import br.com.alura.adopet.api.service.ImportacaoPetsService;
 import br.com.alura.adopet.api.service.PetService;
+import br.com.alura.adopet.api.service.ProbabilidadeAdocaoService;
 
 @WebMvcTest(AbrigoController.class)
 @AutoConfigureMockMvc
@@ -50,6 +56,12 @@ class AbrigoControllerTest {
     @MockBean
     private PetService petService;
 
+    @MockBean
+    private ImportacaoPetsService importacaoPetsService;
+
+    @MockBean
+    private ProbabilidadeAdocaoService probabilidadeAdocaoService;
+
     @MockBean
     private Abrigo abrigo;
 
@@ -234,6 +246,42 @@ class AbrigoControllerTest {
             .andExpect(status().isNotFound());
     }
 
+    // ==================== TESTES DE PROBABILIDADE DE ADOÇÃO ====================
+
+    @Test
+    @DisplayName("Deveria retornar a probabilidade de adoção dos pets do abrigo")
+    void deveriaRetornarProbabilidadesDosPetsDoAbrigo() throws Exception {
+        // ARRANGE
+        given(abrigoService.carregarAbrigo("Abrigo Feliz")).willReturn(abrigo);
+        given(abrigo.getId()).willReturn(1L);
+        given(probabilidadeAdocaoService.buscarDoAbrigo(1L)).willReturn(List.of(
+                new ProbabilidadeAdocaoPetDto(2L, "Mimi", 10, ProbabilidadeAdocao.ALTA),
+                new ProbabilidadeAdocaoPetDto(1L, "Rex", 4, ProbabilidadeAdocao.BAIXA)));
+
+        // ACT & ASSERT
+        mvc.perform(get("/abrigos/{idOuNome}/pets/probabilidades", "Abrigo Feliz")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].id").value(2))
+            .andExpect(jsonPath("$[0].nota").value(10))
+            .andExpect(jsonPath("$[0].probabilidade").value("ALTA"))
+            .andExpect(jsonPath("$[1].nome").value("Rex"));
+    }
+
+    @Test
+    @DisplayName("Deveria retornar 404 quando abrigo não for encontrado no cálculo de probabilidades")
+    void deveriaRetornar404QuandoAbrigoNaoEncontradoNasProbabilidades() throws Exception {
+        // ARRANGE
+        given(abrigoService.carregarAbrigo("999"))
+            .willThrow(new ValidacaoException("Abrigo não encontrado"));
+
+        // ACT & ASSERT
+        mvc.perform(get("/abrigos/{idOuNome}/pets/probabilidades", "999")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isNotFound());
+    }
+
     // ==================== TESTES DE CADASTRO DE PET ====================
 
     @Test
@@ -377,4 +425,74 @@ class AbrigoControllerTest {
             .andExpect(jsonPath("$.telefone").exists())
             .andExpect(jsonPath("$.email").exists());
     }
-}
\ No newline at end of file
+
+    // ==================== TESTES DE CADASTRO DE PETS EM LOTE ====================
+
+    @Test
+    @DisplayName("Deveria importar pets de um array JSON e devolver o resultado de cada linha")
+    void deveriaImportarPetsDeArrayJson() throws Exception {
+        // ARRANGE
+        ImportacaoPetsDto importacao = new ImportacaoPetsDto(1, 1, List.of(
+            new ResultadoImportacaoPetDto(1, 10L, null),
+            new ResultadoImportacaoPetDto(2, null, "nome: must not be blank")));
+        given(abrigoService.carregarAbrigo("1")).willReturn(abrigo);
+        given(importacaoPetsService.importarJson(eq(abrigo), any())).willReturn(importacao);
+
+        // ACT & ASSERT
+        mvc.perform(post("/abrigos/{idOuNome}/pets/lote", "1")
+                .content("[]")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.importados").value(1))
+            .andExpect(jsonPath("$.rejeitados").value(1))
+            .andExpect(jsonPath("$.resultados[0].id").value(10))
+            .andExpect(jsonPath("$.resultados[1].erro").value("nome: must not be blank"));
+    }
+
+    @Test
+    @DisplayName("Deveria importar pets de NDJSON")
+    void deveriaImportarPetsDeNdjson() throws Exception {
+        // ARRANGE
+        given(abrigoService.carregarAbrigo("Abrigo Feliz")).willReturn(abrigo);
+        given(importacaoPetsService.importarNdjson(eq(abrigo), any()))
+            .willReturn(new ImportacaoPetsDto(0, 0, List.of()));
+
+        // ACT & ASSERT
+        mvc.perform(post("/abrigos/{idOuNome}/pets/lote", "Abrigo Feliz")
+                .content("")
+                .contentType(MediaType.APPLICATION_NDJSON))
+            .andExpect(status().isOk());
+
+        then(importacaoPetsService).should().importarNdjson(eq(abrigo), any());
+    }
+
+    @Test
+    @DisplayName("Deveria retornar 404 quando abrigo não for encontrado na importação")
+    void deveriaRetornar404QuandoAbrigoNaoEncontradoNaImportacao() throws Exception {
+        // ARRANGE
+        given(abrigoService.carregarAbrigo("999"))
+            .willThrow(new ValidacaoException("Abrigo não encontrado"));
+
+        // ACT & ASSERT
+        mvc.perform(post("/abrigos/{idOuNome}/pets/lote", "999")
+                .content("[]")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Deveria retornar erro 400 quando o corpo da importação não for um array JSON")
+    void deveriaRetornarErro400QuandoCorpoDaImportacaoNaoForArray() throws Exception {
+        // ARRANGE
+        given(abrigoService.carregarAbrigo("1")).willReturn(abrigo);
+        given(importacaoPetsService.importarJson(eq(abrigo), any()))
+            .willThrow(new ValidacaoException("O corpo deve ser um array JSON de pets!"));
+
+        // ACT & ASSERT
+        mvc.perform(post("/abrigos/{idOuNome}/pets/lote", "1")
+                .content("{}")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("O corpo deve ser um array JSON de pets!"));
+    }
+}
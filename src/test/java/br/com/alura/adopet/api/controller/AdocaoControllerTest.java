@@ -3,7 +3,11 @@ package br.com.alura.adopet.api.controller;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 
@@ -13,13 +17,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.CannotAcquireLockException;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
 import br.com.alura.adopet.api.dto.AprovacaoAdocaoDto;
 import br.com.alura.adopet.api.dto.ReprovacaoAdocaoDto;
 import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
+import br.com.alura.adopet.api.model.Pet;
 import br.com.alura.adopet.api.service.AdocaoService;
+import br.com.alura.adopet.api.service.ExportacaoAdocoesService;
 import jakarta.validation.ValidationException;
 
 @SpringBootTest
@@ -32,6 +41,9 @@ class AdocaoControllerTest {
     @MockBean
     private AdocaoService service;
 
+    @MockBean
+    private ExportacaoAdocoesService exportacaoService;
+
     // ==================== TESTES DE SOLICITAÇÃO ====================
     
     @Test
@@ -98,6 +110,82 @@ class AdocaoControllerTest {
         Assertions.assertEquals("Pet já foi adotado", response.getContentAsString());
     }
 
+    @Test
+    void deveriaDevolverCodigo400QuandoServiceLancarValidacaoException() throws Exception {
+        // ARRANGE
+        String json = """
+            {
+                "idPet": 1,
+                "idTutor": 2,
+                "motivo": "Motivo qualquer"
+            }
+            """;
+
+        doThrow(new ValidacaoException("Pet já possui uma adoção em andamento!"))
+            .when(service).solicitar(any(SolicitacaoAdocaoDto.class));
+
+        // ACT
+        var response = mvc.perform(
+            post("/adocoes")
+                .content(json)
+                .contentType(MediaType.APPLICATION_JSON)
+        ).andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(400, response.getStatus());
+        Assertions.assertEquals("Pet já possui uma adoção em andamento!", response.getContentAsString());
+    }
+
+    @Test
+    void deveriaDevolverCodigo409QuandoPetForAlteradoPorOutraSolicitacao() throws Exception {
+        // ARRANGE
+        String json = """
+            {
+                "idPet": 1,
+                "idTutor": 2,
+                "motivo": "Motivo qualquer"
+            }
+            """;
+
+        doThrow(new ObjectOptimisticLockingFailureException(Pet.class, 1L))
+            .when(service).solicitar(any(SolicitacaoAdocaoDto.class));
+
+        // ACT
+        var response = mvc.perform(
+            post("/adocoes")
+                .content(json)
+                .contentType(MediaType.APPLICATION_JSON)
+        ).andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(409, response.getStatus());
+    }
+
+    @Test
+    void deveriaDevolverCodigo409QuandoEsperaPeloPetOuTutorEsgotar() throws Exception {
+        // ARRANGE
+        String json = """
+            {
+                "idPet": 1,
+                "idTutor": 2,
+                "motivo": "Motivo qualquer"
+            }
+            """;
+
+        doThrow(new CannotAcquireLockException("Tempo esgotado aguardando outra solicitação para o pet 1"))
+            .when(service).solicitar(any(SolicitacaoAdocaoDto.class));
+
+        // ACT
+        var response = mvc.perform(
+            post("/adocoes")
+                .content(json)
+                .contentType(MediaType.APPLICATION_JSON)
+        ).andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(409, response.getStatus());
+    }
+
     @Test
     void deveriaRetornarMensagemDeSucessoQuandoSolicitacaoForBemSucedida() throws Exception {
         // ARRANGE
@@ -266,4 +354,30 @@ class AdocaoControllerTest {
         // ASSERT
         verify(service).reprovar(any(ReprovacaoAdocaoDto.class));
     }
-}
\ No newline at end of file
+
+    // ==================== TESTES DE EXPORTAÇÃO ====================
+
+    @Test
+    void deveriaTransmitirExportacaoEmNdjson() throws Exception {
+        // ACT
+        var resultado = mvc.perform(get("/adocoes/exportacao").param("formato", "ndjson")).andReturn();
+        var response = mvc.perform(asyncDispatch(resultado)).andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(200, response.getStatus());
+        Assertions.assertEquals("application/x-ndjson", response.getContentType());
+        Assertions.assertEquals("attachment; filename=\"adocoes.ndjson\"", response.getHeader("Content-Disposition"));
+        verify(exportacaoService).exportar(eq(ExportacaoAdocoesService.Formato.NDJSON), any());
+    }
+
+    @Test
+    void deveriaDevolverCodigo400ParaFormatoDeExportacaoInvalido() throws Exception {
+        // ACT
+        var resultado = mvc.perform(get("/adocoes/exportacao").param("formato", "xml")).andReturn();
+        var response = mvc.perform(asyncDispatch(resultado)).andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(400, response.getStatus());
+        verify(exportacaoService, never()).exportar(any(), any());
+    }
+}
@@ -2,9 +2,17 @@ package br.com.alura.adopet.api.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -15,11 +23,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import br.com.alura.adopet.api.dto.FiltroPetsDto;
+import br.com.alura.adopet.api.dto.PaginaCursorDto;
 import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.dto.ProbabilidadeAdocaoPetDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
 import br.com.alura.adopet.api.model.TipoPet;
 import br.com.alura.adopet.api.service.PetService;
+import br.com.alura.adopet.api.service.ProbabilidadeAdocaoService;
 
 @ExtendWith(MockitoExtension.class)
 class PetControllerTest {
@@ -27,6 +45,9 @@ class PetControllerTest {
     @Mock
     private PetService petService;
 
+    @Mock
+    private ProbabilidadeAdocaoService probabilidadeAdocaoService;
+
     @InjectMocks
     private PetController petController;
 
@@ -45,10 +66,10 @@ class PetControllerTest {
     void deveriaListarTodosOsPetsDisponiveis() {
         // Arrange
         List<PetDto> pets = Arrays.asList(pet1, pet2, pet3);
-        given(petService.buscarPetsDisponiveis()).willReturn(pets);
+        given(petService.buscarPetsDisponiveis(FiltroPetsDto.VAZIO)).willReturn(pets);
 
         // Act
-        ResponseEntity<List<PetDto>> response = petController.listarTodosDisponiveis();
+        ResponseEntity<List<PetDto>> response = petController.listarTodosDisponiveis(FiltroPetsDto.VAZIO);
 
         // Assert
         assertNotNull(response);
@@ -61,16 +82,16 @@ class PetControllerTest {
         assertEquals(TipoPet.CACHORRO, response.getBody().get(0).tipo());
         assertEquals(TipoPet.GATO, response.getBody().get(1).tipo());
         
-        verify(petService).buscarPetsDisponiveis();
+        verify(petService).buscarPetsDisponiveis(FiltroPetsDto.VAZIO);
     }
 
     @Test
     void deveriaRetornarListaVaziaQuandoNaoHouverPetsDisponiveis() {
         // Arrange
-        given(petService.buscarPetsDisponiveis()).willReturn(Arrays.asList());
+        given(petService.buscarPetsDisponiveis(FiltroPetsDto.VAZIO)).willReturn(Arrays.asList());
 
         // Act
-        ResponseEntity<List<PetDto>> response = petController.listarTodosDisponiveis();
+        ResponseEntity<List<PetDto>> response = petController.listarTodosDisponiveis(FiltroPetsDto.VAZIO);
 
         // Assert
         assertNotNull(response);
@@ -78,17 +99,17 @@ class PetControllerTest {
         assertNotNull(response.getBody());
         assertEquals(0, response.getBody().size());
         
-        verify(petService).buscarPetsDisponiveis();
+        verify(petService).buscarPetsDisponiveis(FiltroPetsDto.VAZIO);
     }
 
     @Test
     void deveriaRetornarStatus200() {
         // Arrange
         List<PetDto> pets = Arrays.asList(pet1);
-        given(petService.buscarPetsDisponiveis()).willReturn(pets);
+        given(petService.buscarPetsDisponiveis(FiltroPetsDto.VAZIO)).willReturn(pets);
 
         // Act
-        ResponseEntity<List<PetDto>> response = petController.listarTodosDisponiveis();
+        ResponseEntity<List<PetDto>> response = petController.listarTodosDisponiveis(FiltroPetsDto.VAZIO);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -99,10 +120,10 @@ class PetControllerTest {
     void deveriaRetornarTodosOsCamposDosPets() {
         // Arrange
         List<PetDto> pets = Arrays.asList(pet1);
-        given(petService.buscarPetsDisponiveis()).willReturn(pets);
+        given(petService.buscarPetsDisponiveis(FiltroPetsDto.VAZIO)).willReturn(pets);
 
         // Act
-        ResponseEntity<List<PetDto>> response = petController.listarTodosDisponiveis();
+        ResponseEntity<List<PetDto>> response = petController.listarTodosDisponiveis(FiltroPetsDto.VAZIO);
 
         // Assert
         PetDto petRetornado = response.getBody().get(0);
@@ -117,10 +138,10 @@ class PetControllerTest {
     void deveriaRetornarApenasPetsDoTipoCachorro() {
         // Arrange
         List<PetDto> pets = Arrays.asList(pet1, pet3);
-        given(petService.buscarPetsDisponiveis()).willReturn(pets);
+        given(petService.buscarPetsDisponiveis(FiltroPetsDto.VAZIO)).willReturn(pets);
 
         // Act
-        ResponseEntity<List<PetDto>> response = petController.listarTodosDisponiveis();
+        ResponseEntity<List<PetDto>> response = petController.listarTodosDisponiveis(FiltroPetsDto.VAZIO);
 
         // Assert
         assertEquals(2, response.getBody().size());
@@ -132,10 +153,10 @@ class PetControllerTest {
     void deveriaRetornarApenasPetsDoTipoGato() {
         // Arrange
         List<PetDto> pets = Arrays.asList(pet2);
-        given(petService.buscarPetsDisponiveis()).willReturn(pets);
+        given(petService.buscarPetsDisponiveis(FiltroPetsDto.VAZIO)).willReturn(pets);
 
         // Act
-        ResponseEntity<List<PetDto>> response = petController.listarTodosDisponiveis();
+        ResponseEntity<List<PetDto>> response = petController.listarTodosDisponiveis(FiltroPetsDto.VAZIO);
 
         // Assert
         assertEquals(1, response.getBody().size());
@@ -146,24 +167,147 @@ class PetControllerTest {
     @Test
     void deveriaChamarOServiceUmaVez() {
         // Arrange
-        given(petService.buscarPetsDisponiveis()).willReturn(Arrays.asList());
+        given(petService.buscarPetsDisponiveis(FiltroPetsDto.VAZIO)).willReturn(Arrays.asList());
 
         // Act
-        petController.listarTodosDisponiveis();
+        petController.listarTodosDisponiveis(FiltroPetsDto.VAZIO);
 
         // Assert
-        verify(petService).buscarPetsDisponiveis();
+        verify(petService).buscarPetsDisponiveis(FiltroPetsDto.VAZIO);
     }
 
     @Test
     void deveriaRetornarBodyNaoNulo() {
         // Arrange
-        given(petService.buscarPetsDisponiveis()).willReturn(Arrays.asList());
+        given(petService.buscarPetsDisponiveis(FiltroPetsDto.VAZIO)).willReturn(Arrays.asList());
 
         // Act
-        ResponseEntity<List<PetDto>> response = petController.listarTodosDisponiveis();
+        ResponseEntity<List<PetDto>> response = petController.listarTodosDisponiveis(FiltroPetsDto.VAZIO);
 
         // Assert
         assertNotNull(response.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveriaListarPetsDisponiveisPorCursor() {
+        // Arrange
+        PaginaCursorDto<PetDto> pagina = new PaginaCursorDto<>(Arrays.asList(pet1, pet2), "Mg", null);
+        given(petService.buscarPetsDisponiveisPorCursor(FiltroPetsDto.VAZIO, "", 2)).willReturn(pagina);
+
+        // Act
+        ResponseEntity<?> response = petController.listarDisponiveisPorCursor(FiltroPetsDto.VAZIO, "", 2);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(pagina, response.getBody());
+    }
+
+    @Test
+    void deveriaRetornar400ParaCursorInvalido() {
+        // Arrange
+        given(petService.buscarPetsDisponiveisPorCursor(FiltroPetsDto.VAZIO, "invalido", 20))
+            .willThrow(new ValidacaoException("Cursor inválido!"));
+
+        // Act
+        ResponseEntity<?> response = petController.listarDisponiveisPorCursor(FiltroPetsDto.VAZIO, "invalido", 20);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Cursor inválido!", response.getBody());
+    }
+
+    @Test
+    void deveriaTransmitirPetsDisponiveisPeloService() throws Exception {
+        // Arrange
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = petController.transmitirTodosDisponiveis(FiltroPetsDto.VAZIO);
+        response.getBody().writeTo(saida);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        verify(petService).escreverPetsDisponiveis(FiltroPetsDto.VAZIO, saida);
+    }
+
+    @Test
+    void deveriaTransmitirPetsDisponiveisComOFiltro() throws Exception {
+        // Arrange
+        FiltroPetsDto filtro = new FiltroPetsDto(TipoPet.GATO, null, null, null, null, null, null, 1L, null);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = petController.transmitirTodosDisponiveis(filtro);
+        response.getBody().writeTo(saida);
+
+        // Assert
+        verify(petService).validarFiltro(filtro);
+        verify(petService).escreverPetsDisponiveis(filtro, saida);
+    }
+
+    @Test
+    void deveriaRejeitarFiltroInvalidoAntesDeComecarATransmissao() throws Exception {
+        // Arrange
+        FiltroPetsDto filtro = new FiltroPetsDto(null, 5, 1, null, null, null, null, null, null);
+        willThrow(new ValidacaoException("Idade mínima não pode ser maior que a idade máxima!"))
+            .given(petService).validarFiltro(filtro);
+
+        // Act & Assert
+        assertThrows(ValidacaoException.class, () -> petController.transmitirTodosDisponiveis(filtro));
+        verify(petService, never()).escreverPetsDisponiveis(any(), any());
+    }
+
+    @Test
+    void deveriaRetornar400ParaCursorComStream() throws Exception {
+        // Arrange
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(petController).build();
+
+        // Act & Assert
+        mvc.perform(get("/pets").param("cursor", "").param("stream", "true"))
+            .andExpect(status().isBadRequest());
+        verifyNoInteractions(petService);
+    }
+
+    @Test
+    void deveriaListarPetsDisponiveisFiltrados() {
+        // Arrange
+        FiltroPetsDto filtro = new FiltroPetsDto(TipoPet.CACHORRO, 10, null, null, null, "Labrador", null, 1L, ProbabilidadeAdocao.BAIXA);
+        List<PetDto> pets = List.of(new PetDto(3L, TipoPet.CACHORRO, "Thor", "Labrador", 15));
+        given(petService.buscarPetsDisponiveis(filtro)).willReturn(pets);
+
+        // Act
+        ResponseEntity<List<PetDto>> response = petController.listarTodosDisponiveis(filtro);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(pets, response.getBody());
+    }
+
+    @Test
+    void deveriaRetornarBadRequestParaFiltroInvalido() {
+        // Act
+        ResponseEntity<String> response = petController.tratarFiltroInvalido(
+                new ValidacaoException("Idade mínima não pode ser maior que a idade máxima!"));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Idade mínima não pode ser maior que a idade máxima!", response.getBody());
+    }
+
+    @Test
+    void deveriaRetornarProbabilidadesDosPetsDisponiveis() {
+        // Arrange
+        List<ProbabilidadeAdocaoPetDto> probabilidades = List.of(
+                new ProbabilidadeAdocaoPetDto(2L, "Mimi", 10, ProbabilidadeAdocao.ALTA),
+                new ProbabilidadeAdocaoPetDto(1L, "Rex", 6, ProbabilidadeAdocao.MEDIA));
+        given(probabilidadeAdocaoService.buscarDisponiveis()).willReturn(probabilidades);
+
+        // Act
+        ResponseEntity<List<ProbabilidadeAdocaoPetDto>> response = petController.listarProbabilidades();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(probabilidades, response.getBody());
+    }
+}
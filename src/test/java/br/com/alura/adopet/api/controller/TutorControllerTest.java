@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -30,6 +31,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import br.com.alura.adopet.api.dto.AtualizacaoTutorDto;
 import br.com.alura.adopet.api.dto.CadastroTutorDto;
+import br.com.alura.adopet.api.dto.PaginaCursorDto;
 import br.com.alura.adopet.api.dto.TutorDto;
 import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.service.TutorService;
@@ -102,6 +104,41 @@ class TutorControllerTest {
             .andExpect(jsonPath("$.content.length()").value(0));
     }
 
+    @Test
+    @DisplayName("Deveria listar tutores por cursor quando o parâmetro cursor é informado")
+    void deveriaListarTutoresPorCursor() throws Exception {
+        // ARRANGE
+        PaginaCursorDto<TutorDto> pagina = new PaginaCursorDto<>(List.of(tutorDto1, tutorDto2), "proximo", null);
+        given(tutorService.listarPorCursor("", 2, false)).willReturn(pagina);
+
+        // ACT & ASSERT
+        mvc.perform(get("/tutores")
+                .param("cursor", "")
+                .param("size", "2")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.conteudo.length()").value(2))
+            .andExpect(jsonPath("$.conteudo[0].nome").value("João Silva"))
+            .andExpect(jsonPath("$.proximoCursor").value("proximo"));
+
+        then(tutorService).should(never()).listar(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Deveria retornar 400 para cursor inválido")
+    void deveriaRetornar400ParaCursorInvalido() throws Exception {
+        // ARRANGE
+        given(tutorService.listarPorCursor("invalido", 10, false))
+            .willThrow(new ValidacaoException("Cursor inválido!"));
+
+        // ACT & ASSERT
+        mvc.perform(get("/tutores")
+                .param("cursor", "invalido")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("Cursor inválido!"));
+    }
+
     // ==================== TESTES DE CADASTRO ====================
 
     @Test
@@ -0,0 +1,174 @@
+package br.com.alura.adopet.api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.FiltroPetsDto;
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.model.Abrigo;
+import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.TipoPet;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Confere no plano do banco real que cada combinação comum de filtros da listagem de pets usa o
+ * índice composto feito para ela. O catálogo tem 50 mil pets em 250 abrigos, com 250 raças,
+ * idades de 0 a 24 anos, pesos de 0 a 40 kg e 10% de adotados; cada filtro seleciona menos de 1%
+ * dos pets, e as estatísticas são atualizadas antes das consultas. Os valores entram na SQL como
+ * literais para que o EXPLAIN rode sem parâmetros. Confere também que a listagem sem filtro vem
+ * na mesma ordem de id das filtradas, e que a transmissão filtrada traz os mesmos pets.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=br.com.alura.adopet.api.repository.PetRepositoryFiltrosTest$UltimaConsulta",
+        "adopet.outbox.habilitado=false"
+})
+@Transactional
+class PetRepositoryFiltrosTest {
+
+    private static final int QUANTIDADE_PETS = 50_000;
+    private static final int QUANTIDADE_ABRIGOS = 250;
+    private static final int QUANTIDADE_RACAS = 250;
+
+    @Autowired
+    private PetRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long idAbrigo;
+
+    @BeforeEach
+    void setUp() {
+        List<Abrigo> abrigos = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_ABRIGOS; i++) {
+            Abrigo abrigo = new Abrigo(new CadastroAbrigoDto("Abrigo Filtros " + i, "(21)3333-4444", "filtros" + i + "@abrigo.com"));
+            entityManager.persist(abrigo);
+            abrigos.add(abrigo);
+        }
+        idAbrigo = abrigos.get(7).getId();
+
+        for (int i = 0; i < QUANTIDADE_PETS; i++) {
+            TipoPet tipo = i % 2 == 0 ? TipoPet.CACHORRO : TipoPet.GATO;
+            CadastroPetDto dados = new CadastroPetDto(tipo, "Pet " + i, "Raça " + (i % QUANTIDADE_RACAS),
+                    (i / 2) % 25, "Cor " + (i % 10), (i * 7 % 1001) / 25f);
+            Pet pet = new Pet(dados, abrigos.get(i / 3 % QUANTIDADE_ABRIGOS));
+            pet.setAdotado(i % 10 == 0);
+            entityManager.persist(pet);
+            if (i % 1000 == 999) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        String banco = jdbcTemplate.execute((ConnectionCallback<String>) conexao -> conexao.getMetaData().getDatabaseProductName());
+        jdbcTemplate.execute("H2".equals(banco) ? "ANALYZE TABLE pets" : "ANALYZE pets");
+    }
+
+    @Test
+    @DisplayName("Deveria filtrar por tipo e faixa de idade pelo índice de tipo e idade")
+    void deveriaFiltrarPorTipoEIdadePeloIndice() {
+        FiltroPetsDto filtro = new FiltroPetsDto(TipoPet.GATO, 0, 0, null, null, null, null, null, null);
+
+        assertPlanoUsa("idx_pets_adotado_tipo_idade", filtro);
+    }
+
+    @Test
+    @DisplayName("Deveria filtrar por tipo e faixa de peso pelo índice de tipo e peso")
+    void deveriaFiltrarPorTipoEPesoPeloIndice() {
+        FiltroPetsDto filtro = new FiltroPetsDto(TipoPet.CACHORRO, null, null, 0f, 0.5f, null, null, null, null);
+
+        assertPlanoUsa("idx_pets_adotado_tipo_peso", filtro);
+    }
+
+    @Test
+    @DisplayName("Deveria filtrar por raça pelo índice de raça")
+    void deveriaFiltrarPorRacaPeloIndice() {
+        FiltroPetsDto filtro = new FiltroPetsDto(null, null, null, null, null, "Raça 13", null, null, null);
+
+        assertPlanoUsa("idx_pets_adotado_raca", filtro);
+    }
+
+    @Test
+    @DisplayName("Deveria filtrar por abrigo pelo índice de abrigo")
+    void deveriaFiltrarPorAbrigoPeloIndice() {
+        FiltroPetsDto filtro = new FiltroPetsDto(null, null, null, null, null, null, null, idAbrigo, null);
+
+        assertPlanoUsa("idx_pets_abrigo_adotado_id", filtro);
+    }
+
+    @Test
+    @DisplayName("Deveria listar os pets disponíveis sem filtro na mesma ordem de id das listagens filtradas")
+    void deveriaListarPetsDisponiveisEmOrdemDeId() {
+        // ACT
+        List<PetDto> todos = repository.buscarDisponiveis();
+        List<PetDto> doAbrigo = repository.buscarFiltrados(PetSpecifications.disponiveis(
+                new FiltroPetsDto(null, null, null, null, null, null, null, idAbrigo, null)), 0L, 0);
+
+        // ASSERT
+        assertEquals(todos.stream().map(PetDto::id).sorted().toList(), todos.stream().map(PetDto::id).toList());
+        assertEquals(todos.stream().filter(doAbrigo::contains).toList(), doAbrigo);
+    }
+
+    @Test
+    @DisplayName("Deveria transmitir os pets filtrados na mesma ordem da listagem filtrada")
+    void deveriaTransmitirPetsFiltradosNaOrdemDaListagem() {
+        // ARRANGE
+        FiltroPetsDto filtro = new FiltroPetsDto(TipoPet.GATO, null, null, null, null, null, null, idAbrigo, null);
+
+        // ACT
+        List<PetDto> transmitidos;
+        try (Stream<PetDto> pets = repository.transmitirFiltrados(PetSpecifications.disponiveis(filtro))) {
+            transmitidos = pets.toList();
+        }
+
+        // ASSERT
+        assertFalse(transmitidos.isEmpty());
+        assertEquals(repository.buscarFiltrados(PetSpecifications.disponiveis(filtro), 0L, 0), transmitidos);
+    }
+
+    private void assertPlanoUsa(String indice, FiltroPetsDto filtro) {
+        // ACT
+        List<PetDto> pets = repository.buscarFiltrados(PetSpecifications.disponiveis(filtro), 0L, 0);
+        String plano = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + UltimaConsulta.sql, String.class))
+                .toLowerCase();
+
+        // ASSERT
+        assertFalse(pets.isEmpty());
+        assertTrue(plano.contains(indice), () -> "Plano sem o índice " + indice + ":\n" + plano);
+    }
+
+    // Guarda a última SQL enviada pelo Hibernate para o EXPLAIN
+    public static class UltimaConsulta implements StatementInspector {
+
+        static volatile String sql;
+
+        @Override
+        public String inspect(String sql) {
+            UltimaConsulta.sql = sql;
+            return sql;
+        }
+    }
+}
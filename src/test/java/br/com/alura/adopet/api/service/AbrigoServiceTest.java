@@ -11,6 +11,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import br.com.alura.adopet.api.dto.AbrigoDto;
@@ -27,7 +29,6 @@ import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
 import br.com.alura.adopet.api.dto.PetDto;
 import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.Abrigo;
-import br.com.alura.adopet.api.model.Pet;
 import br.com.alura.adopet.api.model.TipoPet;
 import br.com.alura.adopet.api.repository.AbrigoRepository;
 import br.com.alura.adopet.api.repository.PetRepository;
@@ -41,6 +42,9 @@ class AbrigoServiceTest {
     @Mock
     private PetRepository petRepository;
 
+    @Spy
+    private CacheLocal<String, Long> cacheIdsAbrigos = new CacheLocal<>(Duration.ofMinutes(1), 10);
+
     @InjectMocks
     private AbrigoService abrigoService;
 
@@ -50,13 +54,11 @@ class AbrigoServiceTest {
     @DisplayName("Deveria retornar lista de todos os abrigos")
     void deveriaRetornarListaDeTodosOsAbrigos() {
         // ARRANGE
-        Abrigo abrigo1 = new Abrigo(new CadastroAbrigoDto("Abrigo Feliz", "(11)99999-9999", "feliz@email.com"));
-        abrigo1.setId(1L);
-        Abrigo abrigo2 = new Abrigo(new CadastroAbrigoDto("Abrigo dos Bichos", "(11)88888-8888", "bichos@email.com"));
-        abrigo2.setId(2L);
+        AbrigoDto abrigo1 = new AbrigoDto(1L, "Abrigo Feliz", "(11)99999-9999", "feliz@email.com");
+        AbrigoDto abrigo2 = new AbrigoDto(2L, "Abrigo dos Bichos", "(11)88888-8888", "bichos@email.com");
 
-        List<Abrigo> abrigos = Arrays.asList(abrigo1, abrigo2);
-        given(abrigoRepository.findAll()).willReturn(abrigos);
+        List<AbrigoDto> abrigos = Arrays.asList(abrigo1, abrigo2);
+        given(abrigoRepository.buscarTodos()).willReturn(abrigos);
 
         // ACT
         List<AbrigoDto> resultado = abrigoService.listar();
@@ -77,14 +79,14 @@ class AbrigoServiceTest {
         assertEquals("(11)88888-8888", segundoAbrigo.telefone());
         assertEquals("bichos@email.com", segundoAbrigo.email());
 
-        then(abrigoRepository).should().findAll();
+        then(abrigoRepository).should().buscarTodos();
     }
 
     @Test
     @DisplayName("Deveria retornar lista vazia quando não houver abrigos")
     void deveriaRetornarListaVaziaQuandoNaoHouverAbrigos() {
         // ARRANGE
-        given(abrigoRepository.findAll()).willReturn(Arrays.asList());
+        given(abrigoRepository.buscarTodos()).willReturn(Arrays.asList());
 
         // ACT
         List<AbrigoDto> resultado = abrigoService.listar();
@@ -92,7 +94,7 @@ class AbrigoServiceTest {
         // ASSERT
         assertNotNull(resultado);
         assertTrue(resultado.isEmpty());
-        then(abrigoRepository).should().findAll();
+        then(abrigoRepository).should().buscarTodos();
     }
 
     // ==================== TESTES DE CADASTRAR ABRIGO ====================
@@ -211,16 +213,13 @@ class AbrigoServiceTest {
     @DisplayName("Deveria listar pets de um abrigo por ID")
     void deveriaListarPetsDeUmAbrigoPorId() {
         // ARRANGE
-        Abrigo abrigo = new Abrigo(new CadastroAbrigoDto("Abrigo Teste", "(11)99999-9999", "teste@email.com"));
-        abrigo.setId(1L);
+        PetDto pet1 = criarPetDto(1L, "Rex", TipoPet.CACHORRO, "Vira-lata", 2);
+        PetDto pet2 = criarPetDto(2L, "Mimi", TipoPet.GATO, "Siamês", 1);
 
-        Pet pet1 = criarPet(1L, "Rex", TipoPet.CACHORRO, "Vira-lata", 2, abrigo);
-        Pet pet2 = criarPet(2L, "Mimi", TipoPet.GATO, "Siamês", 1, abrigo);
+        List<PetDto> pets = Arrays.asList(pet1, pet2);
 
-        List<Pet> pets = Arrays.asList(pet1, pet2);
-
-        given(abrigoRepository.findById(1L)).willReturn(Optional.of(abrigo));
-        given(petRepository.findByAbrigo(abrigo)).willReturn(pets);
+        given(abrigoRepository.existsById(1L)).willReturn(true);
+        given(petRepository.buscarPorAbrigo(1L)).willReturn(pets);
 
         // ACT
         List<PetDto> resultado = abrigoService.listarPetsDoAbrigo("1");
@@ -231,22 +230,19 @@ class AbrigoServiceTest {
         assertEquals("Rex", resultado.get(0).nome());
         assertEquals("Mimi", resultado.get(1).nome());
 
-        then(abrigoRepository).should().findById(1L);
-        then(petRepository).should().findByAbrigo(abrigo);
+        then(abrigoRepository).should().existsById(1L);
+        then(petRepository).should().buscarPorAbrigo(1L);
     }
 
     @Test
     @DisplayName("Deveria listar pets de um abrigo por nome")
     void deveriaListarPetsDeUmAbrigoPorNome() {
         // ARRANGE
-        Abrigo abrigo = new Abrigo(new CadastroAbrigoDto("Abrigo por Nome", "(11)99999-9999", "teste@email.com"));
-        abrigo.setId(1L);
+        PetDto pet = criarPetDto(1L, "Buddy", TipoPet.CACHORRO, "Labrador", 3);
+        List<PetDto> pets = Arrays.asList(pet);
 
-        Pet pet = criarPet(1L, "Buddy", TipoPet.CACHORRO, "Labrador", 3, abrigo);
-        List<Pet> pets = Arrays.asList(pet);
-
-        given(abrigoRepository.findByNome("Abrigo por Nome")).willReturn(Optional.of(abrigo));
-        given(petRepository.findByAbrigo(abrigo)).willReturn(pets);
+        given(abrigoRepository.findIdByNome("Abrigo por Nome")).willReturn(Optional.of(1L));
+        given(petRepository.buscarPorAbrigo(1L)).willReturn(pets);
 
         // ACT
         List<PetDto> resultado = abrigoService.listarPetsDoAbrigo("Abrigo por Nome");
@@ -256,19 +252,16 @@ class AbrigoServiceTest {
         assertEquals(1, resultado.size());
         assertEquals("Buddy", resultado.get(0).nome());
 
-        then(abrigoRepository).should().findByNome("Abrigo por Nome");
-        then(petRepository).should().findByAbrigo(abrigo);
+        then(abrigoRepository).should().findIdByNome("Abrigo por Nome");
+        then(petRepository).should().buscarPorAbrigo(1L);
     }
 
     @Test
     @DisplayName("Deveria retornar lista vazia quando abrigo não tiver pets")
     void deveriaRetornarListaVaziaQuandoAbrigoNaoTiverPets() {
         // ARRANGE
-        Abrigo abrigo = new Abrigo(new CadastroAbrigoDto("Abrigo Vazio", "(11)99999-9999", "vazio@email.com"));
-        abrigo.setId(1L);
-
-        given(abrigoRepository.findById(1L)).willReturn(Optional.of(abrigo));
-        given(petRepository.findByAbrigo(abrigo)).willReturn(Arrays.asList());
+        given(abrigoRepository.existsById(1L)).willReturn(true);
+        given(petRepository.buscarPorAbrigo(1L)).willReturn(Arrays.asList());
 
         // ACT
         List<PetDto> resultado = abrigoService.listarPetsDoAbrigo("1");
@@ -276,16 +269,16 @@ class AbrigoServiceTest {
         // ASSERT
         assertNotNull(resultado);
         assertTrue(resultado.isEmpty());
-        then(abrigoRepository).should().findById(1L);
-        then(petRepository).should().findByAbrigo(abrigo);
+        then(abrigoRepository).should().existsById(1L);
+        then(petRepository).should().buscarPorAbrigo(1L);
     }
 
     @Test
     @DisplayName("Deveria lançar exceção quando abrigo não for encontrado na listagem de pets")
     void deveriaLancarExcecaoQuandoAbrigoNaoForEncontradoNaListagemDePets() {
         // ARRANGE
-        given(abrigoRepository.findById(999L)).willReturn(Optional.empty());
-        given(abrigoRepository.findByNome("Abrigo Inexistente")).willReturn(Optional.empty());
+        given(abrigoRepository.existsById(999L)).willReturn(false);
+        given(abrigoRepository.findIdByNome("Abrigo Inexistente")).willReturn(Optional.empty());
 
         // ACT & ASSERT
         ValidacaoException exception = assertThrows(ValidacaoException.class, () -> {
@@ -300,6 +293,7 @@ class AbrigoServiceTest {
         });
 
         assertEquals("Abrigo não encontrado", exceptionPorNome.getMessage());
+        then(petRepository).shouldHaveNoInteractions();
     }
 
     // ==================== TESTES DE CARREGAR ABRIGO ====================
@@ -311,7 +305,8 @@ class AbrigoServiceTest {
         Abrigo abrigo = new Abrigo(new CadastroAbrigoDto("Abrigo ID", "(11)99999-9999", "id@email.com"));
         abrigo.setId(1L);
 
-        given(abrigoRepository.findById(1L)).willReturn(Optional.of(abrigo));
+        given(abrigoRepository.existsById(1L)).willReturn(true);
+        given(abrigoRepository.getReferenceById(1L)).willReturn(abrigo);
 
         // ACT
         Abrigo resultado = abrigoService.carregarAbrigo("1");
@@ -320,8 +315,8 @@ class AbrigoServiceTest {
         assertNotNull(resultado);
         assertEquals(1L, resultado.getId());
         assertEquals("Abrigo ID", resultado.getNome());
-        then(abrigoRepository).should().findById(1L);
-        then(abrigoRepository).should(never()).findByNome(anyString());
+        then(abrigoRepository).should().existsById(1L);
+        then(abrigoRepository).should(never()).findIdByNome(anyString());
     }
 
     @Test
@@ -331,7 +326,8 @@ class AbrigoServiceTest {
         Abrigo abrigo = new Abrigo(new CadastroAbrigoDto("Abrigo por Nome", "(11)99999-9999", "nome@email.com"));
         abrigo.setId(2L);
 
-        given(abrigoRepository.findByNome("Abrigo por Nome")).willReturn(Optional.of(abrigo));
+        given(abrigoRepository.findIdByNome("Abrigo por Nome")).willReturn(Optional.of(2L));
+        given(abrigoRepository.getReferenceById(2L)).willReturn(abrigo);
 
         // ACT
         Abrigo resultado = abrigoService.carregarAbrigo("Abrigo por Nome");
@@ -340,15 +336,15 @@ class AbrigoServiceTest {
         assertNotNull(resultado);
         assertEquals(2L, resultado.getId());
         assertEquals("Abrigo por Nome", resultado.getNome());
-        then(abrigoRepository).should().findByNome("Abrigo por Nome");
-        then(abrigoRepository).should(never()).findById(any(Long.class));
+        then(abrigoRepository).should().findIdByNome("Abrigo por Nome");
+        then(abrigoRepository).should(never()).existsById(any(Long.class));
     }
 
     @Test
     @DisplayName("Deveria lançar exceção quando ID não for encontrado")
     void deveriaLancarExcecaoQuandoIdNaoForEncontrado() {
         // ARRANGE
-        given(abrigoRepository.findById(999L)).willReturn(Optional.empty());
+        given(abrigoRepository.existsById(999L)).willReturn(false);
 
         // ACT & ASSERT
         ValidacaoException exception = assertThrows(ValidacaoException.class, () -> {
@@ -356,14 +352,15 @@ class AbrigoServiceTest {
         });
 
         assertEquals("Abrigo não encontrado", exception.getMessage());
-        then(abrigoRepository).should().findById(999L);
+        then(abrigoRepository).should().existsById(999L);
+        then(abrigoRepository).should(never()).getReferenceById(any(Long.class));
     }
 
     @Test
     @DisplayName("Deveria lançar exceção quando nome não for encontrado")
     void deveriaLancarExcecaoQuandoNomeNaoForEncontrado() {
         // ARRANGE
-        given(abrigoRepository.findByNome("Nome Inexistente")).willReturn(Optional.empty());
+        given(abrigoRepository.findIdByNome("Nome Inexistente")).willReturn(Optional.empty());
 
         // ACT & ASSERT
         ValidacaoException exception = assertThrows(ValidacaoException.class, () -> {
@@ -371,61 +368,74 @@ class AbrigoServiceTest {
         });
 
         assertEquals("Abrigo não encontrado", exception.getMessage());
-        then(abrigoRepository).should().findByNome("Nome Inexistente");
+        then(abrigoRepository).should().findIdByNome("Nome Inexistente");
     }
 
     @Test
-    @DisplayName("Deveria tratar NumberFormatException e buscar por nome")
-    void deveriaTratarNumberFormatExceptionEBuscarPorNome() {
+    @DisplayName("Deveria buscar por nome quando o valor não for um número")
+    void deveriaBuscarPorNomeQuandoValorNaoForNumero() {
         // ARRANGE
-        Abrigo abrigo = new Abrigo(new CadastroAbrigoDto("Abrigo com ID Inválido", "(11)99999-9999", "invalido@email.com"));
-        abrigo.setId(3L);
-
-        given(abrigoRepository.findByNome("123abc")).willReturn(Optional.of(abrigo));
+        given(abrigoRepository.findIdByNome("123abc")).willReturn(Optional.of(3L));
+        given(abrigoRepository.findIdByNome("-5")).willReturn(Optional.of(4L));
 
         // ACT
-        Abrigo resultado = abrigoService.carregarAbrigo("123abc");
+        abrigoService.carregarAbrigo("123abc");
+        abrigoService.carregarAbrigo("-5");
 
         // ASSERT
-        assertNotNull(resultado);
-        assertEquals("Abrigo com ID Inválido", resultado.getNome());
-        then(abrigoRepository).should().findByNome("123abc");
+        then(abrigoRepository).should().getReferenceById(3L);
+        then(abrigoRepository).should().getReferenceById(4L);
+        then(abrigoRepository).should(never()).existsById(any(Long.class));
     }
 
-    // ==================== TESTES DE INTEGRAÇÃO ENTRE MÉTODOS ====================
+    @Test
+    @DisplayName("Deveria consultar o banco apenas na primeira resolução do abrigo")
+    void deveriaConsultarBancoApenasNaPrimeiraResolucao() {
+        // ARRANGE
+        given(abrigoRepository.findIdByNome("Abrigo Feliz")).willReturn(Optional.of(5L));
+
+        // ACT
+        abrigoService.carregarAbrigo("Abrigo Feliz");
+        abrigoService.carregarAbrigo("Abrigo Feliz");
+        abrigoService.listarPetsDoAbrigo("Abrigo Feliz");
+
+        // ASSERT
+        then(abrigoRepository).should(times(1)).findIdByNome("Abrigo Feliz");
+        then(abrigoRepository).should(times(2)).getReferenceById(5L);
+        then(petRepository).should().buscarPorAbrigo(5L);
+    }
 
     @Test
-    @DisplayName("Deveria usar abrigo carregado para listar pets")
-    void deveriaUsarAbrigoCarregadoParaListarPets() {
+    @DisplayName("Não deveria guardar no cache abrigo não encontrado")
+    void naoDeveriaGuardarNoCacheAbrigoNaoEncontrado() {
         // ARRANGE
-        Abrigo abrigo = new Abrigo(new CadastroAbrigoDto("Abrigo Integrado", "(11)99999-9999", "integrado@email.com"));
-        abrigo.setId(1L);
+        given(abrigoRepository.findIdByNome("Abrigo Novo")).willReturn(Optional.empty(), Optional.of(6L));
+        assertThrows(ValidacaoException.class, () -> abrigoService.carregarAbrigo("Abrigo Novo"));
+
+        // ACT
+        abrigoService.carregarAbrigo("Abrigo Novo");
 
-        Pet pet = criarPet(1L, "Pet Integrado", TipoPet.CACHORRO, "SRD", 1, abrigo);
+        // ASSERT
+        then(abrigoRepository).should().getReferenceById(6L);
+    }
 
-        given(abrigoRepository.findById(1L)).willReturn(Optional.of(abrigo));
-        given(petRepository.findByAbrigo(abrigo)).willReturn(Arrays.asList(pet));
+    @Test
+    @DisplayName("Deveria invalidar o cache ao cadastrar abrigo")
+    void deveriaInvalidarCacheAoCadastrarAbrigo() {
+        // ARRANGE
+        CadastroAbrigoDto dto = new CadastroAbrigoDto("Abrigo Novo", "(11)99999-9999", "novo@email.com");
+        given(abrigoRepository.save(any(Abrigo.class))).willAnswer(invocation -> invocation.getArgument(0));
 
         // ACT
-        List<PetDto> resultado = abrigoService.listarPetsDoAbrigo("1");
+        abrigoService.cadatrar(dto);
 
         // ASSERT
-        assertEquals(1, resultado.size());
-        assertEquals("Pet Integrado", resultado.get(0).nome());
-        then(abrigoRepository).should().findById(1L);
-        then(petRepository).should().findByAbrigo(abrigo);
+        then(cacheIdsAbrigos).should().invalidarAposCommit();
     }
 
     // ==================== MÉTODOS AUXILIARES ====================
 
-    private Pet criarPet(Long id, String nome, TipoPet tipo, String raca, Integer idade, Abrigo abrigo) {
-        Pet pet = new Pet();
-        pet.setId(id);
-        pet.setNome(nome);
-        pet.setTipo(tipo);
-        pet.setRaca(raca);
-        pet.setIdade(idade);
-        pet.setAbrigo(abrigo);
-        return pet;
+    private PetDto criarPetDto(Long id, String nome, TipoPet tipo, String raca, Integer idade) {
+        return new PetDto(id, tipo, nome, raca, idade);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,142 @@
+package br.com.alura.adopet.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdmissaoSolicitacoesAdocaoTest {
+
+    private final AdocaoService adocaoService = mock(AdocaoService.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AdmissaoSolicitacoesAdocao admissao = new AdmissaoSolicitacoesAdocao(
+            adocaoService, TransactionOperations.withoutTransaction(), meterRegistry, 1024, 100);
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private final CountDownLatch dentroDaAcao = new CountDownLatch(1);
+    private final CountDownLatch liberarAcao = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        liberarAcao.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deveria repassar a solicitação ao AdocaoService")
+    void deveriaRepassarSolicitacaoAoService() {
+        // ARRANGE
+        SolicitacaoAdocaoDto dto = new SolicitacaoAdocaoDto(1L, 2L, "Motivo qualquer");
+
+        // ACT
+        admissao.solicitar(dto);
+
+        // ASSERT
+        then(adocaoService).should().solicitar(dto);
+        assertEquals(1, meterRegistry.get("adopet.adocao.admissao.espera").tags("trava", "pet", "resultado", "obtida").timer().count());
+        assertEquals(1, meterRegistry.get("adopet.adocao.admissao.espera").tags("trava", "tutor", "resultado", "obtida").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deveria esgotar a espera quando outra solicitação segura o mesmo pet")
+    void deveriaEsgotarEsperaComOutraSolicitacaoParaOMesmoPet() throws Exception {
+        // ARRANGE
+        Future<?> primeira = segurarLocks(1L, 10L);
+
+        // ACT & ASSERT
+        assertThrows(CannotAcquireLockException.class, () -> admissao.executar(1L, 20L, () -> {}));
+        assertEquals(1, meterRegistry.get("adopet.adocao.admissao.espera").tags("trava", "pet", "resultado", "expirada").timer().count());
+
+        liberarAcao.countDown();
+        primeira.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Deveria esgotar a espera quando outra solicitação segura o mesmo tutor")
+    void deveriaEsgotarEsperaComOutraSolicitacaoParaOMesmoTutor() throws Exception {
+        // ARRANGE
+        segurarLocks(1L, 10L);
+
+        // ACT & ASSERT
+        assertThrows(CannotAcquireLockException.class, () -> admissao.executar(2L, 10L, () -> {}));
+        assertEquals(1, meterRegistry.get("adopet.adocao.admissao.espera").tags("trava", "tutor", "resultado", "expirada").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deveria processar em paralelo solicitações para pets e tutores diferentes")
+    void deveriaProcessarEmParaleloPetsETutoresDiferentes() throws Exception {
+        // ARRANGE
+        segurarLocks(1L, 10L);
+        boolean[] executou = new boolean[1];
+
+        // ACT
+        admissao.executar(2L, 20L, () -> executou[0] = true);
+
+        // ASSERT
+        assertTrue(executou[0]);
+    }
+
+    @Test
+    @DisplayName("Deveria liberar os locks mesmo quando a solicitação falha")
+    void deveriaLiberarLocksQuandoSolicitacaoFalha() {
+        // ARRANGE
+        assertThrows(IllegalStateException.class, () -> admissao.executar(1L, 10L, () -> {
+            throw new IllegalStateException("falha");
+        }));
+        boolean[] executou = new boolean[1];
+
+        // ACT
+        admissao.executar(1L, 10L, () -> executou[0] = true);
+
+        // ASSERT
+        assertTrue(executou[0]);
+    }
+
+    @Test
+    @DisplayName("Deveria distribuir ids consecutivos em listras diferentes")
+    void deveriaDistribuirIdsConsecutivosEmListrasDiferentes() {
+        assertNotEquals(admissao.listra(1L), admissao.listra(2L));
+        assertEquals(admissao.listra(1L), admissao.listra(1025L));
+    }
+
+    @Test
+    @DisplayName("Deveria recusar número de listras que não é potência de 2")
+    void deveriaRecusarNumeroDeListrasQueNaoEPotenciaDeDois() {
+        assertThrows(IllegalArgumentException.class, () -> new AdmissaoSolicitacoesAdocao(
+                adocaoService, TransactionOperations.withoutTransaction(), meterRegistry, 1000, 100));
+    }
+
+    // Outra thread obtém os locks do pet e do tutor e os segura até liberarAcao
+    private Future<?> segurarLocks(Long idPet, Long idTutor) throws InterruptedException {
+        Future<?> futuro = executor.submit(() -> admissao.executar(idPet, idTutor, () -> {
+            dentroDaAcao.countDown();
+            try {
+                liberarAcao.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(dentroDaAcao.await(5, TimeUnit.SECONDS));
+        return futuro;
+    }
+}
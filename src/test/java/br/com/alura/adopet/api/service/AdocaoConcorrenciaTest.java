@@ -0,0 +1,144 @@
+package br.com.alura.adopet.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.CadastroTutorDto;
+import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
+import br.com.alura.adopet.api.model.Abrigo;
+import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.StatusAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+import br.com.alura.adopet.api.model.Tutor;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Várias threads solicitam ao mesmo tempo a adoção do mesmo pet, cada uma com um tutor diferente
+ * e na sua própria transação, como no {@code POST /adocoes}. Para cada pet, exatamente uma
+ * solicitação deve ser gravada; as demais falham pela validação, pela versão do pet ou pelo
+ * índice parcial.
+ */
+@SpringBootTest(properties = "adopet.outbox.habilitado=false")
+class AdocaoConcorrenciaTest {
+
+    private static final int PETS = 20;
+    private static final int SOLICITACOES_POR_PET = 8;
+    private static final String EMAIL_ABRIGO = "concorrencia@abrigo.com";
+
+    @Autowired
+    private AdocaoService service;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long idAbrigo;
+    private final List<Long> idsPets = new ArrayList<>();
+    private final List<Long> idsTutores = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Abrigo abrigo = new Abrigo(new CadastroAbrigoDto("Abrigo Concorrência", "(21)3333-0000", EMAIL_ABRIGO));
+            entityManager.persist(abrigo);
+            idAbrigo = abrigo.getId();
+            for (int i = 0; i < PETS; i++) {
+                Pet pet = new Pet(new CadastroPetDto(TipoPet.GATO, "Concorrido " + i, "SRD", 2, "Preto", 4.0f), abrigo);
+                entityManager.persist(pet);
+                idsPets.add(pet.getId());
+            }
+            for (int i = 0; i < PETS * SOLICITACOES_POR_PET; i++) {
+                Tutor tutor = new Tutor(new CadastroTutorDto("Tutor Concorrência " + i, String.format("(21)9%04d-0000", i), "concorrencia" + i + "@tutor.com"));
+                entityManager.persist(tutor);
+                idsTutores.add(tutor.getId());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM EmailPendente e WHERE e.destinatario = :email").setParameter("email", EMAIL_ABRIGO).executeUpdate();
+            entityManager.createQuery("DELETE FROM Adocao a WHERE a.pet.id IN :pets").setParameter("pets", idsPets).executeUpdate();
+            entityManager.createQuery("DELETE FROM Pet p WHERE p.id IN :pets").setParameter("pets", idsPets).executeUpdate();
+            entityManager.createQuery("DELETE FROM Tutor t WHERE t.id IN :tutores").setParameter("tutores", idsTutores).executeUpdate();
+            entityManager.createQuery("DELETE FROM Abrigo a WHERE a.id = :id").setParameter("id", idAbrigo).executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("Deveria gravar uma única adoção em andamento por pet com solicitações simultâneas")
+    void deveriaGravarUmaUnicaAdocaoEmAndamentoPorPet() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(SOLICITACOES_POR_PET);
+        try {
+            for (int p = 0; p < PETS; p++) {
+                // ARRANGE
+                Long idPet = idsPets.get(p);
+                CountDownLatch largada = new CountDownLatch(1);
+                List<Future<Boolean>> resultados = new ArrayList<>();
+                for (int t = 0; t < SOLICITACOES_POR_PET; t++) {
+                    Long idTutor = idsTutores.get(p * SOLICITACOES_POR_PET + t);
+                    resultados.add(executor.submit(() -> {
+                        largada.await();
+                        return solicitar(new SolicitacaoAdocaoDto(idPet, idTutor, "Motivo qualquer"));
+                    }));
+                }
+
+                // ACT
+                largada.countDown();
+                int gravadas = 0;
+                for (Future<Boolean> resultado : resultados) {
+                    if (resultado.get(30, TimeUnit.SECONDS)) {
+                        gravadas++;
+                    }
+                }
+
+                // ASSERT
+                assertEquals(1, gravadas, "solicitações gravadas para o pet " + idPet);
+                assertEquals(1L, contarEmAndamento(idPet), "adoções em andamento do pet " + idPet);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Mesma fronteira de transação do AdocaoController; devolve se a solicitação foi gravada
+    private boolean solicitar(SolicitacaoAdocaoDto dto) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> service.solicitar(dto));
+            return true;
+        } catch (ValidacaoException | ObjectOptimisticLockingFailureException | DataIntegrityViolationException exception) {
+            return false;
+        }
+    }
+
+    private long contarEmAndamento(Long idPet) {
+        return transactionTemplate.execute(status -> entityManager
+                .createQuery("SELECT COUNT(a) FROM Adocao a WHERE a.pet.id = :pet AND a.status = :status", Long.class)
+                .setParameter("pet", idPet)
+                .setParameter("status", StatusAdocao.AGUARDANDO_AVALIACAO)
+                .getSingleResult());
+    }
+}
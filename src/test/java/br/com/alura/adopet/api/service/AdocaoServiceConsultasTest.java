@@ -0,0 +1,100 @@
+package br.com.alura.adopet.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.alura.adopet.api.dto.AprovacaoAdocaoDto;
+import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.CadastroTutorDto;
+import br.com.alura.adopet.api.dto.ReprovacaoAdocaoDto;
+import br.com.alura.adopet.api.model.Abrigo;
+import br.com.alura.adopet.api.model.Adocao;
+import br.com.alura.adopet.api.model.EmailPendente;
+import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.TipoPet;
+import br.com.alura.adopet.api.model.Tutor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Conta os comandos SQL de aprovação e reprovação contra o banco real: a adoção deve vir com
+ * tutor, pet e abrigo em um único SELECT, sem carregamentos lazy ao montar o e-mail.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "adopet.outbox.habilitado=false"
+})
+@Transactional
+class AdocaoServiceConsultasTest {
+
+    @Autowired
+    private AdocaoService service;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    private Long idAdocao;
+
+    @BeforeEach
+    void setUp() {
+        Abrigo abrigo = new Abrigo(new CadastroAbrigoDto("Abrigo Consultas", "(21)3333-4444", "consultas@abrigo.com"));
+        Pet pet = new Pet(new CadastroPetDto(TipoPet.CACHORRO, "Rex", "SRD", 3, "Caramelo", 12.0f), abrigo);
+        Tutor tutor = new Tutor(new CadastroTutorDto("Tutor Consultas", "(21)99999-8888", "consultas@tutor.com"));
+        Adocao adocao = new Adocao(tutor, pet, "Motivo qualquer");
+        entityManager.persist(abrigo);
+        entityManager.persist(pet);
+        entityManager.persist(tutor);
+        entityManager.persist(adocao);
+        // Reserva um bloco da sequence de e-mails, para que o e-mail da avaliação não vá à sequence.
+        // Na primeira chamada o otimizador pooled obtém um único id, por isso dois e-mails
+        entityManager.persist(new EmailPendente("aquecimento@email.com", "Aquecimento", "Aquecimento"));
+        entityManager.persist(new EmailPendente("aquecimento@email.com", "Aquecimento", "Aquecimento"));
+        entityManager.flush();
+        entityManager.clear();
+        idAdocao = adocao.getId();
+
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    @DisplayName("Deveria aprovar com um SELECT, o insert do e-mail e o update da adoção")
+    void deveriaAprovarComTresComandos() {
+        // ACT
+        service.aprovar(new AprovacaoAdocaoDto(idAdocao));
+        entityManager.flush();
+
+        // ASSERT
+        assertEquals(1, estatisticas.getQueryExecutionCount());
+        assertEquals(0, estatisticas.getEntityFetchCount());
+        assertEquals(3, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deveria reprovar com um SELECT, o insert do e-mail e o update da adoção")
+    void deveriaReprovarComTresComandos() {
+        // ACT
+        service.reprovar(new ReprovacaoAdocaoDto(idAdocao, "Justificativa qualquer"));
+        entityManager.flush();
+
+        // ASSERT
+        assertEquals(1, estatisticas.getQueryExecutionCount());
+        assertEquals(0, estatisticas.getEntityFetchCount());
+        assertEquals(3, estatisticas.getPrepareStatementCount());
+    }
+}
@@ -1,8 +1,6 @@
 package br.com.alura.adopet.api.service;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.times;
@@ -10,6 +8,7 @@ import static org.mockito.Mockito.times;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,14 +25,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import br.com.alura.adopet.api.dto.AprovacaoAdocaoDto;
 import br.com.alura.adopet.api.dto.ReprovacaoAdocaoDto;
 import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.Abrigo;
 import br.com.alura.adopet.api.model.Adocao;
+import br.com.alura.adopet.api.model.EmailPendente;
 import br.com.alura.adopet.api.model.Pet;
 import br.com.alura.adopet.api.model.Tutor;
 import br.com.alura.adopet.api.repository.AdocaoRepository;
+import br.com.alura.adopet.api.repository.EmailPendenteRepository;
 import br.com.alura.adopet.api.repository.PetRepository;
 import br.com.alura.adopet.api.repository.TutorRepository;
+import br.com.alura.adopet.api.validacoes.ContextoSolicitacaoAdocao;
 import br.com.alura.adopet.api.validacoes.ValidacaoSolicitacaoAdocao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class AdocaoServiceTest {
@@ -51,11 +55,20 @@ class AdocaoServiceTest {
     private TutorRepository tutorRepository;
 
     @Mock
-    private EmailService emailService;
+    private EmailPendenteRepository emailPendenteRepository;
+
+    @Mock
+    private PetService petService;
 
     @Spy
     private List<ValidacaoSolicitacaoAdocao> validacoes = new ArrayList<>();
 
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TemplatesEmailAdocao templatesEmail = new TemplatesEmailAdocao();
+
     @Mock
     private ValidacaoSolicitacaoAdocao validador1;
 
@@ -74,6 +87,8 @@ class AdocaoServiceTest {
     @Mock
     private Adocao adocao;
 
+    private ContextoSolicitacaoAdocao contexto;
+
     private SolicitacaoAdocaoDto solicitacaoDto;
     private AprovacaoAdocaoDto aprovacaoDto;
     private ReprovacaoAdocaoDto reprovacaoDto;
@@ -81,11 +96,15 @@ class AdocaoServiceTest {
     @Captor
     private ArgumentCaptor<Adocao> adocaoCaptor;
 
+    @Captor
+    private ArgumentCaptor<EmailPendente> emailCaptor;
+
     @BeforeEach
     void setUp() {
         this.solicitacaoDto = new SolicitacaoAdocaoDto(10L, 20L, "Motivo qualquer");
         this.aprovacaoDto = new AprovacaoAdocaoDto(1L);
         this.reprovacaoDto = new ReprovacaoAdocaoDto(1L, "Justificativa de reprovação");
+        this.contexto = new ContextoSolicitacaoAdocao(false, 0L, 0L, 0L);
     }
 
     // ==================== TESTES DE SOLICITAÇÃO ====================
@@ -93,8 +112,10 @@ class AdocaoServiceTest {
     @Test
     void deveriaSalvarAdocaoAoSolicitar() {
         // ARRANGE
-        given(petRepository.getReferenceById(solicitacaoDto.idPet())).willReturn(pet);
+        given(petRepository.buscarParaSolicitacao(solicitacaoDto.idPet())).willReturn(Optional.of(pet));
         given(tutorRepository.getReferenceById(solicitacaoDto.idTutor())).willReturn(tutor);
+        given(repository.carregarContextoSolicitacao(solicitacaoDto.idPet(), solicitacaoDto.idTutor()))
+            .willReturn(Optional.of(contexto));
         given(pet.getAbrigo()).willReturn(abrigo);
         given(abrigo.getEmail()).willReturn("abrigo@email.com");
 
@@ -112,8 +133,10 @@ class AdocaoServiceTest {
     @Test
     void deveriaChamarValidadoresDeAdocaoAoSolicitar() {
         // ARRANGE
-        given(petRepository.getReferenceById(solicitacaoDto.idPet())).willReturn(pet);
+        given(petRepository.buscarParaSolicitacao(solicitacaoDto.idPet())).willReturn(Optional.of(pet));
         given(tutorRepository.getReferenceById(solicitacaoDto.idTutor())).willReturn(tutor);
+        given(repository.carregarContextoSolicitacao(solicitacaoDto.idPet(), solicitacaoDto.idTutor()))
+            .willReturn(Optional.of(contexto));
         given(pet.getAbrigo()).willReturn(abrigo);
         given(abrigo.getEmail()).willReturn("abrigo@email.com");
         validacoes.add(validador1);
@@ -123,15 +146,17 @@ class AdocaoServiceTest {
         service.solicitar(solicitacaoDto);
 
         // ASSERT
-        BDDMockito.then(validador1).should().validar(solicitacaoDto);
-        BDDMockito.then(validador2).should().validar(solicitacaoDto);
+        BDDMockito.then(validador1).should().validar(solicitacaoDto, contexto);
+        BDDMockito.then(validador2).should().validar(solicitacaoDto, contexto);
     }
 
     @Test
     void deveriaEnviarEmailAoAbrigoAoSolicitar() {
         // ARRANGE
-        given(petRepository.getReferenceById(solicitacaoDto.idPet())).willReturn(pet);
+        given(petRepository.buscarParaSolicitacao(solicitacaoDto.idPet())).willReturn(Optional.of(pet));
         given(tutorRepository.getReferenceById(solicitacaoDto.idTutor())).willReturn(tutor);
+        given(repository.carregarContextoSolicitacao(solicitacaoDto.idPet(), solicitacaoDto.idTutor()))
+            .willReturn(Optional.of(contexto));
         given(pet.getAbrigo()).willReturn(abrigo);
         given(abrigo.getEmail()).willReturn("abrigo@email.com");
         given(abrigo.getNome()).willReturn("Abrigo Feliz");
@@ -141,18 +166,18 @@ class AdocaoServiceTest {
         service.solicitar(solicitacaoDto);
 
         // ASSERT
-        then(emailService).should().enviarEmail(
-            eq("abrigo@email.com"),
-            eq("Solicitação de adoção"),
-            anyString()
-        );
+        then(emailPendenteRepository).should().save(emailCaptor.capture());
+        Assertions.assertEquals("abrigo@email.com", emailCaptor.getValue().getDestinatario());
+        Assertions.assertEquals("Solicitação de adoção", emailCaptor.getValue().getAssunto());
     }
 
     @Test
     void deveriaBuscarPetEtutorPorIdAoSolicitar() {
         // ARRANGE
-        given(petRepository.getReferenceById(solicitacaoDto.idPet())).willReturn(pet);
+        given(petRepository.buscarParaSolicitacao(solicitacaoDto.idPet())).willReturn(Optional.of(pet));
         given(tutorRepository.getReferenceById(solicitacaoDto.idTutor())).willReturn(tutor);
+        given(repository.carregarContextoSolicitacao(solicitacaoDto.idPet(), solicitacaoDto.idTutor()))
+            .willReturn(Optional.of(contexto));
         given(pet.getAbrigo()).willReturn(abrigo);
         given(abrigo.getEmail()).willReturn("abrigo@email.com");
 
@@ -160,16 +185,63 @@ class AdocaoServiceTest {
         service.solicitar(solicitacaoDto);
 
         // ASSERT
-        then(petRepository).should().getReferenceById(solicitacaoDto.idPet());
+        then(petRepository).should().buscarParaSolicitacao(solicitacaoDto.idPet());
         then(tutorRepository).should().getReferenceById(solicitacaoDto.idTutor());
     }
 
+    @Test
+    void deveriaCarregarContextoDasValidacoesUmaUnicaVezAoSolicitar() {
+        // ARRANGE
+        given(petRepository.buscarParaSolicitacao(solicitacaoDto.idPet())).willReturn(Optional.of(pet));
+        given(tutorRepository.getReferenceById(solicitacaoDto.idTutor())).willReturn(tutor);
+        given(repository.carregarContextoSolicitacao(solicitacaoDto.idPet(), solicitacaoDto.idTutor()))
+            .willReturn(Optional.of(contexto));
+        given(pet.getAbrigo()).willReturn(abrigo);
+        given(abrigo.getEmail()).willReturn("abrigo@email.com");
+        validacoes.add(validador1);
+        validacoes.add(validador2);
+
+        // ACT
+        service.solicitar(solicitacaoDto);
+
+        // ASSERT
+        then(repository).should(times(1)).carregarContextoSolicitacao(solicitacaoDto.idPet(), solicitacaoDto.idTutor());
+        then(validador1).should(times(0)).validar(solicitacaoDto);
+        then(validador2).should(times(0)).validar(solicitacaoDto);
+    }
+
+    @Test
+    void deveriaLancarExcecaoQuandoPetDaSolicitacaoNaoExiste() {
+        // ARRANGE
+        given(petRepository.buscarParaSolicitacao(solicitacaoDto.idPet())).willReturn(Optional.of(pet));
+        given(tutorRepository.getReferenceById(solicitacaoDto.idTutor())).willReturn(tutor);
+        given(repository.carregarContextoSolicitacao(solicitacaoDto.idPet(), solicitacaoDto.idTutor()))
+            .willReturn(Optional.empty());
+
+        // ACT & ASSERT
+        ValidacaoException exception = Assertions.assertThrows(ValidacaoException.class, () -> service.solicitar(solicitacaoDto));
+        Assertions.assertEquals("Pet não encontrado!", exception.getMessage());
+        then(repository).should(times(0)).save(any(Adocao.class));
+    }
+
+    @Test
+    void deveriaLancarExcecaoQuandoPetNaoForEncontradoParaSolicitacao() {
+        // ARRANGE
+        given(petRepository.buscarParaSolicitacao(solicitacaoDto.idPet())).willReturn(Optional.empty());
+
+        // ACT & ASSERT
+        ValidacaoException exception = Assertions.assertThrows(ValidacaoException.class, () -> service.solicitar(solicitacaoDto));
+        Assertions.assertEquals("Pet não encontrado!", exception.getMessage());
+        then(repository).should(times(0)).carregarContextoSolicitacao(any(), any());
+        then(repository).should(times(0)).save(any(Adocao.class));
+    }
+
     // ==================== TESTES DE APROVAÇÃO ====================
 
     @Test
     void deveriaMarcarAdocaoComoAprovada() {
         // ARRANGE
-        given(repository.getReferenceById(aprovacaoDto.idAdocao())).willReturn(adocao);
+        given(repository.buscarParaAvaliacao(aprovacaoDto.idAdocao())).willReturn(Optional.of(adocao));
         given(adocao.getPet()).willReturn(pet);
         given(adocao.getTutor()).willReturn(tutor);
         given(pet.getAbrigo()).willReturn(abrigo);
@@ -189,7 +261,7 @@ class AdocaoServiceTest {
     @Test
     void deveriaEnviarEmailAoAbrigoAoAprovar() {
         // ARRANGE
-        given(repository.getReferenceById(aprovacaoDto.idAdocao())).willReturn(adocao);
+        given(repository.buscarParaAvaliacao(aprovacaoDto.idAdocao())).willReturn(Optional.of(adocao));
         given(adocao.getPet()).willReturn(pet);
         given(adocao.getTutor()).willReturn(tutor);
         given(pet.getAbrigo()).willReturn(abrigo);
@@ -203,17 +275,35 @@ class AdocaoServiceTest {
         service.aprovar(aprovacaoDto);
 
         // ASSERT
-        then(emailService).should().enviarEmail(
-            eq("abrigo@email.com"),
-            eq("Adoção aprovada"),
-            anyString()
-        );
+        then(emailPendenteRepository).should().save(emailCaptor.capture());
+        Assertions.assertEquals("abrigo@email.com", emailCaptor.getValue().getDestinatario());
+        Assertions.assertEquals("Adoção aprovada", emailCaptor.getValue().getAssunto());
     }
 
     @Test
     void deveriaBuscarAdocaoPorIdAoAprovar() {
         // ARRANGE
-        given(repository.getReferenceById(aprovacaoDto.idAdocao())).willReturn(adocao);
+        given(repository.buscarParaAvaliacao(aprovacaoDto.idAdocao())).willReturn(Optional.of(adocao));
+        given(adocao.getPet()).willReturn(pet);
+        given(adocao.getTutor()).willReturn(tutor);
+        given(pet.getAbrigo()).willReturn(abrigo);
+        given(abrigo.getEmail()).willReturn("abrigo@email.com");
+        given(tutor.getNome()).willReturn("João Silva");
+        given(pet.getNome()).willReturn("Rex");
+        given(abrigo.getNome()).willReturn("Abrigo Feliz");
+        given(adocao.getData()).willReturn(LocalDateTime.now());
+
+        // ACT
+        service.aprovar(aprovacaoDto);
+
+        // ASSERT
+        then(repository).should().buscarParaAvaliacao(aprovacaoDto.idAdocao());
+    }
+
+    @Test
+    void deveriaInvalidarPetsDisponiveisAoAprovar() {
+        // ARRANGE
+        given(repository.buscarParaAvaliacao(aprovacaoDto.idAdocao())).willReturn(Optional.of(adocao));
         given(adocao.getPet()).willReturn(pet);
         given(adocao.getTutor()).willReturn(tutor);
         given(pet.getAbrigo()).willReturn(abrigo);
@@ -227,14 +317,14 @@ class AdocaoServiceTest {
         service.aprovar(aprovacaoDto);
 
         // ASSERT
-        then(repository).should().getReferenceById(aprovacaoDto.idAdocao());
+        then(petService).should().invalidarPetsDisponiveis();
     }
 
     @Test
     void deveriaIncluirNomeDoTutorNoEmailDeAprovacao() {
         // ARRANGE
         String nomeTutor = "Maria Santos";
-        given(repository.getReferenceById(aprovacaoDto.idAdocao())).willReturn(adocao);
+        given(repository.buscarParaAvaliacao(aprovacaoDto.idAdocao())).willReturn(Optional.of(adocao));
         given(adocao.getPet()).willReturn(pet);
         given(adocao.getTutor()).willReturn(tutor);
         given(pet.getAbrigo()).willReturn(abrigo);
@@ -248,22 +338,31 @@ class AdocaoServiceTest {
         service.aprovar(aprovacaoDto);
 
         // ASSERT
-        ArgumentCaptor<String> mensagemCaptor = ArgumentCaptor.forClass(String.class);
-        then(emailService).should().enviarEmail(
-            anyString(),
-            anyString(),
-            mensagemCaptor.capture()
-        );
-        String mensagem = mensagemCaptor.getValue();
+        then(emailPendenteRepository).should().save(emailCaptor.capture());
+        String mensagem = emailCaptor.getValue().getMensagem();
         Assertions.assertTrue(mensagem.contains(nomeTutor));
     }
 
+    @Test
+    void deveriaLancarExcecaoAoAprovarAdocaoInexistente() {
+        // ARRANGE
+        given(repository.buscarParaAvaliacao(aprovacaoDto.idAdocao())).willReturn(Optional.empty());
+
+        // ACT
+        ValidacaoException exception = Assertions.assertThrows(ValidacaoException.class, () -> service.aprovar(aprovacaoDto));
+
+        // ASSERT
+        Assertions.assertEquals("Adoção não encontrada!", exception.getMessage());
+        then(emailPendenteRepository).shouldHaveNoInteractions();
+        then(petService).shouldHaveNoInteractions();
+    }
+
     // ==================== TESTES DE REPROVAÇÃO ====================
 
     @Test
     void deveriaMarcarAdocaoComoReprovadaComJustificativa() {
         // ARRANGE
-        given(repository.getReferenceById(reprovacaoDto.idAdocao())).willReturn(adocao);
+        given(repository.buscarParaAvaliacao(reprovacaoDto.idAdocao())).willReturn(Optional.of(adocao));
         given(adocao.getPet()).willReturn(pet);
         given(adocao.getTutor()).willReturn(tutor);
         given(pet.getAbrigo()).willReturn(abrigo);
@@ -284,7 +383,7 @@ class AdocaoServiceTest {
     @Test
     void deveriaEnviarEmailAoAbrigoAoReprovar() {
         // ARRANGE
-        given(repository.getReferenceById(reprovacaoDto.idAdocao())).willReturn(adocao);
+        given(repository.buscarParaAvaliacao(reprovacaoDto.idAdocao())).willReturn(Optional.of(adocao));
         given(adocao.getPet()).willReturn(pet);
         given(adocao.getTutor()).willReturn(tutor);
         given(pet.getAbrigo()).willReturn(abrigo);
@@ -299,17 +398,15 @@ class AdocaoServiceTest {
         service.reprovar(reprovacaoDto);
 
         // ASSERT
-        then(emailService).should().enviarEmail(
-            eq("abrigo@email.com"),
-            eq("Solicitação de adoção"),
-            anyString()
-        );
+        then(emailPendenteRepository).should().save(emailCaptor.capture());
+        Assertions.assertEquals("abrigo@email.com", emailCaptor.getValue().getDestinatario());
+        Assertions.assertEquals("Solicitação de adoção", emailCaptor.getValue().getAssunto());
     }
 
     @Test
     void deveriaBuscarAdocaoPorIdAoReprovar() {
         // ARRANGE
-        given(repository.getReferenceById(reprovacaoDto.idAdocao())).willReturn(adocao);
+        given(repository.buscarParaAvaliacao(reprovacaoDto.idAdocao())).willReturn(Optional.of(adocao));
         given(adocao.getPet()).willReturn(pet);
         given(adocao.getTutor()).willReturn(tutor);
         given(pet.getAbrigo()).willReturn(abrigo);
@@ -324,7 +421,7 @@ class AdocaoServiceTest {
         service.reprovar(reprovacaoDto);
 
         // ASSERT
-        then(repository).should().getReferenceById(reprovacaoDto.idAdocao());
+        then(repository).should().buscarParaAvaliacao(reprovacaoDto.idAdocao());
     }
 
     @Test
@@ -333,7 +430,7 @@ class AdocaoServiceTest {
         String justificativa = "Não possui espaço adequado";
         ReprovacaoAdocaoDto dtoComJustificativa = new ReprovacaoAdocaoDto(1L, justificativa);
         
-        given(repository.getReferenceById(dtoComJustificativa.idAdocao())).willReturn(adocao);
+        given(repository.buscarParaAvaliacao(dtoComJustificativa.idAdocao())).willReturn(Optional.of(adocao));
         given(adocao.getPet()).willReturn(pet);
         given(adocao.getTutor()).willReturn(tutor);
         given(pet.getAbrigo()).willReturn(abrigo);
@@ -348,21 +445,37 @@ class AdocaoServiceTest {
         service.reprovar(dtoComJustificativa);
 
         // ASSERT
-        ArgumentCaptor<String> mensagemCaptor = ArgumentCaptor.forClass(String.class);
-        then(emailService).should().enviarEmail(
-            anyString(),
-            anyString(),
-            mensagemCaptor.capture()
-        );
-        String mensagem = mensagemCaptor.getValue();
+        then(emailPendenteRepository).should().save(emailCaptor.capture());
+        String mensagem = emailCaptor.getValue().getMensagem();
         Assertions.assertTrue(mensagem.contains(justificativa));
     }
 
+    @Test
+    void naoDeveriaInvalidarPetsDisponiveisAoReprovar() {
+        // ARRANGE
+        given(repository.buscarParaAvaliacao(reprovacaoDto.idAdocao())).willReturn(Optional.of(adocao));
+        given(adocao.getPet()).willReturn(pet);
+        given(adocao.getTutor()).willReturn(tutor);
+        given(pet.getAbrigo()).willReturn(abrigo);
+        given(abrigo.getEmail()).willReturn("abrigo@email.com");
+        given(tutor.getNome()).willReturn("João Silva");
+        given(pet.getNome()).willReturn("Rex");
+        given(abrigo.getNome()).willReturn("Abrigo Feliz");
+        given(adocao.getData()).willReturn(LocalDateTime.now());
+        given(adocao.getJustificativaStatus()).willReturn(reprovacaoDto.justificativa());
+
+        // ACT
+        service.reprovar(reprovacaoDto);
+
+        // ASSERT
+        then(petService).shouldHaveNoInteractions();
+    }
+
     @Test
     void deveriaIncluirNomeDoTutorNoEmailDeReprovacao() {
         // ARRANGE
         String nomeTutor = "Carlos Oliveira";
-        given(repository.getReferenceById(reprovacaoDto.idAdocao())).willReturn(adocao);
+        given(repository.buscarParaAvaliacao(reprovacaoDto.idAdocao())).willReturn(Optional.of(adocao));
         given(adocao.getPet()).willReturn(pet);
         given(adocao.getTutor()).willReturn(tutor);
         given(pet.getAbrigo()).willReturn(abrigo);
@@ -377,13 +490,8 @@ class AdocaoServiceTest {
         service.reprovar(reprovacaoDto);
 
         // ASSERT
-        ArgumentCaptor<String> mensagemCaptor = ArgumentCaptor.forClass(String.class);
-        then(emailService).should().enviarEmail(
-            anyString(),
-            anyString(),
-            mensagemCaptor.capture()
-        );
-        String mensagem = mensagemCaptor.getValue();
+        then(emailPendenteRepository).should().save(emailCaptor.capture());
+        String mensagem = emailCaptor.getValue().getMensagem();
         Assertions.assertTrue(mensagem.contains(nomeTutor));
     }
 
@@ -392,8 +500,10 @@ class AdocaoServiceTest {
     @Test
     void deveriaExecutarFluxoCompletoAoSolicitar() {
         // ARRANGE
-        given(petRepository.getReferenceById(solicitacaoDto.idPet())).willReturn(pet);
+        given(petRepository.buscarParaSolicitacao(solicitacaoDto.idPet())).willReturn(Optional.of(pet));
         given(tutorRepository.getReferenceById(solicitacaoDto.idTutor())).willReturn(tutor);
+        given(repository.carregarContextoSolicitacao(solicitacaoDto.idPet(), solicitacaoDto.idTutor()))
+            .willReturn(Optional.of(contexto));
         given(pet.getAbrigo()).willReturn(abrigo);
         given(abrigo.getEmail()).willReturn("abrigo@email.com");
         given(abrigo.getNome()).willReturn("Abrigo Feliz");
@@ -404,24 +514,73 @@ class AdocaoServiceTest {
         service.solicitar(solicitacaoDto);
 
         // ASSERT
-        then(petRepository).should().getReferenceById(solicitacaoDto.idPet());
+        then(petRepository).should().buscarParaSolicitacao(solicitacaoDto.idPet());
         then(tutorRepository).should().getReferenceById(solicitacaoDto.idTutor());
-        then(validador1).should().validar(solicitacaoDto);
+        then(repository).should().carregarContextoSolicitacao(solicitacaoDto.idPet(), solicitacaoDto.idTutor());
+        then(validador1).should().validar(solicitacaoDto, contexto);
         then(repository).should().save(any(Adocao.class));
-        then(emailService).should().enviarEmail(anyString(), anyString(), anyString());
+        then(emailPendenteRepository).should().save(any(EmailPendente.class));
     }
 
     @Test
     void naoDeveriaSalvarAdocaoSeValidacaoFalhar() {
         // ARRANGE
-        given(petRepository.getReferenceById(solicitacaoDto.idPet())).willReturn(pet);
+        given(petRepository.buscarParaSolicitacao(solicitacaoDto.idPet())).willReturn(Optional.of(pet));
         given(tutorRepository.getReferenceById(solicitacaoDto.idTutor())).willReturn(tutor);
+        given(repository.carregarContextoSolicitacao(solicitacaoDto.idPet(), solicitacaoDto.idTutor()))
+            .willReturn(Optional.of(contexto));
         validacoes.add(validador1);
         BDDMockito.willThrow(new RuntimeException("Validação falhou"))
-            .given(validador1).validar(solicitacaoDto);
+            .given(validador1).validar(solicitacaoDto, contexto);
 
         // ACT & ASSERT
         Assertions.assertThrows(RuntimeException.class, () -> service.solicitar(solicitacaoDto));
         then(repository).should(times(0)).save(any(Adocao.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveriaRegistrarTempoDeCadaValidacaoAoSolicitar() {
+        // ARRANGE
+        given(petRepository.buscarParaSolicitacao(solicitacaoDto.idPet())).willReturn(Optional.of(pet));
+        given(tutorRepository.getReferenceById(solicitacaoDto.idTutor())).willReturn(tutor);
+        given(repository.carregarContextoSolicitacao(solicitacaoDto.idPet(), solicitacaoDto.idTutor()))
+            .willReturn(Optional.of(contexto));
+        given(pet.getAbrigo()).willReturn(abrigo);
+        given(abrigo.getEmail()).willReturn("abrigo@email.com");
+        validacoes.add(validador1);
+
+        // ACT
+        service.solicitar(solicitacaoDto);
+
+        // ASSERT
+        Assertions.assertEquals(1, meterRegistry.get("adopet.adocao.validacao")
+            .tag("resultado", "aprovada")
+            .timer()
+            .count());
+    }
+
+    @Test
+    void deveriaContarRejeicaoPorValidacaoEMotivo() {
+        // ARRANGE
+        given(petRepository.buscarParaSolicitacao(solicitacaoDto.idPet())).willReturn(Optional.of(pet));
+        given(tutorRepository.getReferenceById(solicitacaoDto.idTutor())).willReturn(tutor);
+        given(repository.carregarContextoSolicitacao(solicitacaoDto.idPet(), solicitacaoDto.idTutor()))
+            .willReturn(Optional.of(contexto));
+        validacoes.add(validador1);
+        BDDMockito.willThrow(new ValidacaoException("Pet já foi adotado!"))
+            .given(validador1).validar(solicitacaoDto, contexto);
+
+        // ACT
+        Assertions.assertThrows(ValidacaoException.class, () -> service.solicitar(solicitacaoDto));
+
+        // ASSERT
+        Assertions.assertEquals(1.0, meterRegistry.get("adopet.adocao.validacao.rejeicoes")
+            .tag("motivo", "Pet já foi adotado!")
+            .counter()
+            .count());
+        Assertions.assertEquals(1, meterRegistry.get("adopet.adocao.validacao")
+            .tag("resultado", "rejeitada")
+            .timer()
+            .count());
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.alura.adopet.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class CacheLocalTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+
+    private final AtomicInteger carregamentos = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Deveria carregar apenas uma vez enquanto a entrada estiver válida")
+    void deveriaCarregarApenasUmaVezEnquantoEntradaValida() {
+        // ARRANGE
+        CacheLocal<String, String> cache = criarCache(Duration.ofSeconds(10), 10);
+
+        // ACT
+        cache.buscar("a", this::carregar);
+        String resultado = cache.buscar("a", this::carregar);
+
+        // ASSERT
+        assertEquals("valor-1", resultado);
+        assertEquals(1, carregamentos.get());
+        assertEquals(new CacheLocal.EstatisticasCache(1, 1, 0, 0, 1), cache.estatisticas());
+    }
+
+    @Test
+    @DisplayName("Deveria recarregar a entrada após o tempo de vida")
+    void deveriaRecarregarEntradaAposTempoDeVida() {
+        // ARRANGE
+        CacheLocal<String, String> cache = criarCache(Duration.ofSeconds(10), 10);
+        cache.buscar("a", this::carregar);
+
+        // ACT
+        relogio.addAndGet(Duration.ofSeconds(10).toNanos());
+        String resultado = cache.buscar("a", this::carregar);
+
+        // ASSERT
+        assertEquals("valor-2", resultado);
+        assertEquals(1, cache.estatisticas().remocoes());
+    }
+
+    @Test
+    @DisplayName("Deveria remover a entrada usada há mais tempo ao atingir o tamanho máximo")
+    void deveriaRemoverEntradaUsadaHaMaisTempo() {
+        // ARRANGE
+        CacheLocal<String, String> cache = criarCache(Duration.ofSeconds(10), 2);
+        cache.buscar("a", this::carregar);
+        cache.buscar("b", this::carregar);
+        cache.buscar("a", this::carregar);
+
+        // ACT
+        cache.buscar("c", this::carregar);
+
+        // ASSERT
+        assertEquals(3, carregamentos.get());
+        assertEquals("valor-1", cache.buscar("a", this::carregar));
+        assertEquals("valor-4", cache.buscar("b", this::carregar));
+        assertEquals(2, cache.estatisticas().tamanho());
+    }
+
+    @Test
+    @DisplayName("Deveria recarregar todas as entradas após invalidar")
+    void deveriaRecarregarAposInvalidar() {
+        // ARRANGE
+        CacheLocal<String, String> cache = criarCache(Duration.ofSeconds(10), 10);
+        cache.buscar("a", this::carregar);
+
+        // ACT
+        cache.invalidar();
+        String resultado = cache.buscar("a", this::carregar);
+
+        // ASSERT
+        assertEquals("valor-2", resultado);
+        assertEquals(1, cache.estatisticas().invalidacoes());
+    }
+
+    @Test
+    @DisplayName("Não deveria guardar valor carregado durante uma invalidação")
+    void naoDeveriaGuardarValorCarregadoDuranteInvalidacao() {
+        // ARRANGE
+        CacheLocal<String, String> cache = criarCache(Duration.ofSeconds(10), 10);
+
+        // ACT
+        String resultado = cache.buscar("a", () -> {
+            cache.invalidar();
+            return "antigo";
+        });
+
+        // ASSERT
+        assertEquals("antigo", resultado);
+        assertEquals(0, cache.estatisticas().tamanho());
+        assertEquals("valor-1", cache.buscar("a", this::carregar));
+    }
+
+    @Test
+    @DisplayName("Deveria invalidar de novo após o commit da transação")
+    void deveriaInvalidarDeNovoAposCommit() {
+        // ARRANGE
+        CacheLocal<String, String> cache = criarCache(Duration.ofSeconds(10), 10);
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidarAposCommit();
+        cache.buscar("a", this::carregar);
+
+        // ACT
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // ASSERT
+        assertEquals(0, cache.estatisticas().tamanho());
+        assertEquals(2, cache.estatisticas().invalidacoes());
+    }
+
+    @Test
+    @DisplayName("Deveria rejeitar tamanho máximo menor que um")
+    void deveriaRejeitarTamanhoMaximoInvalido() {
+        // ACT & ASSERT
+        assertThrows(IllegalArgumentException.class, () -> criarCache(Duration.ofSeconds(10), 0));
+    }
+
+    private CacheLocal<String, String> criarCache(Duration tempoDeVida, int tamanhoMaximo) {
+        return new CacheLocal<>(tempoDeVida, tamanhoMaximo, relogio::get);
+    }
+
+    private String carregar() {
+        return "valor-" + carregamentos.incrementAndGet();
+    }
+}
@@ -476,4 +476,57 @@ class CalculadoraProbabilidadeAdocaoTest {
         // ASSERT
         Assertions.assertEquals(ProbabilidadeAdocao.MEDIA, probabilidade);
     }
+
+    // ==================== TESTES DA TABELA DE NOTAS ====================
+
+    @Test
+    @DisplayName("Deve calcular pela tabela as mesmas notas das regras com condições")
+    void deveriaCalcularPelaTabelaAsMesmasNotasDasRegras() {
+        // ARRANGE - tipos (e sem tipo), pesos fracionários, negativos e muito altos, idades fora das faixas
+        TipoPet[] tipos = {TipoPet.GATO, TipoPet.CACHORRO, null};
+        float[] pesosExtremos = {-3.5f, Float.NaN, 1_000_000f, Float.MAX_VALUE};
+
+        for (TipoPet tipo : tipos) {
+            for (int idade = -2; idade <= 40; idade++) {
+                for (float peso = -1.0f; peso <= 40.0f; peso += 0.25f) {
+                    // ACT & ASSERT
+                    Assertions.assertEquals(calcularNotaComCondicoes(tipo, peso, idade), calculadora.calcularNota(tipo, peso, idade),
+                            "tipo " + tipo + ", peso " + peso + ", idade " + idade);
+                }
+                for (float peso : pesosExtremos) {
+                    Assertions.assertEquals(calcularNotaComCondicoes(tipo, peso, idade), calculadora.calcularNota(tipo, peso, idade),
+                            "tipo " + tipo + ", peso " + peso + ", idade " + idade);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve classificar pela tabela com os mesmos limites de ALTA, MÉDIA e BAIXA")
+    void deveriaClassificarPelaTabelaComOsMesmosLimites() {
+        for (int nota = 0; nota <= 10; nota++) {
+            ProbabilidadeAdocao esperada = nota >= 8 ? ProbabilidadeAdocao.ALTA
+                    : nota >= 5 ? ProbabilidadeAdocao.MEDIA
+                    : ProbabilidadeAdocao.BAIXA;
+            Assertions.assertEquals(esperada, calculadora.classificar(nota), "nota " + nota);
+        }
+    }
+
+    // Regras como eram escritas antes da tabela
+    private static int calcularNotaComCondicoes(TipoPet tipo, float pesoPet, int idade) {
+        int peso = (int) pesoPet;
+        int nota = 10;
+        if (tipo == TipoPet.CACHORRO && peso > 15) {
+            nota -= 2;
+        }
+        if (tipo == TipoPet.GATO && peso > 10) {
+            nota -= 2;
+        }
+        if (idade >= 15) {
+            nota -= 5;
+        } else if (idade >= 10) {
+            nota -= 4;
+        }
+        return nota;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,165 @@
+package br.com.alura.adopet.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+import br.com.alura.adopet.api.repository.PetRepository;
+
+@ExtendWith(MockitoExtension.class)
+class EnvelhecimentoPetsServiceTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2025, 6, 1);
+    private static final LocalDate LIMITE = HOJE.minusYears(1);
+
+    @Mock
+    private PetRepository repository;
+
+    @Mock
+    private PetService petService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private EnvelhecimentoPetsService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(service, "tamanhoLote", 2);
+    }
+
+    @Test
+    @DisplayName("Deveria somar à idade os anos completos e manter o aniversário do registro")
+    void deveriaSomarAnosCompletosAIdade() {
+        // ARRANGE
+        Pet pet = criarPet(1L, 2, LocalDate.of(2023, 3, 10));
+        given(repository.buscarParaEnvelhecer(0L, LIMITE, PageRequest.of(0, 2))).willReturn(List.of(pet));
+
+        // ACT
+        int envelhecidos = service.envelhecerPets(HOJE);
+
+        // ASSERT
+        assertEquals(1, envelhecidos);
+        assertEquals(4, pet.getIdade());
+        assertEquals(LocalDate.of(2025, 3, 10), pet.getIdadeRegistradaEm());
+        assertTrue(pet.isProbabilidadeAdocaoDesatualizada());
+        then(petService).should().invalidarPetsDisponiveis();
+    }
+
+    @Test
+    @DisplayName("Deveria passar a contar de hoje a idade dos pets gravados antes do registro da data")
+    void deveriaContarDeHojeIdadeDePetsSemData() {
+        // ARRANGE
+        Pet pet = criarPet(1L, 5, null);
+        given(repository.buscarParaEnvelhecer(0L, LIMITE, PageRequest.of(0, 2))).willReturn(List.of(pet));
+
+        // ACT
+        int envelhecidos = service.envelhecerPets(HOJE);
+
+        // ASSERT
+        assertEquals(1, envelhecidos);
+        assertEquals(5, pet.getIdade());
+        assertEquals(HOJE, pet.getIdadeRegistradaEm());
+        assertTrue(pet.isProbabilidadeAdocaoDesatualizada());
+    }
+
+    @Test
+    @DisplayName("Deveria buscar o lote seguinte a partir do último id enquanto os lotes vierem cheios")
+    void deveriaBuscarLoteSeguinteAPartirDoUltimoId() {
+        // ARRANGE
+        Pet primeiro = criarPet(1L, 1, LocalDate.of(2024, 1, 1));
+        Pet segundo = criarPet(2L, 1, LocalDate.of(2024, 1, 1));
+        Pet terceiro = criarPet(5L, 1, LocalDate.of(2024, 1, 1));
+        given(repository.buscarParaEnvelhecer(0L, LIMITE, PageRequest.of(0, 2))).willReturn(List.of(primeiro, segundo));
+        given(repository.buscarParaEnvelhecer(2L, LIMITE, PageRequest.of(0, 2))).willReturn(List.of(terceiro));
+
+        // ACT
+        int envelhecidos = service.envelhecerPets(HOJE);
+
+        // ASSERT
+        assertEquals(3, envelhecidos);
+        assertEquals(2, terceiro.getIdade());
+        then(repository).should(never()).buscarParaEnvelhecer(5L, LIMITE, PageRequest.of(0, 2));
+    }
+
+    @Test
+    @DisplayName("Deveria manter o cache quando nenhum pet precisar envelhecer")
+    void deveriaManterCacheSemPetsParaEnvelhecer() {
+        // ARRANGE
+        given(repository.buscarParaEnvelhecer(0L, LIMITE, PageRequest.of(0, 2))).willReturn(List.of());
+
+        // ACT
+        int envelhecidos = service.envelhecerPets(HOJE);
+
+        // ASSERT
+        assertEquals(0, envelhecidos);
+        then(petService).should(never()).invalidarPetsDisponiveis();
+    }
+
+    @Test
+    @DisplayName("Deveria interromper a execução quando outro processo alterar um pet do lote")
+    void deveriaInterromperQuandoOutroProcessoAlterarPetDoLote() {
+        // ARRANGE
+        Pet pet = criarPet(1L, 2, LocalDate.of(2023, 3, 10));
+        given(repository.buscarParaEnvelhecer(0L, LIMITE, PageRequest.of(0, 2))).willReturn(List.of(pet, criarPet(2L, 2, null)));
+        willThrow(new ObjectOptimisticLockingFailureException(Pet.class, 1L)).given(transactionManager).commit(any());
+
+        // ACT
+        int envelhecidos = service.envelhecerPets(HOJE);
+
+        // ASSERT
+        assertEquals(0, envelhecidos);
+        then(repository).should(never()).buscarParaEnvelhecer(2L, LIMITE, PageRequest.of(0, 2));
+        then(petService).should(never()).invalidarPetsDisponiveis();
+    }
+
+    @Test
+    @DisplayName("Deveria deixar a probabilidade em dia para pet que ainda não completou um ano desde o registro")
+    void deveriaManterPetQueNaoCompletouUmAno() {
+        // ARRANGE
+        Pet pet = criarPet(1L, 2, LocalDate.of(2024, 6, 2));
+        pet.atualizarProbabilidadeAdocao(10, ProbabilidadeAdocao.ALTA);
+
+        // ACT
+        boolean envelheceu = pet.envelhecer(HOJE);
+
+        // ASSERT
+        assertFalse(envelheceu);
+        assertEquals(2, pet.getIdade());
+        assertFalse(pet.isProbabilidadeAdocaoDesatualizada());
+    }
+
+    private Pet criarPet(Long id, int idade, LocalDate idadeRegistradaEm) {
+        Pet pet = new Pet(new CadastroPetDto(TipoPet.GATO, "Pet " + id, "SRD", idade, "Preto", 4.0f), null);
+        pet.setId(id);
+        ReflectionTestUtils.setField(pet, "idadeRegistradaEm", idadeRegistradaEm);
+        return pet;
+    }
+}
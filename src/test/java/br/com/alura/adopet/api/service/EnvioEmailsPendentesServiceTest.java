@@ -0,0 +1,233 @@
+package br.com.alura.adopet.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.alura.adopet.api.model.EmailPendente;
+import br.com.alura.adopet.api.repository.EmailPendenteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class EnvioEmailsPendentesServiceTest {
+
+    @Mock
+    private EmailPendenteRepository repository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private EnvioEmailsPendentesService envioService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(envioService, "tamanhoLote", 100);
+        ReflectionTestUtils.setField(envioService, "maximoTentativas", 5);
+    }
+
+    @Test
+    @DisplayName("Deveria repassar os e-mails pendentes ao EmailService em um único lote e removê-los")
+    void deveriaRepassarEmailsPendentesERemove() {
+        // ARRANGE
+        EmailPendente email1 = criarEmail(1L, "abrigo@email.com", "Solicitação de adoção", "Mensagem 1");
+        EmailPendente email2 = criarEmail(2L, "outro@email.com", "Adoção aprovada", "Mensagem 2");
+        given(repository.travarLoteParaEnvio(5, 100)).willReturn(List.of(email1, email2));
+
+        // ACT
+        int enviados = envioService.enviarPendentes();
+
+        // ASSERT
+        ArgumentCaptor<SimpleMailMessage[]> lote = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+        then(emailService).should().enviarEmails(lote.capture());
+        List<SimpleMailMessage> mensagens = Arrays.asList(lote.getValue());
+        assertEquals(2, enviados);
+        assertEquals(2, mensagens.size());
+        assertEquals("abrigo@email.com", mensagens.get(0).getTo()[0]);
+        assertEquals("Solicitação de adoção", mensagens.get(0).getSubject());
+        assertEquals("Mensagem 1", mensagens.get(0).getText());
+        assertEquals("outro@email.com", mensagens.get(1).getTo()[0]);
+        assertEquals("Adoção aprovada", mensagens.get(1).getSubject());
+        assertEquals("Mensagem 2", mensagens.get(1).getText());
+        then(repository).should().delete(email1);
+        then(repository).should().delete(email2);
+    }
+
+    @Test
+    @DisplayName("Deveria registrar a falha e manter o e-mail para nova tentativa")
+    void deveriaRegistrarFalhaEManterEmailParaNovaTentativa() {
+        // ARRANGE
+        EmailPendente email = criarEmail(3L, "abrigo@email.com", "Solicitação de adoção", "Mensagem");
+        given(repository.travarLoteParaEnvio(5, 100)).willReturn(List.of(email));
+        willThrow(new RuntimeException("SMTP indisponível"))
+            .given(emailService).enviarEmails(any(SimpleMailMessage[].class));
+
+        // ACT
+        int enviados = envioService.enviarPendentes();
+
+        // ASSERT
+        assertEquals(0, enviados);
+        assertEquals(1, email.getTentativas());
+        assertEquals("SMTP indisponível", email.getUltimoErro());
+        then(repository).should(never()).delete(email);
+    }
+
+    @Test
+    @DisplayName("Deveria truncar mensagens de erro maiores que a coluna")
+    void deveriaTruncarMensagemDeErroMaiorQueAColuna() {
+        // ARRANGE
+        EmailPendente email = criarEmail(8L, "abrigo@email.com", "Assunto", "Mensagem");
+        given(repository.travarLoteParaEnvio(5, 100)).willReturn(List.of(email));
+        willThrow(new RuntimeException("x".repeat(5000)))
+            .given(emailService).enviarEmails(any(SimpleMailMessage[].class));
+
+        // ACT
+        envioService.enviarPendentes();
+
+        // ASSERT
+        assertEquals("x".repeat(1000), email.getUltimoErro());
+    }
+
+    @Test
+    @DisplayName("Deveria registrar a falha quando a exceção não tem mensagem")
+    void deveriaRegistrarFalhaDeExcecaoSemMensagem() {
+        // ARRANGE
+        EmailPendente email = criarEmail(9L, "abrigo@email.com", "Assunto", "Mensagem");
+        given(repository.travarLoteParaEnvio(5, 100)).willReturn(List.of(email));
+        willThrow(new RuntimeException())
+            .given(emailService).enviarEmails(any(SimpleMailMessage[].class));
+
+        // ACT
+        envioService.enviarPendentes();
+
+        // ASSERT
+        assertEquals(1, email.getTentativas());
+        assertEquals("Erro sem mensagem", email.getUltimoErro());
+    }
+
+    @Test
+    @DisplayName("Deveria remover só os e-mails aceitos quando o servidor recusa parte do lote")
+    void deveriaRemoverSoEmailsAceitosQuandoServidorRecusaParteDoLote() {
+        // ARRANGE
+        EmailPendente comFalha = criarEmail(4L, "falha@email.com", "Assunto", "Mensagem");
+        EmailPendente semFalha = criarEmail(5L, "ok@email.com", "Assunto", "Mensagem");
+        given(repository.travarLoteParaEnvio(5, 100)).willReturn(List.of(comFalha, semFalha));
+        recusarDestinatario("falha@email.com");
+
+        // ACT
+        int enviados = envioService.enviarPendentes();
+
+        // ASSERT
+        assertEquals(1, enviados);
+        assertEquals(1, comFalha.getTentativas());
+        assertEquals("recusado", comFalha.getUltimoErro());
+        assertEquals(0, semFalha.getTentativas());
+        then(repository).should().delete(semFalha);
+        then(repository).should(never()).delete(comFalha);
+    }
+
+    @Test
+    @DisplayName("Deveria registrar a falha no lote inteiro quando o servidor não informa os recusados")
+    void deveriaRegistrarFalhaNoLoteInteiroSemRecusadosInformados() {
+        // ARRANGE
+        EmailPendente email1 = criarEmail(10L, "abrigo@email.com", "Assunto", "Mensagem 1");
+        EmailPendente email2 = criarEmail(11L, "outro@email.com", "Assunto", "Mensagem 2");
+        given(repository.travarLoteParaEnvio(5, 100)).willReturn(List.of(email1, email2));
+        willThrow(new MailSendException("Falha de autenticação"))
+            .given(emailService).enviarEmails(any(SimpleMailMessage[].class));
+
+        // ACT
+        int enviados = envioService.enviarPendentes();
+
+        // ASSERT
+        assertEquals(0, enviados);
+        assertEquals("Falha de autenticação", email1.getUltimoErro());
+        assertEquals("Falha de autenticação", email2.getUltimoErro());
+        then(repository).should(never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("Deveria registrar o tempo de envio do lote por resultado")
+    void deveriaRegistrarTempoDeEnvioPorResultado() {
+        // ARRANGE
+        EmailPendente comFalha = criarEmail(6L, "falha@email.com", "Assunto", "Mensagem");
+        EmailPendente semFalha = criarEmail(7L, "ok@email.com", "Assunto", "Mensagem");
+        given(repository.travarLoteParaEnvio(5, 100))
+            .willReturn(List.of(semFalha))
+            .willReturn(List.of(comFalha, semFalha))
+            .willReturn(List.of(comFalha));
+        recusarDestinatario("falha@email.com");
+
+        // ACT
+        envioService.enviarPendentes();
+        envioService.enviarPendentes();
+        envioService.enviarPendentes();
+
+        // ASSERT
+        assertEquals(1, meterRegistry.get("adopet.email.envio").tag("resultado", "sucesso").timer().count());
+        assertEquals(1, meterRegistry.get("adopet.email.envio").tag("resultado", "parcial").timer().count());
+        assertEquals(1, meterRegistry.get("adopet.email.envio").tag("resultado", "falha").timer().count());
+    }
+
+    @Test
+    @DisplayName("Não deveria enviar nada quando não há e-mails pendentes")
+    void naoDeveriaEnviarNadaQuandoNaoHaPendentes() {
+        // ARRANGE
+        given(repository.travarLoteParaEnvio(5, 100)).willReturn(List.of());
+
+        // ACT
+        int enviados = envioService.enviarPendentes();
+
+        // ASSERT
+        assertEquals(0, enviados);
+        then(emailService).shouldHaveNoInteractions();
+    }
+
+    // Simula o JavaMailSender, que informa em getFailedMessages() as mensagens recusadas pelo servidor
+    private void recusarDestinatario(String destinatario) {
+        willAnswer(invocation -> {
+            Map<Object, Exception> recusadas = new LinkedHashMap<>();
+            for (Object argumento : invocation.getArguments()) {
+                SimpleMailMessage mensagem = (SimpleMailMessage) argumento;
+                if (destinatario.equals(mensagem.getTo()[0])) {
+                    recusadas.put(mensagem, new RuntimeException("recusado"));
+                }
+            }
+            if (!recusadas.isEmpty()) {
+                throw new MailSendException(recusadas);
+            }
+            return null;
+        }).given(emailService).enviarEmails(any(SimpleMailMessage[].class));
+    }
+
+    private EmailPendente criarEmail(Long id, String destinatario, String assunto, String mensagem) {
+        EmailPendente email = new EmailPendente(destinatario, assunto, mensagem);
+        ReflectionTestUtils.setField(email, "id", id);
+        return email;
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.alura.adopet.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.alura.adopet.api.model.EmailPendente;
+import br.com.alura.adopet.api.repository.EmailPendenteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Sobe o serviço de e-mail do perfil de produção com um {@link JavaMailSenderImpl} apontado para
+ * um {@link ServidorSmtpFalso} e confere como a tabela de saída entrega o lote travado.
+ */
+class EnvioEmailsPendentesSmtpTest {
+
+    private final EmailPendenteRepository repository = mock(EmailPendenteRepository.class);
+
+    @Test
+    @DisplayName("Deveria entregar o lote em uma única conexão SMTP e remover os e-mails enviados")
+    void deveriaEntregarLoteEmUmaUnicaConexaoSmtp() throws Exception {
+        try (ServidorSmtpFalso servidor = new ServidorSmtpFalso()) {
+            // ARRANGE
+            EmailPendente email1 = criarEmail(1L, "a@email.com", "Mensagem 1");
+            EmailPendente email2 = criarEmail(2L, "b@email.com", "Mensagem 2");
+            EmailPendente email3 = criarEmail(3L, "c@email.com", "Mensagem 3");
+            given(repository.travarLoteParaEnvio(5, 100)).willReturn(List.of(email1, email2, email3));
+
+            contexto(servidor).run(aplicacao -> {
+                // ACT
+                int enviados = aplicacao.getBean(EnvioEmailsPendentesService.class).enviarPendentes();
+
+                // ASSERT
+                assertEquals(3, enviados);
+                assertEquals(1, servidor.conexoes());
+                assertEquals(3, servidor.mensagens().size());
+                assertTrue(servidor.mensagens().get(1).contains("Mensagem 2"));
+                then(repository).should().delete(email1);
+                then(repository).should().delete(email2);
+                then(repository).should().delete(email3);
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("Deveria manter só o e-mail recusado pelo servidor para nova tentativa")
+    void deveriaManterSoEmailRecusadoPeloServidor() throws Exception {
+        try (ServidorSmtpFalso servidor = new ServidorSmtpFalso("recusado@email.com")) {
+            // ARRANGE
+            EmailPendente aceito1 = criarEmail(4L, "a@email.com", "Mensagem 1");
+            EmailPendente recusado = criarEmail(5L, "recusado@email.com", "Mensagem 2");
+            EmailPendente aceito2 = criarEmail(6L, "c@email.com", "Mensagem 3");
+            given(repository.travarLoteParaEnvio(5, 100)).willReturn(List.of(aceito1, recusado, aceito2));
+
+            contexto(servidor).run(aplicacao -> {
+                // ACT
+                int enviados = aplicacao.getBean(EnvioEmailsPendentesService.class).enviarPendentes();
+
+                // ASSERT
+                assertEquals(2, enviados);
+                assertEquals(1, servidor.conexoes());
+                then(repository).should().delete(aceito1);
+                then(repository).should().delete(aceito2);
+                then(repository).should(never()).delete(recusado);
+                assertEquals(1, recusado.getTentativas());
+                assertEquals(0, aceito1.getTentativas());
+            });
+        }
+    }
+
+    private ApplicationContextRunner contexto(ServidorSmtpFalso servidor) {
+        JavaMailSenderImpl emailSender = new JavaMailSenderImpl();
+        emailSender.setHost("localhost");
+        emailSender.setPort(servidor.porta());
+        return new ApplicationContextRunner()
+                .withPropertyValues("spring.profiles.active=producao",
+                        "adopet.outbox.tamanho-lote=100", "adopet.outbox.maximo-tentativas=5")
+                .withBean(JavaMailSender.class, () -> emailSender)
+                .withBean(EmailPendenteRepository.class, () -> repository)
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withBean(EmailServiceProducao.class)
+                .withBean(EnvioEmailsPendentesService.class);
+    }
+
+    private EmailPendente criarEmail(Long id, String destinatario, String mensagem) {
+        EmailPendente email = new EmailPendente(destinatario, "Solicitação de adoção", mensagem);
+        ReflectionTestUtils.setField(email, "id", id);
+        return email;
+    }
+}
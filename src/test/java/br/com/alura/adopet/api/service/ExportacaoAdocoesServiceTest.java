@@ -0,0 +1,125 @@
+package br.com.alura.adopet.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import br.com.alura.adopet.api.dto.AdocaoExportacaoDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
+import br.com.alura.adopet.api.model.StatusAdocao;
+import br.com.alura.adopet.api.repository.AdocaoRepository;
+import br.com.alura.adopet.api.service.ExportacaoAdocoesService.Formato;
+
+@ExtendWith(MockitoExtension.class)
+class ExportacaoAdocoesServiceTest {
+
+    private static final LocalDateTime DATA = LocalDateTime.of(2024, 3, 10, 14, 30);
+
+    @Mock
+    private AdocaoRepository repository;
+
+    // Mesma configuração de datas do ObjectMapper do Spring Boot
+    @Spy
+    private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @InjectMocks
+    private ExportacaoAdocoesService exportacaoService;
+
+    @Test
+    @DisplayName("Deveria exportar adoções em CSV com cabeçalho")
+    void deveriaExportarAdocoesEmCsvComCabecalho() throws Exception {
+        // ARRANGE
+        given(repository.transmitirParaExportacao()).willReturn(Stream.of(
+                new AdocaoExportacaoDto(1L, DATA, StatusAdocao.APROVADO, "Maria", "Rex", "Abrigo Feliz", "Quintal grande", null)));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // ACT
+        exportacaoService.exportar(Formato.CSV, saida);
+
+        // ASSERT
+        assertEquals("id,data,status,tutor,pet,abrigo,motivo,justificativa\r\n"
+                + "1,2024-03-10T14:30,APROVADO,Maria,Rex,Abrigo Feliz,Quintal grande,\r\n",
+                saida.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deveria colocar entre aspas os campos CSV com vírgula, aspas ou quebra de linha")
+    void deveriaColocarEntreAspasCamposCsvEspeciais() throws Exception {
+        // ARRANGE
+        given(repository.transmitirParaExportacao()).willReturn(Stream.of(
+                new AdocaoExportacaoDto(2L, DATA, StatusAdocao.REPROVADO, "Silva, João", "Mimi \"a gata\"", "Abrigo",
+                        "Linha 1\nLinha 2", "Sem espaço")));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // ACT
+        exportacaoService.exportar(Formato.CSV, saida);
+
+        // ASSERT
+        String linha = saida.toString(StandardCharsets.UTF_8).split("\r\n", 2)[1];
+        assertEquals("2,2024-03-10T14:30,REPROVADO,\"Silva, João\",\"Mimi \"\"a gata\"\"\",Abrigo,\"Linha 1\nLinha 2\",Sem espaço\r\n", linha);
+    }
+
+    @Test
+    @DisplayName("Deveria exportar uma adoção por linha em NDJSON")
+    void deveriaExportarUmaAdocaoPorLinhaEmNdjson() throws Exception {
+        // ARRANGE
+        given(repository.transmitirParaExportacao()).willReturn(Stream.of(
+                new AdocaoExportacaoDto(1L, DATA, StatusAdocao.APROVADO, "Maria", "Rex", "Abrigo Feliz", "Motivo", null),
+                new AdocaoExportacaoDto(2L, DATA, StatusAdocao.AGUARDANDO_AVALIACAO, "José", "Mimi", "Abrigo Feliz", "Motivo", null)));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // ACT
+        exportacaoService.exportar(Formato.NDJSON, saida);
+
+        // ASSERT
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, linhas.length);
+        JsonNode segunda = objectMapper.readTree(linhas[1]);
+        assertEquals(2L, segunda.get("id").asLong());
+        assertEquals("José", segunda.get("tutor").asText());
+        assertEquals("2024-03-10T14:30:00", segunda.get("data").asText());
+    }
+
+    @Test
+    @DisplayName("Deveria fechar o cursor do banco ao terminar a exportação")
+    void deveriaFecharCursorAoTerminarExportacao() throws Exception {
+        // ARRANGE
+        AtomicBoolean fechado = new AtomicBoolean();
+        given(repository.transmitirParaExportacao()).willReturn(Stream.<AdocaoExportacaoDto>empty().onClose(() -> fechado.set(true)));
+
+        // ACT
+        exportacaoService.exportar(Formato.NDJSON, new ByteArrayOutputStream());
+
+        // ASSERT
+        assertEquals(true, fechado.get());
+    }
+
+    @Test
+    @DisplayName("Deveria aceitar o formato sem diferenciar maiúsculas e recusar formato desconhecido")
+    void deveriaResolverFormato() {
+        // ACT & ASSERT
+        assertEquals(Formato.NDJSON, Formato.de("NDJson"));
+        assertThrows(ValidacaoException.class, () -> Formato.de("xml"));
+    }
+}
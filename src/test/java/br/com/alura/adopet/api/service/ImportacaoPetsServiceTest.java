@@ -0,0 +1,193 @@
+package br.com.alura.adopet.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.alura.adopet.api.dto.ImportacaoPetsDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
+import br.com.alura.adopet.api.model.Abrigo;
+import br.com.alura.adopet.api.model.Pet;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacaoPetsServiceTest {
+
+    private static final String PET_VALIDO = "{\"tipo\":\"GATO\",\"nome\":\"Mimi\",\"raca\":\"SRD\",\"idade\":1,\"cor\":\"Preto\",\"peso\":3.5}";
+
+    @Mock
+    private PetService petService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private Abrigo abrigo;
+
+    @InjectMocks
+    private ImportacaoPetsService importacaoService;
+
+    private final AtomicLong proximoId = new AtomicLong(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(importacaoService, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(importacaoService, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(importacaoService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(importacaoService, "tamanhoLote", 2);
+
+        lenient().when(abrigo.getId()).thenReturn(1L);
+        lenient().when(entityManager.unwrap(Session.class)).thenReturn(session);
+        lenient().when(entityManager.getReference(Abrigo.class, 1L)).thenReturn(abrigo);
+        lenient().doAnswer(invocation -> {
+            invocation.<Pet>getArgument(0).setId(proximoId.getAndIncrement());
+            return null;
+        }).when(entityManager).persist(any(Pet.class));
+    }
+
+    @Test
+    @DisplayName("Deveria gravar NDJSON em transações do tamanho do lote")
+    void deveriaGravarNdjsonEmTransacoesDoTamanhoDoLote() throws IOException {
+        // ACT
+        ImportacaoPetsDto importacao = importacaoService.importarNdjson(abrigo, corpo(PET_VALIDO + "\n" + PET_VALIDO + "\n" + PET_VALIDO + "\n"));
+
+        // ASSERT
+        assertEquals(3, importacao.importados());
+        assertEquals(0, importacao.rejeitados());
+        assertEquals(3L, importacao.resultados().get(2).id());
+        then(entityManager).should(times(3)).persist(any(Pet.class));
+        then(transactionManager).should(times(2)).commit(any());
+        then(session).should(times(2)).setJdbcBatchSize(2);
+    }
+
+    @Test
+    @DisplayName("Deveria rejeitar linhas inválidas sem interromper a importação")
+    void deveriaRejeitarLinhasInvalidasSemInterromperImportacao() throws IOException {
+        // ARRANGE
+        String ndjson = PET_VALIDO + "\n"
+                + "{\"tipo\":\"PEIXE\"}\n"
+                + "\n"
+                + "{quebrado\n"
+                + PET_VALIDO.replace("\"Mimi\"", "\"\"") + "\n"
+                + PET_VALIDO + "\n";
+
+        // ACT
+        ImportacaoPetsDto importacao = importacaoService.importarNdjson(abrigo, corpo(ndjson));
+
+        // ASSERT
+        assertEquals(2, importacao.importados());
+        assertEquals(3, importacao.rejeitados());
+        assertEquals(1, importacao.resultados().get(0).linha());
+        assertTrue(importacao.resultados().get(1).erro().startsWith("Conteúdo inválido"));
+        assertTrue(importacao.resultados().get(2).erro().startsWith("JSON malformado"));
+        assertEquals(5, importacao.resultados().get(3).linha());
+        assertTrue(importacao.resultados().get(3).erro().startsWith("nome:"));
+        assertEquals(6, importacao.resultados().get(4).linha());
+    }
+
+    @Test
+    @DisplayName("Deveria importar os elementos de um array JSON")
+    void deveriaImportarElementosDeArrayJson() throws IOException {
+        // ACT
+        ImportacaoPetsDto importacao = importacaoService.importarJson(abrigo, corpo("[" + PET_VALIDO + ", 5, " + PET_VALIDO + "]"));
+
+        // ASSERT
+        assertEquals(2, importacao.importados());
+        assertEquals(1, importacao.rejeitados());
+        assertNull(importacao.resultados().get(1).id());
+        assertEquals(3, importacao.resultados().get(2).linha());
+    }
+
+    @Test
+    @DisplayName("Deveria manter o que já foi gravado quando o array JSON está malformado")
+    void deveriaManterGravadosQuandoArrayJsonEstaMalformado() throws IOException {
+        // ACT
+        ImportacaoPetsDto importacao = importacaoService.importarJson(abrigo, corpo("[" + PET_VALIDO + ", {oops"));
+
+        // ASSERT
+        assertEquals(1, importacao.importados());
+        assertEquals(1, importacao.rejeitados());
+        assertTrue(importacao.resultados().get(1).erro().startsWith("JSON malformado"));
+    }
+
+    @Test
+    @DisplayName("Deveria recusar corpo JSON que não é um array")
+    void deveriaRecusarCorpoJsonQueNaoEArray() {
+        // ACT & ASSERT
+        assertThrows(ValidacaoException.class, () -> importacaoService.importarJson(abrigo, corpo(PET_VALIDO)));
+        then(entityManager).should(never()).persist(any());
+    }
+
+    @Test
+    @DisplayName("Deveria rejeitar apenas os pets do lote que falhou ao gravar")
+    void deveriaRejeitarApenasPetsDoLoteQueFalhou() throws IOException {
+        // ARRANGE
+        willAnswer(invocation -> {
+            Pet pet = invocation.getArgument(0);
+            if (proximoId.get() > 2) {
+                throw new IllegalStateException("falha no banco");
+            }
+            pet.setId(proximoId.getAndIncrement());
+            return null;
+        }).given(entityManager).persist(any(Pet.class));
+
+        // ACT
+        ImportacaoPetsDto importacao = importacaoService.importarNdjson(abrigo, corpo(PET_VALIDO + "\n" + PET_VALIDO + "\n" + PET_VALIDO + "\n"));
+
+        // ASSERT
+        assertEquals(2, importacao.importados());
+        assertEquals(1, importacao.rejeitados());
+        assertTrue(importacao.resultados().get(2).erro().contains("falha no banco"));
+        then(transactionManager).should().rollback(any());
+    }
+
+    @Test
+    @DisplayName("Deveria invalidar o cache de pets disponíveis apenas quando algum pet for importado")
+    void deveriaInvalidarCacheApenasQuandoAlgumPetForImportado() throws IOException {
+        // ACT
+        importacaoService.importarNdjson(abrigo, corpo("{\"tipo\":\"PEIXE\"}\n"));
+        then(petService).should(never()).invalidarPetsDisponiveis();
+        importacaoService.importarNdjson(abrigo, corpo(PET_VALIDO + "\n"));
+
+        // ASSERT
+        then(petService).should().invalidarPetsDisponiveis();
+    }
+
+    private static InputStream corpo(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,29 +1,43 @@
 package br.com.alura.adopet.api.service;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.never;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.FiltroPetsDto;
+import br.com.alura.adopet.api.dto.PaginaCursorDto;
 import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.Abrigo;
 import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
 import br.com.alura.adopet.api.model.TipoPet;
 import br.com.alura.adopet.api.repository.PetRepository;
 
@@ -36,6 +50,12 @@ class PetServiceTest {
     @Mock
     private Abrigo abrigo;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private CacheLocal<String, List<PetDto>> cachePetsDisponiveis = new CacheLocal<>(Duration.ofMinutes(1), 10);
+
     @InjectMocks
     private PetService petService;
 
@@ -45,11 +65,11 @@ class PetServiceTest {
     @DisplayName("Deveria retornar lista de pets disponíveis")
     void deveriaRetornarListaDePetsDisponiveis() {
         // ARRANGE
-        Pet pet1 = criarPet(1L, "Rex", TipoPet.CACHORRO, "Vira-lata", 2, false);
-        Pet pet2 = criarPet(2L, "Mimi", TipoPet.GATO, "Siamês", 1, false);
+        PetDto pet1 = criarPetDto(1L, "Rex", TipoPet.CACHORRO, "Vira-lata", 2);
+        PetDto pet2 = criarPetDto(2L, "Mimi", TipoPet.GATO, "Siamês", 1);
 
-        List<Pet> pets = Arrays.asList(pet1, pet2);
-        given(repository.findAllByAdotadoFalse()).willReturn(pets);
+        List<PetDto> pets = Arrays.asList(pet1, pet2);
+        given(repository.buscarDisponiveis()).willReturn(pets);
 
         // ACT
         List<PetDto> resultado = petService.buscarPetsDisponiveis();
@@ -72,14 +92,14 @@ class PetServiceTest {
         assertEquals("Siamês", segundoPet.raca());
         assertEquals(1, segundoPet.idade());
 
-        then(repository).should().findAllByAdotadoFalse();
+        then(repository).should().buscarDisponiveis();
     }
 
     @Test
     @DisplayName("Deveria retornar lista vazia quando não houver pets disponíveis")
     void deveriaRetornarListaVaziaQuandoNaoHouverPetsDisponiveis() {
         // ARRANGE
-        given(repository.findAllByAdotadoFalse()).willReturn(Arrays.asList());
+        given(repository.buscarDisponiveis()).willReturn(Arrays.asList());
 
         // ACT
         List<PetDto> resultado = petService.buscarPetsDisponiveis();
@@ -87,17 +107,17 @@ class PetServiceTest {
         // ASSERT
         assertNotNull(resultado);
         assertTrue(resultado.isEmpty());
-        then(repository).should().findAllByAdotadoFalse();
+        then(repository).should().buscarDisponiveis();
     }
 
     @Test
     @DisplayName("Deveria retornar apenas pets não adotados")
     void deveriaRetornarApenasPetsNaoAdotados() {
         // ARRANGE
-        Pet petDisponivel = criarPet(1L, "Rex", TipoPet.CACHORRO, "Vira-lata", 2, false);
+        PetDto petDisponivel = criarPetDto(1L, "Rex", TipoPet.CACHORRO, "Vira-lata", 2);
 
-        List<Pet> petsDisponiveis = Arrays.asList(petDisponivel);
-        given(repository.findAllByAdotadoFalse()).willReturn(petsDisponiveis);
+        List<PetDto> petsDisponiveis = Arrays.asList(petDisponivel);
+        given(repository.buscarDisponiveis()).willReturn(petsDisponiveis);
 
         // ACT
         List<PetDto> resultado = petService.buscarPetsDisponiveis();
@@ -105,28 +125,268 @@ class PetServiceTest {
         // ASSERT
         assertEquals(1, resultado.size());
         assertEquals("Rex", resultado.get(0).nome());
-        then(repository).should().findAllByAdotadoFalse();
+        then(repository).should().buscarDisponiveis();
     }
 
     @Test
-    @DisplayName("Deveria converter corretamente todos os campos para DTO")
-    void deveriaConverterCorretamenteTodosOsCamposParaDto() {
+    @DisplayName("Deveria devolver a projeção do repositório sem conversão")
+    void deveriaDevolverProjecaoDoRepositorioSemConversao() {
         // ARRANGE
-        Pet pet = criarPetCompleto(1L, "Buddy", TipoPet.CACHORRO, "Labrador", 3, "Dourado", 25.0f, false);
-        given(repository.findAllByAdotadoFalse()).willReturn(Arrays.asList(pet));
+        List<PetDto> pets = List.of(criarPetDto(1L, "Buddy", TipoPet.CACHORRO, "Labrador", 3));
+        given(repository.buscarDisponiveis()).willReturn(pets);
 
         // ACT
         List<PetDto> resultado = petService.buscarPetsDisponiveis();
 
+        // ASSERT
+        assertEquals(pets, resultado);
+        then(repository).should().buscarDisponiveis();
+        then(repository).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    @DisplayName("Deveria servir a segunda busca de pets disponíveis pelo cache")
+    void deveriaServirSegundaBuscaPeloCache() {
+        // ARRANGE
+        given(repository.buscarDisponiveis()).willReturn(List.of(criarPetDto(1L, "Rex", TipoPet.CACHORRO, "Vira-lata", 2)));
+
+        // ACT
+        petService.buscarPetsDisponiveis();
+        List<PetDto> resultado = petService.buscarPetsDisponiveis();
+
         // ASSERT
         assertEquals(1, resultado.size());
-        PetDto petDto = resultado.get(0);
-        assertEquals(1L, petDto.id());
-        assertEquals("Buddy", petDto.nome());
-        assertEquals(TipoPet.CACHORRO, petDto.tipo());
-        assertEquals("Labrador", petDto.raca());
-        assertEquals(3, petDto.idade());
-        then(repository).should().findAllByAdotadoFalse();
+        then(repository).should(times(1)).buscarDisponiveis();
+        assertEquals(1, cachePetsDisponiveis.estatisticas().acertos());
+        assertEquals(1, cachePetsDisponiveis.estatisticas().falhas());
+    }
+
+    @Test
+    @DisplayName("Deveria consultar o banco de novo após cadastrar um pet")
+    void deveriaConsultarBancoDeNovoAposCadastrarPet() {
+        // ARRANGE
+        PetDto rex = criarPetDto(1L, "Rex", TipoPet.CACHORRO, "Vira-lata", 2);
+        PetDto mimi = criarPetDto(2L, "Mimi", TipoPet.GATO, "Siamês", 1);
+        given(repository.buscarDisponiveis()).willReturn(List.of(rex), List.of(rex, mimi));
+        petService.buscarPetsDisponiveis();
+
+        // ACT
+        petService.cadastrarPet(abrigo, new CadastroPetDto(TipoPet.GATO, "Mimi", "Siamês", 1, "Branco", 4.0f));
+        List<PetDto> resultado = petService.buscarPetsDisponiveis();
+
+        // ASSERT
+        assertEquals(List.of(rex, mimi), resultado);
+        then(repository).should(times(2)).buscarDisponiveis();
+    }
+
+    @Test
+    @DisplayName("Deveria descartar o cache ao invalidar os pets disponíveis")
+    void deveriaDescartarCacheAoInvalidarPetsDisponiveis() {
+        // ARRANGE
+        given(repository.buscarDisponiveis()).willReturn(List.of());
+        petService.buscarPetsDisponiveis();
+
+        // ACT
+        petService.invalidarPetsDisponiveis();
+        petService.buscarPetsDisponiveis();
+
+        // ASSERT
+        then(repository).should(times(2)).buscarDisponiveis();
+        assertEquals(1, cachePetsDisponiveis.estatisticas().invalidacoes());
+    }
+
+    // ==================== TESTES DE BUSCAR PETS DISPONÍVEIS COM FILTRO ====================
+
+    @Test
+    @DisplayName("Deveria buscar sempre pelo banco os pets disponíveis com o filtro informado, sem ocupar o cache")
+    void deveriaBuscarPetsDisponiveisFiltrados() {
+        // ARRANGE
+        FiltroPetsDto filtro = new FiltroPetsDto(TipoPet.CACHORRO, null, null, 10f, 20f, null, null, null, ProbabilidadeAdocao.BAIXA);
+        PetDto thor = criarPetDto(3L, "Thor", TipoPet.CACHORRO, "Labrador", 15);
+        given(repository.buscarFiltrados(any(), eq(0L), eq(0))).willReturn(List.of(thor));
+
+        // ACT
+        petService.buscarPetsDisponiveis(filtro);
+        List<PetDto> resultado = petService.buscarPetsDisponiveis(filtro);
+
+        // ASSERT
+        assertEquals(List.of(thor), resultado);
+        then(repository).should(times(2)).buscarFiltrados(any(), eq(0L), eq(0));
+        then(repository).should(never()).buscarDisponiveis();
+        assertEquals(0, cachePetsDisponiveis.estatisticas().tamanho());
+    }
+
+    @Test
+    @DisplayName("Deveria usar a listagem completa quando nenhum filtro for informado")
+    void deveriaBuscarTodosOsPetsDisponiveisComFiltroVazio() {
+        // ARRANGE
+        PetDto thor = criarPetDto(3L, "Thor", TipoPet.CACHORRO, "Labrador", 15);
+        given(repository.buscarDisponiveis()).willReturn(List.of(thor));
+
+        // ACT
+        List<PetDto> resultado = petService.buscarPetsDisponiveis(FiltroPetsDto.VAZIO);
+
+        // ASSERT
+        assertEquals(List.of(thor), resultado);
+        then(repository).should(never()).buscarFiltrados(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deveria rejeitar filtro com faixa de idade invertida")
+    void deveriaRejeitarFiltroComFaixaDeIdadeInvertida() {
+        // ARRANGE
+        FiltroPetsDto filtro = new FiltroPetsDto(null, 5, 2, null, null, null, null, null, null);
+
+        // ACT & ASSERT
+        assertThrows(ValidacaoException.class, () -> petService.buscarPetsDisponiveis(filtro));
+        then(repository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Deveria paginar por cursor os pets disponíveis com o filtro informado")
+    void deveriaPaginarPetsFiltradosComCursor() {
+        // ARRANGE
+        FiltroPetsDto filtro = new FiltroPetsDto(TipoPet.GATO, null, null, null, null, null, null, 1L, null);
+        PetDto mimi = criarPetDto(2L, "Mimi", TipoPet.GATO, "Siamês", 3);
+        PetDto tom = criarPetDto(5L, "Tom", TipoPet.GATO, "Persa", 4);
+        given(repository.buscarFiltrados(any(), eq(0L), eq(2))).willReturn(List.of(mimi, tom));
+
+        // ACT
+        PaginaCursorDto<PetDto> resultado = petService.buscarPetsDisponiveisPorCursor(filtro, "", 1);
+
+        // ASSERT
+        assertEquals(List.of(mimi), resultado.conteudo());
+        assertNotNull(resultado.proximoCursor());
+        then(repository).should(never()).buscarDisponiveisApos(any(), any());
+        assertEquals(0, cachePetsDisponiveis.estatisticas().tamanho());
+    }
+
+    // ==================== TESTES DE BUSCAR PETS DISPONÍVEIS POR CURSOR ====================
+
+    @Test
+    @DisplayName("Deveria retornar primeira página de pets com cursor para a próxima")
+    void deveriaRetornarPrimeiraPaginaDePetsComCursor() {
+        // ARRANGE
+        PetDto pet1 = criarPetDto(1L, "Rex", TipoPet.CACHORRO, "Vira-lata", 2);
+        PetDto pet2 = criarPetDto(2L, "Mimi", TipoPet.GATO, "Siamês", 1);
+        PetDto pet3 = criarPetDto(3L, "Bob", TipoPet.CACHORRO, "Labrador", 3);
+        given(repository.buscarDisponiveisApos(0L, PageRequest.of(0, 3)))
+            .willReturn(Arrays.asList(pet1, pet2, pet3));
+
+        // ACT
+        PaginaCursorDto<PetDto> resultado = petService.buscarPetsDisponiveisPorCursor("", 2);
+
+        // ASSERT
+        assertEquals(2, resultado.conteudo().size());
+        assertEquals("Rex", resultado.conteudo().get(0).nome());
+        assertEquals("Mimi", resultado.conteudo().get(1).nome());
+        assertNotNull(resultado.proximoCursor());
+    }
+
+    @Test
+    @DisplayName("Deveria continuar a busca após o último id do cursor")
+    void deveriaContinuarBuscaAposUltimoIdDoCursor() {
+        // ARRANGE
+        PetDto pet1 = criarPetDto(1L, "Rex", TipoPet.CACHORRO, "Vira-lata", 2);
+        PetDto pet2 = criarPetDto(2L, "Mimi", TipoPet.GATO, "Siamês", 1);
+        PetDto pet3 = criarPetDto(3L, "Bob", TipoPet.CACHORRO, "Labrador", 3);
+        given(repository.buscarDisponiveisApos(0L, PageRequest.of(0, 3)))
+            .willReturn(Arrays.asList(pet1, pet2, pet3));
+        given(repository.buscarDisponiveisApos(2L, PageRequest.of(0, 3)))
+            .willReturn(List.of(pet3));
+        String cursor = petService.buscarPetsDisponiveisPorCursor("", 2).proximoCursor();
+
+        // ACT
+        PaginaCursorDto<PetDto> resultado = petService.buscarPetsDisponiveisPorCursor(cursor, 2);
+
+        // ASSERT
+        assertEquals(1, resultado.conteudo().size());
+        assertEquals("Bob", resultado.conteudo().get(0).nome());
+        assertNull(resultado.proximoCursor());
+    }
+
+    @Test
+    @DisplayName("Deveria lançar exceção para cursor de pets inválido")
+    void deveriaLancarExcecaoParaCursorDePetsInvalido() {
+        // ACT & ASSERT
+        ValidacaoException exception = assertThrows(ValidacaoException.class,
+            () -> petService.buscarPetsDisponiveisPorCursor("!!!", 10));
+        assertEquals("Cursor inválido!", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deveria lançar exceção para tamanho de página de pets inválido")
+    void deveriaLancarExcecaoParaTamanhoDePaginaDePetsInvalido() {
+        // ACT & ASSERT
+        assertThrows(ValidacaoException.class, () -> petService.buscarPetsDisponiveisPorCursor("", 0));
+        then(repository).shouldHaveNoInteractions();
+    }
+
+    // ==================== TESTES DE TRANSMITIR PETS DISPONÍVEIS ====================
+
+    @Test
+    @DisplayName("Deveria escrever os pets disponíveis como array JSON")
+    void deveriaEscreverPetsDisponiveisComoArrayJson() throws Exception {
+        // ARRANGE
+        PetDto pet1 = criarPetDto(1L, "Rex", TipoPet.CACHORRO, "Vira-lata", 2);
+        PetDto pet2 = criarPetDto(2L, "Mimi", TipoPet.GATO, "Siamês", 1);
+        given(repository.transmitirDisponiveis()).willReturn(Stream.of(pet1, pet2));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // ACT
+        petService.escreverPetsDisponiveis(FiltroPetsDto.VAZIO, saida);
+
+        // ASSERT
+        PetDto[] escritos = objectMapper.readValue(saida.toByteArray(), PetDto[].class);
+        assertEquals(2, escritos.length);
+        assertEquals("Rex", escritos[0].nome());
+        assertEquals(TipoPet.GATO, escritos[1].tipo());
+    }
+
+    @Test
+    @DisplayName("Deveria escrever array vazio quando não houver pets disponíveis")
+    void deveriaEscreverArrayVazioQuandoNaoHouverPets() throws Exception {
+        // ARRANGE
+        given(repository.transmitirDisponiveis()).willReturn(Stream.empty());
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // ACT
+        petService.escreverPetsDisponiveis(FiltroPetsDto.VAZIO, saida);
+
+        // ASSERT
+        assertEquals("[]", saida.toString());
+    }
+
+    @Test
+    @DisplayName("Deveria transmitir só os pets disponíveis que atendem ao filtro")
+    void deveriaTransmitirPetsDisponiveisFiltrados() throws Exception {
+        // ARRANGE
+        FiltroPetsDto filtro = new FiltroPetsDto(TipoPet.GATO, null, null, null, null, null, null, null, null);
+        PetDto mimi = criarPetDto(2L, "Mimi", TipoPet.GATO, "Siamês", 1);
+        given(repository.transmitirFiltrados(any())).willReturn(Stream.of(mimi));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // ACT
+        petService.escreverPetsDisponiveis(filtro, saida);
+
+        // ASSERT
+        PetDto[] escritos = objectMapper.readValue(saida.toByteArray(), PetDto[].class);
+        assertEquals(1, escritos.length);
+        assertEquals("Mimi", escritos[0].nome());
+        then(repository).should(never()).transmitirDisponiveis();
+    }
+
+    @Test
+    @DisplayName("Não deveria transmitir com faixa de peso invertida")
+    void naoDeveriaTransmitirComFaixaDePesoInvertida() {
+        // ARRANGE
+        FiltroPetsDto filtro = new FiltroPetsDto(null, null, null, 10f, 2f, null, null, null, null);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // ACT & ASSERT
+        assertThrows(ValidacaoException.class, () -> petService.escreverPetsDisponiveis(filtro, saida));
+        assertEquals(0, saida.size());
+        then(repository).shouldHaveNoInteractions();
     }
 
     // ==================== TESTES DE CADASTRAR PET ====================
@@ -324,7 +584,7 @@ class PetServiceTest {
         // ARRANGE - Configura a busca para retornar o pet cadastrado
         Pet petCadastrado = new Pet(dto, abrigo);
         petCadastrado.setId(1L);
-        given(repository.findAllByAdotadoFalse()).willReturn(Arrays.asList(petCadastrado));
+        given(repository.buscarDisponiveis()).willReturn(Arrays.asList(new PetDto(petCadastrado)));
 
         // ACT - Busca pets disponíveis
         List<PetDto> petsDisponiveis = petService.buscarPetsDisponiveis();
@@ -333,19 +593,19 @@ class PetServiceTest {
         assertEquals(1, petsDisponiveis.size());
         assertEquals("Novo Pet", petsDisponiveis.get(0).nome());
         then(repository).should().save(any(Pet.class));
-        then(repository).should().findAllByAdotadoFalse();
+        then(repository).should().buscarDisponiveis();
     }
 
     @Test
     @DisplayName("Deveria retornar pets em ordem do repository")
     void deveriaRetornarPetsEmOrdemDoRepository() {
         // ARRANGE
-        Pet pet1 = criarPet(1L, "Primeiro", TipoPet.CACHORRO, "SRD", 1, false);
-        Pet pet2 = criarPet(2L, "Segundo", TipoPet.CACHORRO, "SRD", 1, false);
-        Pet pet3 = criarPet(3L, "Terceiro", TipoPet.CACHORRO, "SRD", 1, false);
+        PetDto pet1 = criarPetDto(1L, "Primeiro", TipoPet.CACHORRO, "SRD", 1);
+        PetDto pet2 = criarPetDto(2L, "Segundo", TipoPet.CACHORRO, "SRD", 1);
+        PetDto pet3 = criarPetDto(3L, "Terceiro", TipoPet.CACHORRO, "SRD", 1);
 
-        List<Pet> pets = Arrays.asList(pet1, pet2, pet3);
-        given(repository.findAllByAdotadoFalse()).willReturn(pets);
+        List<PetDto> pets = Arrays.asList(pet1, pet2, pet3);
+        given(repository.buscarDisponiveis()).willReturn(pets);
 
         // ACT
         List<PetDto> resultado = petService.buscarPetsDisponiveis();
@@ -361,40 +621,26 @@ class PetServiceTest {
     @DisplayName("Deveria processar lista grande de pets eficientemente")
     void deveriaProcessarListaGrandeDePets() {
         // ARRANGE
-        List<Pet> muitosPets = Arrays.asList(
-            criarPet(1L, "Pet1", TipoPet.CACHORRO, "SRD", 1, false),
-            criarPet(2L, "Pet2", TipoPet.CACHORRO, "SRD", 1, false),
-            criarPet(3L, "Pet3", TipoPet.CACHORRO, "SRD", 1, false),
-            criarPet(4L, "Pet4", TipoPet.CACHORRO, "SRD", 1, false),
-            criarPet(5L, "Pet5", TipoPet.CACHORRO, "SRD", 1, false)
+        List<PetDto> muitosPets = Arrays.asList(
+            criarPetDto(1L, "Pet1", TipoPet.CACHORRO, "SRD", 1),
+            criarPetDto(2L, "Pet2", TipoPet.CACHORRO, "SRD", 1),
+            criarPetDto(3L, "Pet3", TipoPet.CACHORRO, "SRD", 1),
+            criarPetDto(4L, "Pet4", TipoPet.CACHORRO, "SRD", 1),
+            criarPetDto(5L, "Pet5", TipoPet.CACHORRO, "SRD", 1)
         );
-        given(repository.findAllByAdotadoFalse()).willReturn(muitosPets);
+        given(repository.buscarDisponiveis()).willReturn(muitosPets);
 
         // ACT
         List<PetDto> resultado = petService.buscarPetsDisponiveis();
 
         // ASSERT
         assertEquals(5, resultado.size());
-        then(repository).should().findAllByAdotadoFalse();
+        then(repository).should().buscarDisponiveis();
     }
 
     // ==================== MÉTODOS AUXILIARES ====================
 
-    private Pet criarPet(Long id, String nome, TipoPet tipo, String raca, Integer idade, Boolean adotado) {
-        Pet pet = new Pet();
-        pet.setId(id);
-        pet.setNome(nome);
-        pet.setTipo(tipo);
-        pet.setRaca(raca);
-        pet.setIdade(idade);
-        pet.setAdotado(adotado);
-        return pet;
-    }
-
-    private Pet criarPetCompleto(Long id, String nome, TipoPet tipo, String raca, Integer idade, String cor, Float peso, Boolean adotado) {
-        Pet pet = criarPet(id, nome, tipo, raca, idade, adotado);
-        pet.setCor(cor);
-        pet.setPeso(peso);
-        return pet;
+    private PetDto criarPetDto(Long id, String nome, TipoPet tipo, String raca, Integer idade) {
+        return new PetDto(id, tipo, nome, raca, idade);
     }
-}
\ No newline at end of file
+}
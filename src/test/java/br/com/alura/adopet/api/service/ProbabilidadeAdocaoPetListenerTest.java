@@ -0,0 +1,105 @@
+package br.com.alura.adopet.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+
+class ProbabilidadeAdocaoPetListenerTest {
+
+    private final ProbabilidadeAdocaoPetListener listener = new ProbabilidadeAdocaoPetListener();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(listener, "calculadora", new CalculadoraProbabilidadeAdocao());
+    }
+
+    @Test
+    @DisplayName("Deveria gravar nota e probabilidade no cadastro do pet")
+    void deveriaGravarNotaEProbabilidadeNoCadastro() {
+        // ARRANGE
+        Pet pet = new Pet(new CadastroPetDto(TipoPet.CACHORRO, "Thor", "Labrador", 15, "Preto", 20.0f), null);
+
+        // ACT
+        listener.atualizarProbabilidadeAdocao(pet);
+
+        // ASSERT
+        assertEquals(3, pet.getNotaAdocao());
+        assertEquals(ProbabilidadeAdocao.BAIXA, pet.getProbabilidadeAdocao());
+        assertFalse(pet.isProbabilidadeAdocaoDesatualizada());
+    }
+
+    @Test
+    @DisplayName("Deveria recalcular a probabilidade quando o peso do pet mudar")
+    void deveriaRecalcularQuandoPesoMudar() {
+        // ARRANGE
+        Pet pet = new Pet(new CadastroPetDto(TipoPet.GATO, "Mimi", "Siamês", 1, "Branco", 4.0f), null);
+        listener.atualizarProbabilidadeAdocao(pet);
+
+        // ACT
+        pet.setPeso(12.0f);
+        listener.atualizarProbabilidadeAdocao(pet);
+
+        // ASSERT
+        assertEquals(8, pet.getNotaAdocao());
+        assertEquals(ProbabilidadeAdocao.ALTA, pet.getProbabilidadeAdocao());
+    }
+
+    @Test
+    @DisplayName("Deveria manter a nota gravada quando tipo, peso e idade não mudarem")
+    void deveriaManterNotaGravadaSemMudancas() {
+        // ARRANGE
+        Pet pet = new Pet(new CadastroPetDto(TipoPet.GATO, "Mimi", "Siamês", 1, "Branco", 4.0f), null);
+        pet.atualizarProbabilidadeAdocao(7, ProbabilidadeAdocao.MEDIA);
+
+        // ACT
+        pet.setNome("Mimi II");
+        listener.atualizarProbabilidadeAdocao(pet);
+
+        // ASSERT
+        assertEquals(7, pet.getNotaAdocao());
+        assertEquals(ProbabilidadeAdocao.MEDIA, pet.getProbabilidadeAdocao());
+    }
+
+    @Test
+    @DisplayName("Deveria deixar sem nota o pet antigo sem peso e idade ao envelhecer")
+    void deveriaDeixarSemNotaPetAntigoSemPesoEIdade() {
+        // ARRANGE
+        Pet pet = new Pet();
+        pet.envelhecer(LocalDate.now());
+
+        // ACT
+        listener.atualizarProbabilidadeAdocao(pet);
+
+        // ASSERT
+        assertNull(pet.getNotaAdocao());
+        assertNull(pet.getProbabilidadeAdocao());
+    }
+
+    @Test
+    @DisplayName("Deveria limpar a nota gravada quando o peso do pet for removido")
+    void deveriaLimparNotaQuandoPesoForRemovido() {
+        // ARRANGE
+        Pet pet = new Pet(new CadastroPetDto(TipoPet.GATO, "Mimi", "Siamês", 1, "Branco", 4.0f), null);
+        listener.atualizarProbabilidadeAdocao(pet);
+
+        // ACT
+        pet.setPeso(null);
+        listener.atualizarProbabilidadeAdocao(pet);
+
+        // ASSERT
+        assertNull(pet.getNotaAdocao());
+        assertNull(pet.getProbabilidadeAdocao());
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.alura.adopet.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.given;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.alura.adopet.api.dto.ProbabilidadeAdocaoPetDto;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.repository.PetRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ProbabilidadeAdocaoServiceTest {
+
+    @Mock
+    private PetRepository petRepository;
+
+    @InjectMocks
+    private ProbabilidadeAdocaoService service;
+
+    @Test
+    @DisplayName("Deveria ordenar os pets disponíveis da maior para a menor nota gravada")
+    void deveriaOrdenarPetsDisponiveisDaMaiorParaMenorNota() {
+        // ARRANGE
+        ProbabilidadeAdocaoPetDto idoso = new ProbabilidadeAdocaoPetDto(1L, "Idoso", 3, ProbabilidadeAdocao.BAIXA);
+        ProbabilidadeAdocaoPetDto filhote = new ProbabilidadeAdocaoPetDto(2L, "Filhote", 10, ProbabilidadeAdocao.ALTA);
+        ProbabilidadeAdocaoPetDto adulto = new ProbabilidadeAdocaoPetDto(3L, "Adulto", 4, ProbabilidadeAdocao.BAIXA);
+        given(petRepository.buscarProbabilidadesDisponiveis()).willReturn(List.of(idoso, filhote, adulto));
+
+        // ACT
+        List<ProbabilidadeAdocaoPetDto> resultado = service.buscarDisponiveis();
+
+        // ASSERT
+        assertEquals(List.of(filhote, adulto, idoso), resultado);
+    }
+
+    @Test
+    @DisplayName("Deveria desempatar pelo id os pets do abrigo com a mesma nota")
+    void deveriaDesempatarPeloIdPetsDoAbrigoComMesmaNota() {
+        // ARRANGE
+        ProbabilidadeAdocaoPetDto nove = new ProbabilidadeAdocaoPetDto(9L, "Nove", 8, ProbabilidadeAdocao.ALTA);
+        ProbabilidadeAdocaoPetDto quatro = new ProbabilidadeAdocaoPetDto(4L, "Quatro", 8, ProbabilidadeAdocao.ALTA);
+        given(petRepository.buscarProbabilidadesDisponiveisPorAbrigo(7L)).willReturn(List.of(nove, quatro));
+
+        // ACT
+        List<ProbabilidadeAdocaoPetDto> resultado = service.buscarDoAbrigo(7L);
+
+        // ASSERT
+        assertEquals(List.of(quatro, nove), resultado);
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.alura.adopet.api.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor SMTP mínimo para testes: aceita qualquer remetente e os destinatários que não
+ * foram marcados como recusados, guarda o conteúdo das mensagens recebidas e conta as conexões abertas.
+ */
+class ServidorSmtpFalso implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final Thread aceitador;
+    private final List<String> mensagens = new CopyOnWriteArrayList<>();
+    private final AtomicInteger conexoes = new AtomicInteger();
+    private final String destinatarioRecusado;
+
+    ServidorSmtpFalso() throws IOException {
+        this(null);
+    }
+
+    ServidorSmtpFalso(String destinatarioRecusado) throws IOException {
+        this.destinatarioRecusado = destinatarioRecusado;
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.aceitador = new Thread(this::aceitar, "smtp-falso");
+        this.aceitador.setDaemon(true);
+        this.aceitador.start();
+    }
+
+    int porta() {
+        return serverSocket.getLocalPort();
+    }
+
+    List<String> mensagens() {
+        return mensagens;
+    }
+
+    int conexoes() {
+        return conexoes.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void aceitar() {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                conexoes.incrementAndGet();
+                atender(socket);
+            } catch (IOException exception) {
+                // servidor encerrado ou cliente desconectou
+            }
+        }
+    }
+
+    private void atender(Socket socket) throws IOException {
+        BufferedReader entrada = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        Writer saida = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+        responder(saida, "220 localhost SMTP falso");
+
+        String linha;
+        while ((linha = entrada.readLine()) != null) {
+            String comando = linha.toUpperCase();
+            if (comando.startsWith("EHLO") || comando.startsWith("HELO")) {
+                responder(saida, "250 localhost");
+            } else if (comando.startsWith("RCPT") && destinatarioRecusado != null && linha.contains(destinatarioRecusado)) {
+                responder(saida, "550 Destinatario recusado");
+            } else if (comando.startsWith("DATA")) {
+                responder(saida, "354 Fim com <CRLF>.<CRLF>");
+                mensagens.add(lerConteudo(entrada));
+                responder(saida, "250 OK");
+            } else if (comando.startsWith("QUIT")) {
+                responder(saida, "221 Tchau");
+                return;
+            } else {
+                responder(saida, "250 OK");
+            }
+        }
+    }
+
+    private String lerConteudo(BufferedReader entrada) throws IOException {
+        StringBuilder conteudo = new StringBuilder();
+        String linha;
+        while ((linha = entrada.readLine()) != null && !linha.equals(".")) {
+            conteudo.append(linha).append('\n');
+        }
+        return conteudo.toString();
+    }
+
+    private void responder(Writer saida, String resposta) throws IOException {
+        saida.write(resposta + "\r\n");
+        saida.flush();
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.alura.adopet.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TemplateEmailTest {
+
+    @Test
+    @DisplayName("Deveria substituir as variáveis na ordem em que foram declaradas")
+    void deveriaSubstituirVariaveisNaOrdemDeclarada() {
+        // ARRANGE
+        TemplateEmail template = TemplateEmail.compilar("teste", "{b} e {a}, de novo {b}!", List.of("a", "b"));
+        StringBuilder destino = new StringBuilder();
+
+        // ACT
+        template.renderizar(destino, "primeiro", "segundo");
+
+        // ASSERT
+        assertEquals("segundo e primeiro, de novo segundo!", destino.toString());
+    }
+
+    @Test
+    @DisplayName("Deveria formatar datas com o formatador compartilhado")
+    void deveriaFormatarDatasComFormatadorCompartilhado() {
+        // ARRANGE
+        TemplateEmail template = TemplateEmail.compilar("teste", "Em {data}.", List.of("data"));
+        StringBuilder destino = new StringBuilder();
+
+        // ACT
+        template.renderizar(destino, LocalDateTime.of(2024, 3, 5, 9, 7, 2));
+
+        // ASSERT
+        assertEquals("Em 05/03/2024 09:07:02.", destino.toString());
+    }
+
+    @Test
+    @DisplayName("Deveria escrever null como o texto null, igual à concatenação")
+    void deveriaEscreverNullComoTexto() {
+        // ARRANGE
+        TemplateEmail template = TemplateEmail.compilar("teste", "Motivo: {motivo}", List.of("motivo"));
+        StringBuilder destino = new StringBuilder();
+
+        // ACT
+        template.renderizar(destino, (Object) null);
+
+        // ASSERT
+        assertEquals("Motivo: null", destino.toString());
+    }
+
+    @Test
+    @DisplayName("Deveria acrescentar ao conteúdo já existente no builder")
+    void deveriaAcrescentarAoConteudoDoBuilder() {
+        // ARRANGE
+        TemplateEmail template = TemplateEmail.compilar("teste", "texto fixo", List.of());
+        StringBuilder destino = new StringBuilder(">");
+
+        // ACT
+        template.renderizar(destino);
+
+        // ASSERT
+        assertEquals(">texto fixo", destino.toString());
+    }
+
+    @Test
+    @DisplayName("Deveria recusar variável desconhecida e chave sem fechamento")
+    void deveriaRecusarTemplatesInvalidos() {
+        // ACT & ASSERT
+        IllegalArgumentException desconhecida = assertThrows(IllegalArgumentException.class,
+                () -> TemplateEmail.compilar("teste", "Olá {nome}", List.of("tutor")));
+        assertTrue(desconhecida.getMessage().contains("{nome}"));
+        assertThrows(IllegalArgumentException.class, () -> TemplateEmail.compilar("teste", "Olá {tutor", List.of("tutor")));
+    }
+
+    @Test
+    @DisplayName("Deveria recusar quantidade de valores diferente da de variáveis")
+    void deveriaRecusarQuantidadeDeValoresDiferente() {
+        // ARRANGE
+        TemplateEmail template = TemplateEmail.compilar("teste", "{a}{b}", List.of("a", "b"));
+
+        // ACT & ASSERT
+        assertThrows(IllegalArgumentException.class, () -> template.renderizar(new StringBuilder(), "so um"));
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.alura.adopet.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TemplatesEmailAdocaoTest {
+
+    private static final LocalDateTime DATA = LocalDateTime.of(2024, 3, 10, 14, 30, 5);
+
+    private final TemplatesEmailAdocao templates = new TemplatesEmailAdocao();
+
+    @Test
+    @DisplayName("Deveria montar o e-mail de solicitação")
+    void deveriaMontarEmailDeSolicitacao() {
+        // ACT
+        String mensagem = templates.solicitacao("Abrigo Feliz", "Rex");
+
+        // ASSERT
+        assertEquals("Olá Abrigo Feliz!\n\nUma solicitação de adoção foi registrada hoje para o pet: Rex. \nFavor avaliar para aprovação ou reprovação.", mensagem);
+    }
+
+    @Test
+    @DisplayName("Deveria montar o e-mail de aprovação")
+    void deveriaMontarEmailDeAprovacao() {
+        // ACT
+        String mensagem = templates.aprovacao("Maria", "Rex", DATA, "Abrigo Feliz");
+
+        // ASSERT
+        assertEquals("Parabéns Maria!\n\nSua adoção do pet Rex, solicitada em 10/03/2024 14:30:05, foi aprovada.\nFavor entrar em contato com o abrigo Abrigo Feliz para agendar a busca do seu pet.", mensagem);
+    }
+
+    @Test
+    @DisplayName("Deveria montar o e-mail de reprovação")
+    void deveriaMontarEmailDeReprovacao() {
+        // ACT
+        String mensagem = templates.reprovacao("Maria", "Rex", DATA, "Abrigo Feliz", "Sem espaço adequado");
+
+        // ASSERT
+        assertEquals("Olá Maria!\n\nInfelizmente sua adoção do pet Rex, solicitada em 10/03/2024 14:30:05, foi reprovada pelo abrigo Abrigo Feliz com a seguinte justificativa: Sem espaço adequado", mensagem);
+    }
+
+    @Test
+    @DisplayName("Deveria começar cada mensagem com o builder vazio, mesmo após uma mensagem longa")
+    void deveriaComecarCadaMensagemComBuilderVazio() {
+        // ARRANGE
+        templates.reprovacao("Maria", "Rex", DATA, "Abrigo Feliz", "x".repeat(20_000));
+
+        // ACT
+        String mensagem = templates.solicitacao("Abrigo", "Mimi");
+
+        // ASSERT
+        assertEquals("Olá Abrigo!\n\nUma solicitação de adoção foi registrada hoje para o pet: Mimi. \nFavor avaliar para aprovação ou reprovação.", mensagem);
+    }
+}
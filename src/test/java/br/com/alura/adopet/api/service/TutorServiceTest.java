@@ -10,6 +10,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -27,9 +28,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import br.com.alura.adopet.api.dto.AtualizacaoTutorDto;
 import br.com.alura.adopet.api.dto.CadastroTutorDto;
+import br.com.alura.adopet.api.dto.PaginaCursorDto;
 import br.com.alura.adopet.api.dto.TutorDto;
 import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.Pet;
@@ -53,13 +56,13 @@ class TutorServiceTest {
         // ARRANGE
         Pageable paginacao = PageRequest.of(0, 10);
         
-        Tutor tutor1 = criarTutor(1L, "João Silva", "(11)99999-9999", "joao@email.com");
-        Tutor tutor2 = criarTutor(2L, "Maria Santos", "(11)88888-8888", "maria@email.com");
+        TutorDto tutor1 = criarTutorDto(1L, "João Silva", "(11)99999-9999", "joao@email.com");
+        TutorDto tutor2 = criarTutorDto(2L, "Maria Santos", "(11)88888-8888", "maria@email.com");
         
-        List<Tutor> tutores = Arrays.asList(tutor1, tutor2);
+        List<TutorDto> tutores = Arrays.asList(tutor1, tutor2);
         long total = 2L;
 
-        given(tutorRepository.findAllWithPagination(0, 10)).willReturn(tutores);
+        given(tutorRepository.buscarOrdenadosPorNome(PageRequest.of(0, 10))).willReturn(tutores);
         given(tutorRepository.count()).willReturn(total);
 
         // ACT
@@ -84,7 +87,7 @@ class TutorServiceTest {
         assertEquals("(11)88888-8888", segundoTutor.telefone());
         assertEquals("maria@email.com", segundoTutor.email());
 
-        then(tutorRepository).should().findAllWithPagination(0, 10);
+        then(tutorRepository).should().buscarOrdenadosPorNome(PageRequest.of(0, 10));
         then(tutorRepository).should().count();
     }
 
@@ -94,7 +97,7 @@ class TutorServiceTest {
         // ARRANGE
         Pageable paginacao = PageRequest.of(0, 10);
         
-        given(tutorRepository.findAllWithPagination(0, 10)).willReturn(Arrays.asList());
+        given(tutorRepository.buscarOrdenadosPorNome(PageRequest.of(0, 10))).willReturn(Arrays.asList());
         given(tutorRepository.count()).willReturn(0L);
 
         // ACT
@@ -106,7 +109,7 @@ class TutorServiceTest {
         assertEquals(0, resultado.getTotalElements());
         assertEquals(0, resultado.getTotalPages());
         
-        then(tutorRepository).should().findAllWithPagination(0, 10);
+        then(tutorRepository).should().buscarOrdenadosPorNome(PageRequest.of(0, 10));
         then(tutorRepository).should().count();
     }
 
@@ -118,9 +121,9 @@ class TutorServiceTest {
         Pageable segundaPagina = PageRequest.of(1, 5);
         Pageable terceiraPagina = PageRequest.of(2, 5);
 
-        given(tutorRepository.findAllWithPagination(0, 5)).willReturn(Arrays.asList());
-        given(tutorRepository.findAllWithPagination(5, 5)).willReturn(Arrays.asList());
-        given(tutorRepository.findAllWithPagination(10, 5)).willReturn(Arrays.asList());
+        given(tutorRepository.buscarOrdenadosPorNome(PageRequest.of(0, 5))).willReturn(Arrays.asList());
+        given(tutorRepository.buscarOrdenadosPorNome(PageRequest.of(1, 5))).willReturn(Arrays.asList());
+        given(tutorRepository.buscarOrdenadosPorNome(PageRequest.of(2, 5))).willReturn(Arrays.asList());
         given(tutorRepository.count()).willReturn(15L);
 
         // ACT & ASSERT - Primeira página
@@ -135,12 +138,103 @@ class TutorServiceTest {
         Page<TutorDto> resultado3 = tutorService.listar(terceiraPagina);
         assertEquals(2, resultado3.getNumber());
 
-        then(tutorRepository).should(times(1)).findAllWithPagination(0, 5);
-        then(tutorRepository).should(times(1)).findAllWithPagination(5, 5);
-        then(tutorRepository).should(times(1)).findAllWithPagination(10, 5);
+        then(tutorRepository).should(times(1)).buscarOrdenadosPorNome(PageRequest.of(0, 5));
+        then(tutorRepository).should(times(1)).buscarOrdenadosPorNome(PageRequest.of(1, 5));
+        then(tutorRepository).should(times(1)).buscarOrdenadosPorNome(PageRequest.of(2, 5));
         then(tutorRepository).should(times(3)).count();
     }
 
+    // ==================== TESTES DE LISTAR TUTORES POR CURSOR ====================
+
+    @Test
+    @DisplayName("Deveria retornar primeira página com cursor para a próxima")
+    void deveriaRetornarPrimeiraPaginaComCursorParaProxima() {
+        // ARRANGE
+        TutorDto tutor1 = criarTutorDto(1L, "Ana", "(11)99999-9999", "ana@email.com");
+        TutorDto tutor2 = criarTutorDto(2L, "Bruno", "(11)88888-8888", "bruno@email.com");
+        TutorDto tutor3 = criarTutorDto(3L, "Carla", "(11)77777-7777", "carla@email.com");
+        given(tutorRepository.buscarOrdenadosPorNome(PageRequest.of(0, 3))).willReturn(Arrays.asList(tutor1, tutor2, tutor3));
+
+        // ACT
+        PaginaCursorDto<TutorDto> resultado = tutorService.listarPorCursor("", 2, false);
+
+        // ASSERT
+        assertEquals(2, resultado.conteudo().size());
+        assertEquals("Ana", resultado.conteudo().get(0).nome());
+        assertEquals("Bruno", resultado.conteudo().get(1).nome());
+        assertNotNull(resultado.proximoCursor());
+        assertNull(resultado.total());
+        then(tutorRepository).should(never()).count();
+    }
+
+    @Test
+    @DisplayName("Deveria continuar a listagem a partir do cursor recebido")
+    void deveriaContinuarListagemAPartirDoCursor() {
+        // ARRANGE
+        TutorDto tutor1 = criarTutorDto(1L, "Ana", "(11)99999-9999", "ana@email.com");
+        TutorDto tutor2 = criarTutorDto(2L, "Bruno", "(11)88888-8888", "bruno@email.com");
+        TutorDto tutor3 = criarTutorDto(3L, "Carla", "(11)77777-7777", "carla@email.com");
+        given(tutorRepository.buscarOrdenadosPorNome(PageRequest.of(0, 3))).willReturn(Arrays.asList(tutor1, tutor2, tutor3));
+        given(tutorRepository.buscarOrdenadosPorNomeApos("Bruno", 2L, PageRequest.of(0, 3))).willReturn(List.of(tutor3));
+        String cursor = tutorService.listarPorCursor("", 2, false).proximoCursor();
+
+        // ACT
+        PaginaCursorDto<TutorDto> resultado = tutorService.listarPorCursor(cursor, 2, false);
+
+        // ASSERT
+        assertEquals(1, resultado.conteudo().size());
+        assertEquals("Carla", resultado.conteudo().get(0).nome());
+        assertNull(resultado.proximoCursor());
+        then(tutorRepository).should().buscarOrdenadosPorNomeApos("Bruno", 2L, PageRequest.of(0, 3));
+    }
+
+    @Test
+    @DisplayName("Deveria incluir total somente quando solicitado")
+    void deveriaIncluirTotalSomenteQuandoSolicitado() {
+        // ARRANGE
+        given(tutorRepository.buscarOrdenadosPorNome(PageRequest.of(0, 11))).willReturn(List.of());
+        given(tutorRepository.count()).willReturn(42L);
+
+        // ACT
+        PaginaCursorDto<TutorDto> resultado = tutorService.listarPorCursor("", 10, true);
+
+        // ASSERT
+        assertEquals(42L, resultado.total());
+        assertTrue(resultado.conteudo().isEmpty());
+        assertNull(resultado.proximoCursor());
+    }
+
+    @Test
+    @DisplayName("Deveria limitar o tamanho máximo da página")
+    void deveriaLimitarTamanhoMaximoDaPagina() {
+        // ARRANGE
+        given(tutorRepository.buscarOrdenadosPorNome(PageRequest.of(0, 101))).willReturn(List.of());
+
+        // ACT
+        tutorService.listarPorCursor("", 500, false);
+
+        // ASSERT
+        then(tutorRepository).should().buscarOrdenadosPorNome(PageRequest.of(0, 101));
+    }
+
+    @Test
+    @DisplayName("Deveria lançar exceção para cursor inválido")
+    void deveriaLancarExcecaoParaCursorInvalido() {
+        // ACT & ASSERT
+        ValidacaoException exception = assertThrows(ValidacaoException.class,
+            () -> tutorService.listarPorCursor("cursor-invalido", 10, false));
+        assertEquals("Cursor inválido!", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deveria lançar exceção para tamanho de página inválido")
+    void deveriaLancarExcecaoParaTamanhoDePaginaInvalido() {
+        // ACT & ASSERT
+        ValidacaoException exception = assertThrows(ValidacaoException.class,
+            () -> tutorService.listarPorCursor("", 0, false));
+        assertEquals("Tamanho da página deve ser maior que zero!", exception.getMessage());
+    }
+
     // ==================== TESTES DE CADASTRAR TUTOR ====================
 
     @Test
@@ -316,14 +410,14 @@ class TutorServiceTest {
     // ==================== TESTES DE VALIDAÇÃO DE DADOS ====================
 
     @Test
-    @DisplayName("Deveria converter corretamente todos os campos para DTO")
-    void deveriaConverterCorretamenteTodosOsCamposParaDto() {
+    @DisplayName("Deveria manter todos os campos da projeção")
+    void deveriaManterTodosOsCamposDaProjecao() {
         // ARRANGE
         Pageable paginacao = PageRequest.of(0, 10);
         
-        Tutor tutor = criarTutor(1L, "Tutor Completo", "(11)99999-9999", "completo@email.com");
+        TutorDto tutor = criarTutorDto(1L, "Tutor Completo", "(11)99999-9999", "completo@email.com");
 
-        given(tutorRepository.findAllWithPagination(0, 10)).willReturn(Arrays.asList(tutor));
+        given(tutorRepository.buscarOrdenadosPorNome(PageRequest.of(0, 10))).willReturn(Arrays.asList(tutor));
         given(tutorRepository.count()).willReturn(1L);
 
         // ACT
@@ -336,23 +430,37 @@ class TutorServiceTest {
         assertEquals("(11)99999-9999", tutorDto.telefone());
         assertEquals("completo@email.com", tutorDto.email());
         
-        then(tutorRepository).should().findAllWithPagination(0, 10);
+        then(tutorRepository).should().buscarOrdenadosPorNome(PageRequest.of(0, 10));
         then(tutorRepository).should().count();
     }
 
+    @Test
+    @DisplayName("Deveria ignorar a ordenação enviada pelo cliente")
+    void deveriaIgnorarOrdenacaoEnviadaPeloCliente() {
+        // ARRANGE
+        Pageable paginacao = PageRequest.of(0, 10, Sort.by("email"));
+        given(tutorRepository.buscarOrdenadosPorNome(PageRequest.of(0, 10))).willReturn(List.of());
+
+        // ACT
+        tutorService.listar(paginacao);
+
+        // ASSERT
+        then(tutorRepository).should().buscarOrdenadosPorNome(PageRequest.of(0, 10));
+    }
+
     @Test
     @DisplayName("Deveria lidar com paginação de página única")
     void deveriaLidarComPaginacaoDePaginaUnica() {
         // ARRANGE
         Pageable paginacao = PageRequest.of(0, 5);
         
-        List<Tutor> tutores = Arrays.asList(
-            criarTutor(1L, "Tutor 1", "(11)11111-1111", "tutor1@email.com"),
-            criarTutor(2L, "Tutor 2", "(11)22222-2222", "tutor2@email.com"),
-            criarTutor(3L, "Tutor 3", "(11)33333-3333", "tutor3@email.com")
+        List<TutorDto> tutores = Arrays.asList(
+            criarTutorDto(1L, "Tutor 1", "(11)11111-1111", "tutor1@email.com"),
+            criarTutorDto(2L, "Tutor 2", "(11)22222-2222", "tutor2@email.com"),
+            criarTutorDto(3L, "Tutor 3", "(11)33333-3333", "tutor3@email.com")
         );
 
-        given(tutorRepository.findAllWithPagination(0, 5)).willReturn(tutores);
+        given(tutorRepository.buscarOrdenadosPorNome(PageRequest.of(0, 5))).willReturn(tutores);
         given(tutorRepository.count()).willReturn(3L);
 
         // ACT
@@ -364,7 +472,7 @@ class TutorServiceTest {
         assertEquals(1, resultado.getTotalPages());
         assertEquals(0, resultado.getNumber());
         
-        then(tutorRepository).should().findAllWithPagination(0, 5);
+        then(tutorRepository).should().buscarOrdenadosPorNome(PageRequest.of(0, 5));
         then(tutorRepository).should().count();
     }
 
@@ -374,12 +482,12 @@ class TutorServiceTest {
         // ARRANGE
         Pageable paginacao = PageRequest.of(1, 2); // Segunda página, 2 itens por página
         
-        List<Tutor> tutoresPagina2 = Arrays.asList(
-            criarTutor(3L, "Tutor 3", "(11)33333-3333", "tutor3@email.com"),
-            criarTutor(4L, "Tutor 4", "(11)44444-4444", "tutor4@email.com")
+        List<TutorDto> tutoresPagina2 = Arrays.asList(
+            criarTutorDto(3L, "Tutor 3", "(11)33333-3333", "tutor3@email.com"),
+            criarTutorDto(4L, "Tutor 4", "(11)44444-4444", "tutor4@email.com")
         );
 
-        given(tutorRepository.findAllWithPagination(2, 2)).willReturn(tutoresPagina2);
+        given(tutorRepository.buscarOrdenadosPorNome(PageRequest.of(1, 2))).willReturn(tutoresPagina2);
         given(tutorRepository.count()).willReturn(5L);
 
         // ACT
@@ -391,12 +499,16 @@ class TutorServiceTest {
         assertEquals(3, resultado.getTotalPages()); // 5 elementos / 2 por página = 3 páginas
         assertEquals(1, resultado.getNumber()); // Segunda página (index 1)
         
-        then(tutorRepository).should().findAllWithPagination(2, 2);
+        then(tutorRepository).should().buscarOrdenadosPorNome(PageRequest.of(1, 2));
         then(tutorRepository).should().count();
     }
 
     // ==================== MÉTODOS AUXILIARES ====================
 
+    private TutorDto criarTutorDto(Long id, String nome, String telefone, String email) {
+        return new TutorDto(id, nome, telefone, email);
+    }
+
     private Tutor criarTutor(Long id, String nome, String telefone, String email) {
         Tutor tutor = new Tutor(new CadastroTutorDto(nome, telefone, email));
         tutor.setId(id);
@@ -256,6 +256,33 @@ class ValidacaoPetComAdocaoEmAndamentoTest {
         then(adocaoRepository).should().existsByPetIdAndStatus(1L, StatusAdocao.AGUARDANDO_AVALIACAO);
     }
 
+    @Test
+    @DisplayName("Deveria usar o contexto pré-carregado sem consultar o repositório")
+    void deveriaUsarContextoPreCarregadoSemConsultarRepositorio() {
+        // ARRANGE
+        SolicitacaoAdocaoDto dto = new SolicitacaoAdocaoDto(1L, 2L, "Motivo qualquer");
+        ContextoSolicitacaoAdocao contexto = new ContextoSolicitacaoAdocao(false, 0L, 0L, 0L);
+
+        // ACT & ASSERT
+        assertDoesNotThrow(() -> validacao.validar(dto, contexto));
+
+        then(adocaoRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Deveria lançar exceção quando o contexto indica adoção em andamento para o pet")
+    void deveriaLancarExcecaoQuandoContextoIndicaAdocaoEmAndamentoParaOPet() {
+        // ARRANGE
+        SolicitacaoAdocaoDto dto = new SolicitacaoAdocaoDto(1L, 2L, "Motivo qualquer");
+        ContextoSolicitacaoAdocao contexto = new ContextoSolicitacaoAdocao(false, 1L, 0L, 0L);
+
+        // ACT & ASSERT
+        ValidacaoException exception = assertThrows(ValidacaoException.class, () -> validacao.validar(dto, contexto));
+
+        assertEquals("Pet já possui uma adoção em andamento!", exception.getMessage());
+        then(adocaoRepository).shouldHaveNoInteractions();
+    }
+
     // ==================== MÉTODO AUXILIAR ====================
 
     private static void assertEquals(String expected, String actual) {
@@ -162,4 +162,32 @@ class ValidacaoPetDisponivelTest {
         );
         Assertions.assertNotNull(exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve usar o contexto pré-carregado sem consultar o repositório")
+    void deveriaUsarContextoPreCarregadoSemConsultarRepositorio() {
+        // ARRANGE
+        SolicitacaoAdocaoDto dtoReal = new SolicitacaoAdocaoDto(5L, 15L, "Quero adotar");
+        ContextoSolicitacaoAdocao contexto = new ContextoSolicitacaoAdocao(false, 0L, 0L, 0L);
+
+        // ACT + ASSERT
+        Assertions.assertDoesNotThrow(() -> validacao.validar(dtoReal, contexto));
+        then(petRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar validação quando o contexto indica pet adotado")
+    void deveriaRejeitarValidacaoQuandoContextoIndicaPetAdotado() {
+        // ARRANGE
+        SolicitacaoAdocaoDto dtoReal = new SolicitacaoAdocaoDto(5L, 15L, "Quero adotar");
+        ContextoSolicitacaoAdocao contexto = new ContextoSolicitacaoAdocao(true, 0L, 0L, 0L);
+
+        // ACT + ASSERT
+        ValidacaoException exception = Assertions.assertThrows(
+            ValidacaoException.class,
+            () -> validacao.validar(dtoReal, contexto)
+        );
+        Assertions.assertEquals("Pet já foi adotado!", exception.getMessage());
+        then(petRepository).shouldHaveNoInteractions();
+    }
+}
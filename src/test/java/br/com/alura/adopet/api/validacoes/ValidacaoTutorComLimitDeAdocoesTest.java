@@ -2,22 +2,18 @@ package br.com.alura.adopet.api.validacoes;
 
 import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
 import br.com.alura.adopet.api.exception.ValidacaoException;
-import br.com.alura.adopet.api.model.Adocao;
 import br.com.alura.adopet.api.model.StatusAdocao;
-import br.com.alura.adopet.api.model.Tutor;
 import br.com.alura.adopet.api.repository.AdocaoRepository;
-import br.com.alura.adopet.api.repository.TutorRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Arrays;
-import java.util.List;
-
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
 
 @ExtendWith(MockitoExtension.class)
 class ValidacaoTutorComLimiteDeAdocoesTest {
@@ -28,34 +24,12 @@ class ValidacaoTutorComLimiteDeAdocoesTest {
     @Mock
     private AdocaoRepository adocaoRepository;
 
-    @Mock
-    private TutorRepository tutorRepository;
-
-    @Mock
-    private Tutor tutor;
-
-    @Mock
-    private Tutor outroTutor;
-
-    @Mock
-    private Adocao adocaoAprovada1, adocaoAprovada2, adocaoAprovada3, adocaoAprovada4, adocaoAprovada5;
-
-    @Mock
-    private Adocao adocaoAguardando;
-
-    @Mock
-    private Adocao adocaoReprovada;
-
     @Test
     void deveriaPermitirSolicitacaoQuandoTutorTemMenosDe5AdocoesAprovadas() {
         // ARRANGE
         SolicitacaoAdocaoDto dto = new SolicitacaoAdocaoDto(1L, 1L, "motivo");
-        List<Adocao> adocoes = Arrays.asList(adocaoAprovada1);
-        
-        given(tutorRepository.getReferenceById(dto.idTutor())).willReturn(tutor);
-        given(adocaoRepository.findAll()).willReturn(adocoes);
-        given(adocaoAprovada1.getTutor()).willReturn(tutor);
-        given(adocaoAprovada1.getStatus()).willReturn(StatusAdocao.APROVADO);
+
+        given(adocaoRepository.countByTutorIdAndStatus(1L, StatusAdocao.APROVADO)).willReturn(1L);
 
         // ACT & ASSERT
         assertDoesNotThrow(() -> validacao.validar(dto));
@@ -65,22 +39,8 @@ class ValidacaoTutorComLimiteDeAdocoesTest {
     void deveriaPermitirSolicitacaoQuandoTutorTem4AdocoesAprovadas() {
         // ARRANGE
         SolicitacaoAdocaoDto dto = new SolicitacaoAdocaoDto(1L, 1L, "motivo");
-        
-        List<Adocao> adocoes = Arrays.asList(
-            adocaoAprovada1, adocaoAprovada2, adocaoAprovada3, adocaoAprovada4
-        );
-        
-        given(tutorRepository.getReferenceById(dto.idTutor())).willReturn(tutor);
-        given(adocaoRepository.findAll()).willReturn(adocoes);
-        
-        given(adocaoAprovada1.getTutor()).willReturn(tutor);
-        given(adocaoAprovada1.getStatus()).willReturn(StatusAdocao.APROVADO);
-        given(adocaoAprovada2.getTutor()).willReturn(tutor);
-        given(adocaoAprovada2.getStatus()).willReturn(StatusAdocao.APROVADO);
-        given(adocaoAprovada3.getTutor()).willReturn(tutor);
-        given(adocaoAprovada3.getStatus()).willReturn(StatusAdocao.APROVADO);
-        given(adocaoAprovada4.getTutor()).willReturn(tutor);
-        given(adocaoAprovada4.getStatus()).willReturn(StatusAdocao.APROVADO);
+
+        given(adocaoRepository.countByTutorIdAndStatus(1L, StatusAdocao.APROVADO)).willReturn(4L);
 
         // ACT & ASSERT
         assertDoesNotThrow(() -> validacao.validar(dto));
@@ -90,24 +50,8 @@ class ValidacaoTutorComLimiteDeAdocoesTest {
     void deveriaLancarExcecaoQuandoTutorTem5AdocoesAprovadas() {
         // ARRANGE
         SolicitacaoAdocaoDto dto = new SolicitacaoAdocaoDto(1L, 1L, "motivo");
-        
-        List<Adocao> adocoes = Arrays.asList(
-            adocaoAprovada1, adocaoAprovada2, adocaoAprovada3, adocaoAprovada4, adocaoAprovada5
-        );
-        
-        given(tutorRepository.getReferenceById(dto.idTutor())).willReturn(tutor);
-        given(adocaoRepository.findAll()).willReturn(adocoes);
-        
-        given(adocaoAprovada1.getTutor()).willReturn(tutor);
-        given(adocaoAprovada1.getStatus()).willReturn(StatusAdocao.APROVADO);
-        given(adocaoAprovada2.getTutor()).willReturn(tutor);
-        given(adocaoAprovada2.getStatus()).willReturn(StatusAdocao.APROVADO);
-        given(adocaoAprovada3.getTutor()).willReturn(tutor);
-        given(adocaoAprovada3.getStatus()).willReturn(StatusAdocao.APROVADO);
-        given(adocaoAprovada4.getTutor()).willReturn(tutor);
-        given(adocaoAprovada4.getStatus()).willReturn(StatusAdocao.APROVADO);
-        given(adocaoAprovada5.getTutor()).willReturn(tutor);
-        given(adocaoAprovada5.getStatus()).willReturn(StatusAdocao.APROVADO);
+
+        given(adocaoRepository.countByTutorIdAndStatus(1L, StatusAdocao.APROVADO)).willReturn(5L);
 
         // ACT & ASSERT
         ValidacaoException exception = assertThrows(ValidacaoException.class, () -> validacao.validar(dto));
@@ -115,86 +59,78 @@ class ValidacaoTutorComLimiteDeAdocoesTest {
     }
 
     @Test
-    void deveriaPermitirSolicitacaoQuandoTutorTemAdocoesComStatusDiferenteDeAprovado() {
+    void deveriaLancarExcecaoQuandoTutorTemMaisDe5AdocoesAprovadas() {
         // ARRANGE
         SolicitacaoAdocaoDto dto = new SolicitacaoAdocaoDto(1L, 1L, "motivo");
-        List<Adocao> adocoes = Arrays.asList(adocaoAguardando, adocaoReprovada);
-        
-        given(tutorRepository.getReferenceById(dto.idTutor())).willReturn(tutor);
-        given(adocaoRepository.findAll()).willReturn(adocoes);
-        given(adocaoAguardando.getTutor()).willReturn(tutor);
-        given(adocaoAguardando.getStatus()).willReturn(StatusAdocao.AGUARDANDO_AVALIACAO);
-        given(adocaoReprovada.getTutor()).willReturn(tutor);
-        given(adocaoReprovada.getStatus()).willReturn(StatusAdocao.REPROVADO);
+
+        given(adocaoRepository.countByTutorIdAndStatus(1L, StatusAdocao.APROVADO)).willReturn(6L);
 
         // ACT & ASSERT
-        assertDoesNotThrow(() -> validacao.validar(dto));
+        ValidacaoException exception = assertThrows(ValidacaoException.class, () -> validacao.validar(dto));
+        assertEquals("Tutor chegou ao limite máximo de 5 adoções!", exception.getMessage());
     }
 
     @Test
-    void deveriaPermitirSolicitacaoQuandoAdocoesAprovadasSaoDeOutrosTutores() {
+    void deveriaPermitirSolicitacaoQuandoNaoHaAdocoes() {
         // ARRANGE
         SolicitacaoAdocaoDto dto = new SolicitacaoAdocaoDto(1L, 1L, "motivo");
-        List<Adocao> adocoes = Arrays.asList(adocaoAprovada1, adocaoAprovada2, adocaoAprovada3);
-        
-        given(tutorRepository.getReferenceById(dto.idTutor())).willReturn(tutor);
-        given(adocaoRepository.findAll()).willReturn(adocoes);
-        
-        given(adocaoAprovada1.getTutor()).willReturn(outroTutor);
-        given(adocaoAprovada2.getTutor()).willReturn(outroTutor);
-        given(adocaoAprovada3.getTutor()).willReturn(outroTutor);
-        // Não é necessário stubar o status pois quando o tutor é diferente, não verifica o status
+
+        given(adocaoRepository.countByTutorIdAndStatus(1L, StatusAdocao.APROVADO)).willReturn(0L);
 
         // ACT & ASSERT
         assertDoesNotThrow(() -> validacao.validar(dto));
     }
 
     @Test
-    void deveriaPermitirSolicitacaoQuandoNaoHaAdocoes() {
+    void deveriaContarApenasAdocoesAprovadasDoTutorDaSolicitacao() {
+        // ARRANGE
+        Long idTutor = 9L;
+        SolicitacaoAdocaoDto dto = new SolicitacaoAdocaoDto(1L, idTutor, "motivo");
+
+        given(adocaoRepository.countByTutorIdAndStatus(idTutor, StatusAdocao.APROVADO)).willReturn(3L);
+
+        // ACT
+        validacao.validar(dto);
+
+        // ASSERT
+        then(adocaoRepository).should().countByTutorIdAndStatus(idTutor, StatusAdocao.APROVADO);
+        then(adocaoRepository).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    void naoDeveriaCarregarTodasAsAdocoes() {
+        // ARRANGE
+        SolicitacaoAdocaoDto dto = new SolicitacaoAdocaoDto(1L, 1L, "motivo");
+
+        given(adocaoRepository.countByTutorIdAndStatus(1L, StatusAdocao.APROVADO)).willReturn(0L);
+
+        // ACT
+        validacao.validar(dto);
+
+        // ASSERT
+        then(adocaoRepository).should(never()).findAll();
+    }
+
+    @Test
+    void deveriaUsarContextoPreCarregadoSemConsultarRepositorio() {
         // ARRANGE
         SolicitacaoAdocaoDto dto = new SolicitacaoAdocaoDto(1L, 1L, "motivo");
-        List<Adocao> adocoes = Arrays.asList();
-        
-        given(tutorRepository.getReferenceById(dto.idTutor())).willReturn(tutor);
-        given(adocaoRepository.findAll()).willReturn(adocoes);
+        ContextoSolicitacaoAdocao contexto = new ContextoSolicitacaoAdocao(false, 0L, 0L, 4L);
 
         // ACT & ASSERT
-        assertDoesNotThrow(() -> validacao.validar(dto));
+        assertDoesNotThrow(() -> validacao.validar(dto, contexto));
+        then(adocaoRepository).shouldHaveNoInteractions();
     }
 
     @Test
-    void deveriaContarApenasAdocoesAprovadasDoMesmoTutor() {
+    void deveriaLancarExcecaoQuandoContextoIndicaLimiteAtingido() {
         // ARRANGE
         SolicitacaoAdocaoDto dto = new SolicitacaoAdocaoDto(1L, 1L, "motivo");
-        
-        // 3 aprovadas do mesmo tutor + 1 aprovada de outro tutor + 1 do mesmo tutor com outro status
-        List<Adocao> adocoes = Arrays.asList(
-            adocaoAprovada1, adocaoAprovada2, adocaoAprovada3, // do mesmo tutor, aprovadas
-            adocaoAprovada4, // de outro tutor, aprovada
-            adocaoAguardando // do mesmo tutor, outro status
-        );
-        
-        given(tutorRepository.getReferenceById(dto.idTutor())).willReturn(tutor);
-        given(adocaoRepository.findAll()).willReturn(adocoes);
-        
-        // Primeiras 3 adoções: mesmo tutor, aprovadas
-        given(adocaoAprovada1.getTutor()).willReturn(tutor);
-        given(adocaoAprovada1.getStatus()).willReturn(StatusAdocao.APROVADO);
-        given(adocaoAprovada2.getTutor()).willReturn(tutor);
-        given(adocaoAprovada2.getStatus()).willReturn(StatusAdocao.APROVADO);
-        given(adocaoAprovada3.getTutor()).willReturn(tutor);
-        given(adocaoAprovada3.getStatus()).willReturn(StatusAdocao.APROVADO);
-        
-        // Próxima adoção: outro tutor, aprovada
-        given(adocaoAprovada4.getTutor()).willReturn(outroTutor);
-        // REMOVIDO: given(adocaoAprovada4.getStatus()).willReturn(StatusAdocao.APROVADO);
-        // O status não é verificado quando o tutor é diferente
-        
-        // Última adoção: mesmo tutor, outro status
-        given(adocaoAguardando.getTutor()).willReturn(tutor);
-        given(adocaoAguardando.getStatus()).willReturn(StatusAdocao.AGUARDANDO_AVALIACAO);
+        ContextoSolicitacaoAdocao contexto = new ContextoSolicitacaoAdocao(false, 0L, 0L, 5L);
 
         // ACT & ASSERT
-        assertDoesNotThrow(() -> validacao.validar(dto));
+        ValidacaoException exception = assertThrows(ValidacaoException.class, () -> validacao.validar(dto, contexto));
+        assertEquals("Tutor chegou ao limite máximo de 5 adoções!", exception.getMessage());
+        then(adocaoRepository).shouldHaveNoInteractions();
     }
-}
\ No newline at end of file
+}